@@ -0,0 +1,50 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * The BenchmarkRunner class runs every benchmark of this module with the GC profiler attached,
+ * so each result reports the allocation rate next to the throughput.
+ * The results are written as JSON, which is the format of the committed baselines.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Default constructor for BenchmarkRunner.
+     */
+    private BenchmarkRunner() {}
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args command-line arguments. The expected order is:
+     *             <ul>
+     *             <li>args[0] - the JSON result file (optional, defaults to target/jmh-result.json)</li>
+     *             <li>args[1] - a regular expression selecting benchmarks (optional, defaults to all)</li>
+     *             </ul>
+     * @throws RunnerException if the benchmarks cannot be run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String result = args.length > 0 ? args[0] : "target/jmh-result.json";
+        String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackageName() + ".*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,98 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.codec.PuzzleCodec;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleBuilder;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BitBoard;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks of encoding and decoding one puzzle in the text and binary formats of {@link PuzzleCodec}.
+ * The buffer and the target board are reused, as they are by the codec's readers and writers.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    /**
+     * The puzzle being encoded.
+     */
+    private Board puzzle;
+
+    /**
+     * The board receiving decoded puzzles.
+     */
+    private final Board target = new BitBoard();
+
+    /**
+     * The buffer holding the puzzle as a text line.
+     */
+    private final ByteBuffer text = ByteBuffer.allocate(PuzzleCodec.LINE_SIZE);
+
+    /**
+     * The buffer holding the packed puzzle.
+     */
+    private final ByteBuffer packed = ByteBuffer.allocate(PuzzleCodec.PACKED_SIZE);
+
+    /**
+     * Builds a Hard puzzle with a fixed seed and encodes it in both formats.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        puzzle = new PuzzleBuilder(new SplittableRandom(42)).build(BoardModel.DifficultyLevel.Hard).getEngine();
+        PuzzleCodec.encodeText(puzzle, text);
+        PuzzleCodec.pack(puzzle, packed);
+    }
+
+    /**
+     * Encodes the puzzle as a text line.
+     *
+     * @return the buffer holding the line.
+     */
+    @Benchmark
+    public ByteBuffer encodeText() {
+        text.clear();
+        PuzzleCodec.encodeText(puzzle, text);
+        return text;
+    }
+
+    /**
+     * Packs the puzzle into 41 bytes.
+     *
+     * @return the buffer holding the packed puzzle.
+     */
+    @Benchmark
+    public ByteBuffer pack() {
+        packed.clear();
+        PuzzleCodec.pack(puzzle, packed);
+        return packed;
+    }
+
+    /**
+     * Unpacks the puzzle into the reused board.
+     *
+     * @return the decoded board.
+     * @throws IOException if the packed puzzle is invalid.
+     */
+    @Benchmark
+    public Board unpack() throws IOException {
+        packed.rewind();
+        PuzzleCodec.unpack(packed, target);
+        return target;
+    }
+}
@@ -0,0 +1,69 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.ConcurrentBoard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmark of several threads writing to one {@link ConcurrentBoard}, as the players of a cooperative session do.
+ * Every operation places a random digit into a random cell and clears it again if the placement succeeded.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConcurrentBoardBenchmark {
+
+    /**
+     * The board shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedBoard {
+
+        /**
+         * The shared board.
+         */
+        public final ConcurrentBoard board = new ConcurrentBoard();
+    }
+
+    /**
+     * The random moves of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Player {
+
+        /**
+         * The source of the thread's moves.
+         */
+        public final SplittableRandom random = new SplittableRandom();
+    }
+
+    /**
+     * Places a random digit and removes it again.
+     *
+     * @param shared the shared board.
+     * @param player the thread's random moves.
+     * @return the outcome of the placement.
+     */
+    @Benchmark
+    public ConcurrentBoard.Placement placeAndClear(SharedBoard shared, Player player) {
+        int row = player.random.nextInt(Board.SIZE);
+        int col = player.random.nextInt(Board.SIZE);
+        int value = player.random.nextInt(1, Board.SIZE + 1);
+        ConcurrentBoard.Placement placement = shared.board.tryPlace(row, col, value);
+        if (placement == ConcurrentBoard.Placement.PLACED) {
+            shared.board.tryClear(row, col, value);
+        }
+        return placement;
+    }
+}
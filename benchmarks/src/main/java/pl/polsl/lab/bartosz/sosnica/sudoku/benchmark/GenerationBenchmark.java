@@ -0,0 +1,53 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.controller.BoardController;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmark of {@link BoardController#fillingUpBoard()}, which generates a complete grid.
+ * </p>
+ * <p>
+ * Filling a grid should allocate nothing; run it with {@code -prof gc} to check
+ * that {@code gc.alloc.rate.norm} stays at 0 bytes per operation.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+
+    /**
+     * The controller whose board is filled.
+     */
+    private BoardController boardController;
+
+    /**
+     * Creates the controller.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        boardController = new BoardController();
+    }
+
+    /**
+     * Clears the board and fills it with a new grid.
+     *
+     * @return the filled board model.
+     */
+    @Benchmark
+    public BoardModel fillingUpBoard() {
+        boardController.getBoardModel().settingUpBoard();
+        boardController.fillingUpBoard();
+        return boardController.getBoardModel();
+    }
+}
@@ -0,0 +1,63 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleBuilder;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.Grade;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.TechniqueGrader;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmark of grading one puzzle of each difficulty level with the {@link TechniqueGrader}.
+ * The grader is reused, as it is by the puzzle builder, so the only allocation is the returned grade.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GradingBenchmark {
+
+    /**
+     * The difficulty level of the graded puzzle.
+     */
+    @Param({"Easy", "Medium", "Hard"})
+    public BoardModel.DifficultyLevel level;
+
+    /**
+     * The puzzle being graded.
+     */
+    private Board puzzle;
+
+    /**
+     * The grader under test.
+     */
+    private final TechniqueGrader grader = new TechniqueGrader();
+
+    /**
+     * Builds a puzzle of the level with a fixed seed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        puzzle = new PuzzleBuilder(new SplittableRandom(42)).build(level).getEngine();
+    }
+
+    /**
+     * Grades the puzzle.
+     *
+     * @return the grade of the puzzle.
+     */
+    @Benchmark
+    public Grade grade() {
+        return grader.grade(puzzle);
+    }
+}
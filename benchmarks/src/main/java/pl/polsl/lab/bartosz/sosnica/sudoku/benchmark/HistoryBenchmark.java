@@ -0,0 +1,127 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.controller.BoardController;
+import pl.polsl.lab.bartosz.sosnica.sudoku.controller.MainController;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.BinaryGameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameRecord;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.UserModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks of the game history reading and writing paths.
+ * The controllers are given a repository in a temporary directory
+ * filled with the given number of records, so the real history is never touched.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HistoryBenchmark {
+
+    /**
+     * The number of records in the history file before the benchmark starts.
+     */
+    @Param({"1000", "100000"})
+    public int records;
+
+    /**
+     * The temporary history directory.
+     */
+    private Path historyDirectory;
+
+    /**
+     * The repository in the temporary directory.
+     */
+    private BinaryGameHistoryRepository repository;
+
+    /**
+     * The controller reading the history.
+     */
+    private MainController mainController;
+
+    /**
+     * The controller appending to the history.
+     */
+    private BoardController boardController;
+
+    /**
+     * The user whose games are appended.
+     */
+    private UserModel userModel;
+
+    /**
+     * Creates the temporary history and the controllers using it.
+     *
+     * @throws IOException if the history cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        historyDirectory = Files.createTempDirectory("gamehistory");
+        repository = new BinaryGameHistoryRepository(historyDirectory);
+        LocalDate date = LocalDate.of(2024, 11, 3);
+        for (int i = 0; i < records; i++) {
+            repository.append(new GameRecord("player" + (i % 100), date,
+                    BoardModel.DifficultyLevel.values()[i % 3], i % 2 == 0));
+        }
+
+        mainController = new MainController(repository);
+        boardController = new BoardController(repository);
+        boardController.getBoardModel().settingDifficultyLevel(BoardModel.DifficultyLevel.Medium);
+        boardController.getBoardModel().settingUpBoard();
+        userModel = new UserModel();
+        userModel.setUsername("benchmark");
+    }
+
+    /**
+     * Closes and removes the temporary history.
+     *
+     * @throws IOException if the files cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        try (Stream<Path> files = Files.walk(historyDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Reads and decodes the whole history.
+     *
+     * @return the decoded records.
+     */
+    @Benchmark
+    public List<GameRecord> readGameRecordsFromFile() {
+        return mainController.readGameRecordsFromFile();
+    }
+
+    /**
+     * Appends one game record to the history.
+     *
+     * @return the controller, to keep the call from being eliminated.
+     */
+    @Benchmark
+    public BoardController saveGameRecordToFile() {
+        boardController.saveGameRecordToFile(userModel);
+        return boardController;
+    }
+}
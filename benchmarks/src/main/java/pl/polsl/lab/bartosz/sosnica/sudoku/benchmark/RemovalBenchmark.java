@@ -0,0 +1,67 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.controller.BoardController;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleBuilder;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmark of {@link BoardController#removeNumbers(int)}, which blanks cells while keeping
+ * a unique solution. Every invocation starts from the same complete grid.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RemovalBenchmark {
+
+    /**
+     * The difficulty level deciding how many cells are removed.
+     */
+    @Param({"Easy", "Medium", "Hard"})
+    public BoardModel.DifficultyLevel level;
+
+    /**
+     * The controller whose board is reduced to a puzzle.
+     */
+    private BoardController boardController;
+
+    /**
+     * The complete grid restored before each removal.
+     */
+    private BoardModel grid;
+
+    /**
+     * Creates the controller and a complete grid with a fixed seed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        boardController = new BoardController();
+        boardController.getBoardModel().settingDifficultyLevel(level);
+        grid = new BoardModel();
+        grid.settingUpBoard();
+        new PuzzleBuilder(new SplittableRandom(42)).fillingUpBoard(grid);
+    }
+
+    /**
+     * Restores the complete grid and removes the cells for the difficulty level.
+     *
+     * @return the resulting puzzle.
+     */
+    @Benchmark
+    public BoardModel removeNumbers() {
+        boardController.getBoardModel().loadPuzzle(grid);
+        boardController.removeNumbers(level.getCellsToRemove());
+        return boardController.getBoardModel();
+    }
+}
@@ -0,0 +1,97 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleBuilder;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleTransformer;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BitBoard;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmark of the {@link PuzzleTransformer}: deriving an equivalent puzzle from a verified one,
+ * which replaces building a puzzle from scratch, finding the canonical form and hashing it into the fingerprint
+ * used to detect duplicates. All of them write into reused storage, so none should allocate.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformBenchmark {
+
+    /**
+     * The difficulty level of the seed puzzle.
+     */
+    @Param({"Easy", "Medium", "Hard"})
+    public BoardModel.DifficultyLevel level;
+
+    /**
+     * The seed puzzle.
+     */
+    private Board puzzle;
+
+    /**
+     * The board receiving the derived puzzle or the canonical form.
+     */
+    private final Board target = new BitBoard();
+
+    /**
+     * The array receiving the fingerprint.
+     */
+    private final long[] fingerprint = new long[2];
+
+    /**
+     * The transformer under test.
+     */
+    private final PuzzleTransformer transformer = new PuzzleTransformer(new SplittableRandom(7));
+
+    /**
+     * Builds a seed puzzle of the level with a fixed seed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        puzzle = new PuzzleBuilder(new SplittableRandom(42)).build(level).getEngine();
+    }
+
+    /**
+     * Derives a random equivalent of the seed puzzle.
+     *
+     * @return the derived puzzle.
+     */
+    @Benchmark
+    public Board transform() {
+        transformer.transform(puzzle, target);
+        return target;
+    }
+
+    /**
+     * Finds the canonical form of the seed puzzle.
+     *
+     * @return the canonical form.
+     */
+    @Benchmark
+    public Board canonicalize() {
+        transformer.canonicalize(puzzle, target);
+        return target;
+    }
+
+    /**
+     * Computes the fingerprint of the seed puzzle.
+     *
+     * @return the fingerprint.
+     */
+    @Benchmark
+    public long[] fingerprint() {
+        transformer.fingerprint(puzzle, fingerprint);
+        return fingerprint;
+    }
+}
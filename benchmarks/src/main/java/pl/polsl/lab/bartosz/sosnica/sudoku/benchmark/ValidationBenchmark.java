@@ -0,0 +1,135 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.polsl.lab.bartosz.sosnica.sudoku.controller.BoardController;
+import pl.polsl.lab.bartosz.sosnica.sudoku.exception.InvalidSudokuMoveException;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleBuilder;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.MoveCheck;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.UserModel;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks of the per-move model operations: {@link BoardModel#validateValueUniqueness},
+ * its exception-free counterpart {@link BoardModel#checkMove(int, int, String)},
+ * {@link BoardModel#placeValue} and {@link BoardController#isGameCompleted(UserModel)}.
+ * </p>
+ * <p>
+ * The board is a complete grid with its last cell emptied, so move validation works on a
+ * realistic board and the completion check has to look at every cell without finishing the game.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    /**
+     * The controller holding the board under test.
+     */
+    private BoardController boardController;
+
+    /**
+     * The user passed to the completion check.
+     */
+    private UserModel userModel;
+
+    /**
+     * The value that fits the empty cell.
+     */
+    private String validValue;
+
+    /**
+     * A value that conflicts with the row of the empty cell.
+     */
+    private String conflictingValue;
+
+    /**
+     * Creates a complete grid with a fixed seed and empties its last cell.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        boardController = new BoardController();
+        userModel = new UserModel();
+        userModel.setUsername("benchmark");
+
+        BoardModel boardModel = boardController.getBoardModel();
+        boardModel.settingUpBoard();
+        new PuzzleBuilder(new SplittableRandom(42)).fillingUpBoard(boardModel);
+
+        validValue = String.valueOf(boardModel.getEngine().get(Board.SIZE - 1, Board.SIZE - 1));
+        conflictingValue = String.valueOf(boardModel.getEngine().get(Board.SIZE - 1, 0));
+        boardModel.removeValue(Board.SIZE - 1, Board.SIZE - 1);
+    }
+
+    /**
+     * Validates a value that fits the empty cell.
+     *
+     * @return the board model, to keep the call from being eliminated.
+     * @throws InvalidSudokuMoveException never for this value.
+     */
+    @Benchmark
+    public BoardModel validateValueUniqueness() throws InvalidSudokuMoveException {
+        boardController.getBoardModel().validateValueUniqueness(Board.SIZE - 1, Board.SIZE - 1, validValue);
+        return boardController.getBoardModel();
+    }
+
+    /**
+     * Validates a value that conflicts with its row, which throws an exception.
+     *
+     * @return the thrown exception.
+     */
+    @Benchmark
+    public Object validateValueUniquenessConflict() {
+        try {
+            boardController.getBoardModel().validateValueUniqueness(Board.SIZE - 1, Board.SIZE - 1, conflictingValue);
+            return null;
+        } catch (InvalidSudokuMoveException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Checks a value that conflicts with its row, returning a result code instead of throwing.
+     *
+     * @return the result of the check.
+     */
+    @Benchmark
+    public MoveCheck checkMoveConflict() {
+        return boardController.getBoardModel().checkMove(Board.SIZE - 1, Board.SIZE - 1, conflictingValue);
+    }
+
+    /**
+     * Places a value in the empty cell and removes it again.
+     *
+     * @return the board model.
+     */
+    @Benchmark
+    public BoardModel placeValue() {
+        BoardModel boardModel = boardController.getBoardModel();
+        boardModel.placeValue(Board.SIZE - 1, Board.SIZE - 1, validValue);
+        boardModel.removeValue(Board.SIZE - 1, Board.SIZE - 1);
+        return boardModel;
+    }
+
+    /**
+     * Checks whether the board is completed; the empty last cell keeps the game running.
+     *
+     * @return the board model.
+     */
+    @Benchmark
+    public BoardModel isGameCompleted() {
+        boardController.isGameCompleted(userModel);
+        return boardController.getBoardModel();
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * This package contains the JMH benchmarks of the Sudoku game.
+ * The benchmarks measure puzzle generation, move validation and
+ * game history input and output, each with its allocation rate.
+ *
+ * <h2>Benchmarks:</h2>
+ * <ul>
+ *     <li>BenchmarkRunner: Runs all benchmarks with the GC profiler and writes JSON results.</li>
+ *     <li>GenerationBenchmark: Measures filling a complete grid.</li>
+ *     <li>RemovalBenchmark: Measures removing cells for each difficulty level.</li>
+ *     <li>ValidationBenchmark: Measures move validation, value placement and completion checks.</li>
+ *     <li>HistoryBenchmark: Measures reading and appending the game history file.</li>
+ *     <li>CodecBenchmark: Measures encoding and decoding puzzles in the text and binary formats.</li>
+ *     <li>GradingBenchmark: Measures grading a puzzle of each difficulty level by solving techniques.</li>
+ *     <li>TransformBenchmark: Measures deriving an equivalent puzzle and finding the canonical form of a puzzle.</li>
+ *     <li>ConcurrentBoardBenchmark: Measures placements and removals by threads sharing one board.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.benchmark;
@@ -1,12 +1,23 @@
 package pl.polsl.lab.bartosz.sosnica.sudoku;
 
+import pl.polsl.lab.bartosz.sosnica.sudoku.cli.BatchMode;
 import pl.polsl.lab.bartosz.sosnica.sudoku.controller.GameController;
+import pl.polsl.lab.bartosz.sosnica.sudoku.metrics.Metrics;
+import pl.polsl.lab.bartosz.sosnica.sudoku.server.GameServer;
+
+import java.io.IOException;
 
 /**
  * <p>
  * The Main class serves as the entry point for the Sudoku application.
  * It initializes the game and starts the main game loop.
  * </p>
+ * <p>
+ * When the first argument is {@code --batch}, the command is handed to {@link BatchMode}
+ * before any controller is created, so no window is opened and Swing is never loaded.
+ * With {@code --server [port]} the game is served over HTTP by {@link GameServer} instead.
+ * In every mode, {@link Metrics} are installed first when they are enabled.
+ * </p>
  * @author Bartosz Sośnica
  * @version 1.0
  */
@@ -25,10 +36,50 @@ public class Main {
      *             <ul>
      *             <li>args[0] - the username (String)</li>
      *             <li>args[1] - the difficulty level (String: "Easy", "Medium", "Hard")</li>
+     *             <li>args[2] - optionally, the number of rows of the board (String: "4", "9", "16", "25"), 9 by default</li>
      *             </ul>
+     *             or {@code --batch} followed by a batch command,
+     *             or {@code --server} followed by an optional port.
      */
     public static void main(String[] args) {
+        Metrics.install();
+        if (BatchMode.isBatch(args)) {
+            int exitCode = new BatchMode(System.err).run(args);
+            if (exitCode != BatchMode.EXIT_OK) {
+                System.exit(exitCode);
+            }
+            return;
+        }
+        if (GameServer.isServer(args)) {
+            startServer(args);
+            return;
+        }
+        startGame(args);
+    }
+
+    /**
+     * Creates the GameController that opens the game windows.
+     * Kept apart from {@link #main(String[])} so the batch mode never resolves the controller classes.
+     *
+     * @param args command-line arguments provided to the application.
+     */
+    private static void startGame(String[] args) {
         gameController = new GameController(args);
     }
 
+    /**
+     * Starts the HTTP server, which keeps running after this method returns.
+     *
+     * @param args command-line arguments provided to the application.
+     */
+    private static void startServer(String[] args) {
+        try {
+            GameServer gameServer = GameServer.run(args);
+            System.out.println("Sudoku server listening on http://localhost:" + gameServer.getPort());
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot start the server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
 }
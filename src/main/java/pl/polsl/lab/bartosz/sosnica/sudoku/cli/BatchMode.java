@@ -0,0 +1,311 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.cli;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.codec.PuzzleCodec;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.FingerprintSet;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleGenerator;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleTransformer;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.DancingLinksSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.Grade;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.SudokuSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.TechniqueGrader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>
+ * The BatchMode class runs the game's generator and solvers from the command line,
+ * without a window. It is started with {@code --batch} as the first argument, followed by a command:
+ * </p>
+ * <ul>
+ *     <li>{@code generate --difficulty Hard --count 1000 --out puzzles.bin [--seed 42] [--exclude old.bin]}</li>
+ *     <li>{@code solve --in puzzles.bin --out solutions.txt [--solver bitmask|dlx]}</li>
+ *     <li>{@code grade --in puzzles.bin --out grades.txt}</li>
+ * </ul>
+ * <p>
+ * Puzzle files are read and written with {@link PuzzleCodec}: files ending with {@code .bin} use the packed
+ * binary format, all others hold one 81-character line per puzzle. A puzzle without a solution is written
+ * to the solutions file as an empty grid. Grades are always a text report.
+ * Results are streamed to the output file as they are produced.
+ * </p>
+ * <p>
+ * A generated pack holds no two equivalent puzzles: every puzzle is fingerprinted by its canonical form
+ * and dropped if the fingerprint is already in a {@link FingerprintSet}. The puzzles of the
+ * {@code --exclude} file are fingerprinted first, so a new pack does not repeat an older one.
+ * Dropped puzzles are replaced by generating again with a new seed.
+ * This class does not refer to any AWT or Swing class, so the graphical part of the game is never loaded.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class BatchMode {
+
+    /**
+     * The argument selecting the batch mode.
+     */
+    public static final String BATCH_FLAG = "--batch";
+
+    /**
+     * The exit code of a successful run.
+     */
+    public static final int EXIT_OK = 0;
+
+    /**
+     * The exit code of a run that failed while reading or writing files.
+     */
+    public static final int EXIT_IO_ERROR = 1;
+
+    /**
+     * The exit code of a run with invalid arguments.
+     */
+    public static final int EXIT_USAGE = 2;
+
+    /**
+     * The number of times the generate command generates again to replace dropped duplicates.
+     */
+    static final int MAX_GENERATE_ROUNDS = 8;
+
+    /**
+     * The placeholder written by the grade command for a technique or level that does not apply.
+     */
+    static final String NO_GRADE = "-";
+
+    /**
+     * The usage message printed for invalid arguments.
+     */
+    private static final String USAGE = """
+            Usage:
+              --batch generate --difficulty <Easy|Medium|Hard> --count <n> --out <file> [--seed <n>] [--exclude <file>]
+              --batch solve --in <file> --out <file> [--solver <bitmask|dlx>]
+              --batch grade --in <file> --out <file>""";
+
+    /**
+     * The stream receiving error messages.
+     */
+    private final PrintStream err;
+
+    /**
+     * Constructor creating a batch mode that reports errors to the given stream.
+     *
+     * @param err the stream receiving error messages.
+     */
+    public BatchMode(PrintStream err) {
+        this.err = err;
+    }
+
+    /**
+     * Checks whether the arguments select the batch mode.
+     *
+     * @param args the command-line arguments.
+     * @return true if the first argument is {@value #BATCH_FLAG}.
+     */
+    public static boolean isBatch(String[] args) {
+        return args.length > 0 && BATCH_FLAG.equals(args[0]);
+    }
+
+    /**
+     * Runs the command given in the arguments.
+     *
+     * @param args the command-line arguments, starting with {@value #BATCH_FLAG}.
+     * @return the exit code of the run.
+     */
+    public int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Missing batch command");
+            }
+            Map<String, String> options = parseOptions(args);
+            switch (args[1]) {
+                case "generate" -> generate(options);
+                case "solve" -> solve(options);
+                case "grade" -> grade(options);
+                default -> throw new IllegalArgumentException("Unknown batch command: " + args[1]);
+            }
+            return EXIT_OK;
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        } catch (IOException | UncheckedIOException e) {
+            err.println("I/O error: " + e.getMessage());
+            return EXIT_IO_ERROR;
+        }
+    }
+
+    /**
+     * Generates puzzles in parallel and writes each one as soon as it is finished, unless an equivalent puzzle
+     * was already written or is in the excluded file. Dropped puzzles are replaced in further rounds.
+     * Each worker thread fingerprints with its own transformer, so only the lookup and the write are serialized.
+     *
+     * @param options the command options.
+     * @throws IOException if the output file cannot be written or the excluded file cannot be read.
+     */
+    private void generate(Map<String, String> options) throws IOException {
+        BoardModel.DifficultyLevel level = BoardModel.DifficultyLevel.valueOf(required(options, "difficulty"));
+        int count = Integer.parseInt(required(options, "count"));
+        long seed = options.containsKey("seed") ? Long.parseLong(options.get("seed")) : new SplittableRandom().nextLong();
+        FingerprintSet seen = new FingerprintSet(count);
+        PuzzleTransformer transformer = new PuzzleTransformer(new SplittableRandom(seed));
+        long[] fingerprint = new long[2];
+        if (options.containsKey("exclude")) {
+            BoardModel board = new BoardModel();
+            try (PuzzleCodec.Reader reader = openReader(Path.of(options.get("exclude")))) {
+                while (reader.read(board.getEngine())) {
+                    transformer.fingerprint(board.getEngine(), fingerprint);
+                    seen.add(fingerprint[0], fingerprint[1]);
+                }
+            }
+        }
+        ThreadLocal<PuzzleTransformer> transformers = ThreadLocal.withInitial(
+                () -> new PuzzleTransformer(new SplittableRandom(seed)));
+        ThreadLocal<long[]> fingerprints = ThreadLocal.withInitial(() -> new long[2]);
+        int[] written = {0};
+        SplittableRandom roundSeeds = new SplittableRandom(seed);
+        try (PuzzleCodec.Writer writer = openWriter(Path.of(required(options, "out")))) {
+            for (int round = 0; round < MAX_GENERATE_ROUNDS && written[0] < count; round++) {
+                long roundSeed = round == 0 ? seed : roundSeeds.nextLong();
+                new PuzzleGenerator().generate(level, count - written[0], roundSeed, puzzle -> {
+                    long[] print = fingerprints.get();
+                    transformers.get().fingerprint(puzzle.getEngine(), print);
+                    synchronized (writer) {
+                        if (written[0] < count && seen.add(print[0], print[1])) {
+                            try {
+                                writer.write(puzzle.getEngine());
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                            written[0]++;
+                        }
+                    }
+                });
+            }
+        }
+        if (written[0] < count) {
+            err.println("Only " + written[0] + " of " + count + " puzzles were unique");
+        }
+    }
+
+    /**
+     * Solves each puzzle of the input file and writes its solution, or an empty grid if it has none.
+     *
+     * @param options the command options.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private void solve(Map<String, String> options) throws IOException {
+        SudokuSolver solver = switch (options.getOrDefault("solver", "bitmask")) {
+            case "bitmask" -> new BitmaskSolver();
+            case "dlx" -> new DancingLinksSolver();
+            default -> throw new IllegalArgumentException("Unknown solver: " + options.get("solver"));
+        };
+        BoardModel board = new BoardModel();
+        try (PuzzleCodec.Reader reader = openReader(Path.of(required(options, "in")));
+             PuzzleCodec.Writer writer = openWriter(Path.of(required(options, "out")))) {
+            while (reader.read(board.getEngine())) {
+                if (!solver.solve(board)) {
+                    board.getEngine().reset();
+                }
+                writer.write(board.getEngine());
+            }
+        }
+    }
+
+    /**
+     * Grades each puzzle of the input file. Every output line holds the puzzle, the number of clues,
+     * the number of solutions (0, 1, or 2 for two or more), the hardest technique needed, the technique score
+     * and the difficulty level whose technique band holds the grade. The technique and the level are
+     * {@value #NO_GRADE} when the puzzle cannot be solved without guessing.
+     *
+     * @param options the command options.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private void grade(Map<String, String> options) throws IOException {
+        SudokuSolver solver = new BitmaskSolver();
+        TechniqueGrader grader = new TechniqueGrader();
+        BoardModel board = new BoardModel();
+        try (PuzzleCodec.Reader reader = openReader(Path.of(required(options, "in")));
+             BufferedWriter writer = Files.newBufferedWriter(Path.of(required(options, "out")), StandardCharsets.US_ASCII)) {
+            while (reader.read(board.getEngine())) {
+                int clues = board.getEngine().filledCount();
+                int solutions = board.getEngine().conflictCount() > 0 ? 0 : solver.countSolutions(board, 2);
+                Grade grade = grader.grade(board.getEngine());
+                BoardModel.DifficultyLevel level = BoardModel.DifficultyLevel.forGrade(grade);
+                writer.write(board.getEngine() + " " + clues + " " + solutions
+                        + " " + (grade.solved() && grade.hardest() != null ? grade.hardest() : NO_GRADE)
+                        + " " + grade.score() + " " + (level == null ? NO_GRADE : level));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Opens a puzzle file for reading in the format given by its extension.
+     *
+     * @param path the puzzle file.
+     * @return the reader of the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    private static PuzzleCodec.Reader openReader(Path path) throws IOException {
+        return new PuzzleCodec.Reader(FileChannel.open(path, READ), PuzzleCodec.Format.forPath(path));
+    }
+
+    /**
+     * Creates or replaces a puzzle file for writing in the format given by its extension.
+     *
+     * @param path the puzzle file.
+     * @return the writer of the file.
+     * @throws IOException if the file cannot be created.
+     */
+    private static PuzzleCodec.Writer openWriter(Path path) throws IOException {
+        return new PuzzleCodec.Writer(FileChannel.open(path, WRITE, CREATE, TRUNCATE_EXISTING), PuzzleCodec.Format.forPath(path));
+    }
+
+    /**
+     * Collects the {@code --name value} pairs following the command.
+     *
+     * @param args the command-line arguments.
+     * @return the options by name, without the leading dashes.
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 2; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Invalid option: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * Returns the value of a required option.
+     *
+     * @param options the command options.
+     * @param name    the name of the option.
+     * @return the value of the option.
+     */
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing option --" + name);
+        }
+        return value;
+    }
+}
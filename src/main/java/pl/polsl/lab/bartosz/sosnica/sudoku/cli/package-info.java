@@ -0,0 +1,16 @@
+/**
+ * This package contains the command-line mode of the Sudoku game.
+ * It generates, solves and grades puzzles in files without opening any window,
+ * for use on servers without a display.
+ *
+ * <h2>Command line:</h2>
+ * <ul>
+ *     <li>BatchMode: Runs the generate, solve and grade commands and streams their results to files.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.cli;
@@ -0,0 +1,393 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.codec;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * The PuzzleCodec class converts boards to and from the two interchange formats of puzzle packs.
+ * </p>
+ * <ul>
+ *     <li>{@link Format#TEXT}: one puzzle per line, 81 characters row by row, '.' for an empty cell.
+ *     On input '0' is also an empty cell, "\r\n" line ends are accepted and anything after
+ *     the 81st character of a line is ignored.</li>
+ *     <li>{@link Format#BINARY}: {@value #PACKED_SIZE} bytes per puzzle, one 4-bit digit per cell,
+ *     the first cell of each pair in the high half of the byte. The file has no header,
+ *     so the number of puzzles is its size divided by {@value #PACKED_SIZE}.</li>
+ * </ul>
+ * <p>
+ * A {@link Reader} and a {@link Writer} stream puzzles through NIO channels.
+ * Each keeps one buffer for its whole life and decodes straight into a caller's board,
+ * so reading or writing a puzzle allocates nothing.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public final class PuzzleCodec {
+
+    /**
+     * The number of bytes of a puzzle in the binary format.
+     */
+    public static final int PACKED_SIZE = (Board.CELLS + 1) / 2;
+
+    /**
+     * The number of bytes of a puzzle in the text format, including the line end.
+     */
+    public static final int LINE_SIZE = Board.CELLS + 1;
+
+    /**
+     * The size of the buffers used by readers and writers.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The character of an empty cell in the text format.
+     */
+    private static final byte EMPTY_CELL = '.';
+
+    /**
+     * Private constructor preventing instantiation of the utility class.
+     */
+    private PuzzleCodec() {
+    }
+
+    /**
+     * The formats of puzzle files.
+     */
+    public enum Format {
+        /**
+         * 81-character lines.
+         */
+        TEXT,
+        /**
+         * Packed 4-bit cells.
+         */
+        BINARY;
+
+        /**
+         * Returns the format of a file from its extension: {@code .bin} is binary, anything else is text.
+         *
+         * @param path the path of the file.
+         * @return the format of the file.
+         */
+        public static Format forPath(Path path) {
+            return path.getFileName().toString().endsWith(".bin") ? BINARY : TEXT;
+        }
+    }
+
+    /**
+     * Writes a board as an 81-character line, including the line end.
+     *
+     * @param board  the board to write.
+     * @param target the buffer with at least {@value #LINE_SIZE} bytes remaining.
+     */
+    public static void encodeText(Board board, ByteBuffer target) {
+        for (int index = 0; index < Board.CELLS; index++) {
+            int value = board.get(index / Board.SIZE, index % Board.SIZE);
+            target.put(value == 0 ? EMPTY_CELL : (byte) ('0' + value));
+        }
+        target.put((byte) '\n');
+    }
+
+    /**
+     * Reads a board from the first 81 characters of a text line, replacing the board's contents.
+     * As in the text format, '.' and '0' are empty cells; the bytes after the 81st cell are not read.
+     *
+     * @param source the buffer positioned at the start of the line.
+     * @param board  the board receiving the puzzle.
+     * @throws IOException if the line is shorter than 81 cells or holds an invalid character.
+     */
+    public static void decodeText(ByteBuffer source, Board board) throws IOException {
+        if (source.remaining() < Board.CELLS) {
+            throw new IOException("Puzzle line has only " + source.remaining() + " cells");
+        }
+        board.reset();
+        for (int index = 0; index < Board.CELLS; index++) {
+            int cell = source.get();
+            if (cell >= '1' && cell <= '9') {
+                board.set(index / Board.SIZE, index % Board.SIZE, cell - '0');
+            } else if (cell != EMPTY_CELL && cell != '0') {
+                throw new IOException("Invalid cell '" + (char) (cell & 0xFF) + "' in puzzle line");
+            }
+        }
+    }
+
+    /**
+     * Writes a board in the packed binary format.
+     *
+     * @param board  the board to write.
+     * @param target the buffer with at least {@value #PACKED_SIZE} bytes remaining.
+     */
+    public static void pack(Board board, ByteBuffer target) {
+        for (int index = 0; index < Board.CELLS; index += 2) {
+            int high = board.get(index / Board.SIZE, index % Board.SIZE);
+            int next = index + 1;
+            int low = next < Board.CELLS ? board.get(next / Board.SIZE, next % Board.SIZE) : 0;
+            target.put((byte) (high << 4 | low));
+        }
+    }
+
+    /**
+     * Reads a board in the packed binary format, replacing the board's contents.
+     *
+     * @param source the buffer with at least {@value #PACKED_SIZE} bytes remaining.
+     * @param board  the board receiving the puzzle.
+     * @throws IOException if a cell holds a value above 9.
+     */
+    public static void unpack(ByteBuffer source, Board board) throws IOException {
+        board.reset();
+        for (int index = 0; index < Board.CELLS; index += 2) {
+            int packed = source.get() & 0xFF;
+            setCell(board, index, packed >>> 4);
+            if (index + 1 < Board.CELLS) {
+                setCell(board, index + 1, packed & 0x0F);
+            }
+        }
+    }
+
+    /**
+     * Stores a decoded digit in a cell of a freshly reset board.
+     *
+     * @param board the board receiving the digit.
+     * @param index the flat index of the cell.
+     * @param value the decoded digit, 0 for an empty cell.
+     * @throws IOException if the digit is above 9.
+     */
+    private static void setCell(Board board, int index, int value) throws IOException {
+        if (value > Board.SIZE) {
+            throw new IOException("Invalid packed cell value: " + value);
+        }
+        if (value != 0) {
+            board.set(index / Board.SIZE, index % Board.SIZE, value);
+        }
+    }
+
+    /**
+     * Streams puzzles from a channel into boards.
+     */
+    public static final class Reader implements Closeable {
+
+        /**
+         * The channel the puzzles are read from.
+         */
+        private final ReadableByteChannel channel;
+
+        /**
+         * The format of the puzzles.
+         */
+        private final Format format;
+
+        /**
+         * The buffer reused for all reads.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /**
+         * Flag indicating whether the channel reached its end.
+         */
+        private boolean endOfStream;
+
+        /**
+         * Constructor creating a reader of the given channel.
+         *
+         * @param channel the channel the puzzles are read from.
+         * @param format  the format of the puzzles.
+         */
+        public Reader(ReadableByteChannel channel, Format format) {
+            this.channel = channel;
+            this.format = format;
+            buffer.flip();
+        }
+
+        /**
+         * Reads the next puzzle into the board, replacing its contents.
+         *
+         * @param board the board receiving the puzzle.
+         * @return true if a puzzle was read, false at the end of the stream.
+         * @throws IOException if the channel cannot be read or the puzzle is malformed.
+         */
+        public boolean read(Board board) throws IOException {
+            return format == Format.BINARY ? readBinary(board) : readText(board);
+        }
+
+        /**
+         * Closes the channel.
+         *
+         * @throws IOException if the channel cannot be closed.
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Reads the next packed puzzle.
+         *
+         * @param board the board receiving the puzzle.
+         * @return true if a puzzle was read, false at the end of the stream.
+         * @throws IOException if the channel cannot be read or ends inside a puzzle.
+         */
+        private boolean readBinary(Board board) throws IOException {
+            if (!fill(PACKED_SIZE)) {
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Truncated puzzle: " + buffer.remaining() + " of " + PACKED_SIZE + " bytes");
+                }
+                return false;
+            }
+            unpack(buffer, board);
+            return true;
+        }
+
+        /**
+         * Reads the next puzzle line, skipping empty lines and the rest of the line after the 81st cell.
+         *
+         * @param board the board receiving the puzzle.
+         * @return true if a puzzle was read, false at the end of the stream.
+         * @throws IOException if the channel cannot be read or the line is malformed.
+         */
+        private boolean readText(Board board) throws IOException {
+            int first;
+            do {
+                first = nextByte();
+                if (first < 0) {
+                    return false;
+                }
+            } while (first == '\n' || first == '\r');
+
+            board.reset();
+            int cell = first;
+            for (int index = 0; index < Board.CELLS; index++) {
+                if (index > 0) {
+                    cell = nextByte();
+                }
+                if (cell >= '1' && cell <= '9') {
+                    board.set(index / Board.SIZE, index % Board.SIZE, cell - '0');
+                } else if (cell != EMPTY_CELL && cell != '0') {
+                    throw new IOException(cell < 0 || cell == '\n' || cell == '\r'
+                            ? "Puzzle line has only " + index + " cells"
+                            : "Invalid cell '" + (char) cell + "' in puzzle line");
+                }
+            }
+            int next;
+            do {
+                next = nextByte();
+            } while (next >= 0 && next != '\n');
+            return true;
+        }
+
+        /**
+         * Returns the next byte of the stream.
+         *
+         * @return the byte as an unsigned value, or -1 at the end of the stream.
+         * @throws IOException if the channel cannot be read.
+         */
+        private int nextByte() throws IOException {
+            if (!buffer.hasRemaining() && !fill(1)) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        /**
+         * Reads from the channel until at least the given number of bytes is buffered.
+         *
+         * @param needed the number of bytes needed.
+         * @return true if enough bytes are buffered, false if the stream ended first.
+         * @throws IOException if the channel cannot be read.
+         */
+        private boolean fill(int needed) throws IOException {
+            if (buffer.remaining() >= needed) {
+                return true;
+            }
+            buffer.compact();
+            while (buffer.position() < needed && !endOfStream) {
+                if (channel.read(buffer) < 0) {
+                    endOfStream = true;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= needed;
+        }
+    }
+
+    /**
+     * Streams boards to a channel.
+     */
+    public static final class Writer implements Closeable {
+
+        /**
+         * The channel the puzzles are written to.
+         */
+        private final WritableByteChannel channel;
+
+        /**
+         * The format of the puzzles.
+         */
+        private final Format format;
+
+        /**
+         * The buffer reused for all writes.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /**
+         * Constructor creating a writer to the given channel.
+         *
+         * @param channel the channel the puzzles are written to.
+         * @param format  the format of the puzzles.
+         */
+        public Writer(WritableByteChannel channel, Format format) {
+            this.channel = channel;
+            this.format = format;
+        }
+
+        /**
+         * Writes a board. The bytes reach the channel when the buffer fills up or the writer is flushed.
+         *
+         * @param board the board to write.
+         * @throws IOException if the channel cannot be written.
+         */
+        public void write(Board board) throws IOException {
+            if (buffer.remaining() < LINE_SIZE) {
+                flush();
+            }
+            if (format == Format.BINARY) {
+                pack(board, buffer);
+            } else {
+                encodeText(board, buffer);
+            }
+        }
+
+        /**
+         * Writes the buffered puzzles to the channel.
+         *
+         * @throws IOException if the channel cannot be written.
+         */
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Flushes the buffered puzzles and closes the channel.
+         *
+         * @throws IOException if the channel cannot be written or closed.
+         */
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * This package contains the file formats of the Sudoku game.
+ * Puzzles are exchanged as 81-character lines or packed 4-bit binary records,
+ * read and written through NIO channels.
+ *
+ * <h2>Codecs:</h2>
+ * <ul>
+ *     <li>PuzzleCodec: Encodes and decodes puzzles in the text and binary formats and streams them through channels.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.codec;
@@ -2,15 +2,21 @@ package pl.polsl.lab.bartosz.sosnica.sudoku.controller;
 
 import lombok.Getter;
 import pl.polsl.lab.bartosz.sosnica.sudoku.exception.InvalidSudokuMoveException;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleBuilder;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzlePool;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.BinaryGameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameRecord;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
 import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.MoveCheck;
 import pl.polsl.lab.bartosz.sosnica.sudoku.model.UserModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.save.GameSaveStore;
 import pl.polsl.lab.bartosz.sosnica.sudoku.view.SudokuGameView;
 
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.*;
@@ -49,6 +55,31 @@ public class BoardController {
      */
     private SudokuGameView sudokuGameView;
 
+    /**
+     * Buffer receiving the indexes of the cells to redraw.
+     */
+    private final int[] changedCells = new int[Board.MAX_CELLS];
+
+    /**
+     * Buffer receiving the texts of the cells to redraw.
+     */
+    private final String[] changedTexts = new String[Board.MAX_CELLS];
+
+    /**
+     * The builder generating the grid and removing cells for the puzzle.
+     */
+    private final PuzzleBuilder puzzleBuilder = new PuzzleBuilder(new Random());
+
+    /**
+     * The repository receiving the game records, or null to use the shared default one.
+     */
+    private final GameHistoryRepository gameHistory;
+
+    /**
+     * The store keeping unfinished games between sessions.
+     */
+    private final GameSaveStore saveStore;
+
     /**
      * Returns the Sudoku game view.
      *
@@ -63,36 +94,89 @@ public class BoardController {
      * Initializes the BoardModel.
      */
     public BoardController() {
-        boardModel = new BoardModel();
+        this(null);
+    }
+
+    /**
+     * Constructor for BoardController saving the game records to the given repository.
+     *
+     * @param gameHistory the repository receiving the game records, or null to use the shared default one.
+     */
+    public BoardController(GameHistoryRepository gameHistory) {
+        this(gameHistory, GameSaveStore.getDefault());
+    }
+
+    /**
+     * Constructor for BoardController saving the game records and unfinished games to the given stores.
+     *
+     * @param gameHistory the repository receiving the game records, or null to use the shared default one.
+     * @param saveStore   the store keeping unfinished games.
+     */
+    public BoardController(GameHistoryRepository gameHistory, GameSaveStore saveStore) {
+        this.boardModel = new BoardModel();
+        this.gameHistory = gameHistory;
+        this.saveStore = saveStore;
+    }
+
+    /**
+     * Replaces the board model with an empty one of the given size, for example 4 for a 16x16 board.
+     * It must be called before the difficulty level is set and the view is created.
+     *
+     * @param boxSize the width and height of a box.
+     * @throws IllegalArgumentException if the box size is not supported.
+     */
+    public void setBoxSize(int boxSize) {
+        this.boardModel = new BoardModel(boxSize);
+        isSudokuSet = false;
     }
 
     /**
      * Sets up the Sudoku game view and initializes listeners for UI interactions.
+     * For a 9x9 board the puzzle pool for the selected difficulty level starts filling at this point.
      *
      * @param userModel the UserModel object representing the user.
      */
     public void setSudokuGameView(UserModel userModel) {
-        sudokuGameView = new SudokuGameView();
+        if (boardModel.isClassic()) {
+            PuzzlePool.forLevel(boardModel.getDifficultyLevel());
+        }
+        sudokuGameView = new SudokuGameView(boardModel.getEngine().boxSize());
         initializeListeners(userModel);
     }
 
     /**
      * Initializes listeners for buttons and window events in the Sudoku game view.
+     * The undo and redo buttons step through the move log of the board model.
+     * The controller also subscribes to the solved event of the board model, which is
+     * handled after the board has been redrawn.
      *
      * @param userModel the UserModel object representing the user.
      */
     public void initializeListeners(UserModel userModel) {
         sudokuGameView.addStartButtonListener(e -> {
-            settingUpSudoku();
-            updateBoard(sudokuGameView.getBoardPanel());
+            if (!resumeSavedGame(userModel)) {
+                settingUpSudoku();
+            }
+            updateBoard();
         });
 
         sudokuGameView.addAddValueButtonListener(e -> {
             readUserInput();
-            updateBoard(sudokuGameView.getBoardPanel());
-            isGameCompleted(userModel);
+            updateBoard();
+        });
+
+        sudokuGameView.addUndoButtonListener(e -> {
+            getBoardModel().undo();
+            updateBoard();
         });
 
+        sudokuGameView.addRedoButtonListener(e -> {
+            getBoardModel().redo();
+            updateBoard();
+        });
+
+        boardModel.addSolvedListener(() -> SwingUtilities.invokeLater(() -> onSudokuSolved(userModel)));
+
         sudokuGameView.addWindowCloseListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
@@ -103,17 +187,17 @@ public class BoardController {
 
     /**
      * Updates the visual board in the Sudoku game view to reflect the current board model.
-     *
-     * @param panel the JPanel containing the Sudoku grid.
+     * Only the cells changed since the previous update are redrawn.
      */
-    private void updateBoard(JPanel panel) {
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                JTextField cell = sudokuGameView.getCellAt(i, j);
-                String value = getBoardModel().getBoard().get(i).get(j).value();
-                cell.setText(value != null ? value : "");
-                cell.setEditable(value.isEmpty());
-            }
+    private void updateBoard() {
+        Board board = boardModel.getEngine();
+        int count = board.drainChangedCells(changedCells);
+        for (int i = 0; i < count; i++) {
+            int value = board.get(changedCells[i] / board.size(), changedCells[i] % board.size());
+            changedTexts[i] = value == 0 ? "" : String.valueOf(value);
+        }
+        if (count > 0) {
+            sudokuGameView.updateCells(changedCells, changedTexts, count);
         }
     }
 
@@ -122,21 +206,23 @@ public class BoardController {
      * Displays error messages if the user makes invalid moves.
      */
     private void readUserInput() {
-        for (int blockRow = 0; blockRow < 3; blockRow++) {
-            for (int blockCol = 0; blockCol < 3; blockCol++) {
-                for (int row = 0; row < 3; row++) {
-                    for (int col = 0; col < 3; col++) {
-                        int i = blockRow * 3 + row;
-                        int j = blockCol * 3 + col;
+        int boxSize = boardModel.getEngine().boxSize();
+        for (int blockRow = 0; blockRow < boxSize; blockRow++) {
+            for (int blockCol = 0; blockCol < boxSize; blockCol++) {
+                for (int row = 0; row < boxSize; row++) {
+                    for (int col = 0; col < boxSize; col++) {
+                        int i = blockRow * boxSize + row;
+                        int j = blockCol * boxSize + col;
                         JTextField cell = sudokuGameView.getCellAt(i, j);
                         String userInput = cell.getText().trim();
 
                         if (!userInput.isEmpty() && !userInput.equals(getBoardModel().getBoard().get(i).get(j).value())) {
-                            try {
-                                isMoveValid(i, j, userInput);
+                            MoveCheck check = getBoardModel().checkMove(i, j, userInput);
+                            if (check.isValid()) {
                                 getBoardModel().placeValue(i, j, userInput);
-                            } catch (InvalidSudokuMoveException e) {
-                                JOptionPane.showMessageDialog(null, e.getMessage());
+                            } else {
+                                getBoardModel().getEngine().markChanged(i, j);
+                                JOptionPane.showMessageDialog(null, check.getMessage());
                             }
                         }
                     }
@@ -146,13 +232,63 @@ public class BoardController {
     }
 
     /**
-     * Sets up the Sudoku game by preparing the board and removing cells based on difficulty level.
+     * Sets up the Sudoku game by taking a ready puzzle for the difficulty level from the puzzle pool.
+     * The puzzle is generated in the background, so this method does not run the generator itself.
+     * The pool holds 9x9 puzzles only; a puzzle of another size is built on the spot.
      */
     public void settingUpSudoku() {
         if (!isSudokuSet) {
-            getBoardModel().settingUpBoard();
-            fillingUpBoard();
-            removeNumbers(boardModel.getNumberDiff());
+            BoardModel.DifficultyLevel level = boardModel.getDifficultyLevel();
+            getBoardModel().loadPuzzle(boardModel.isClassic()
+                    ? PuzzlePool.forLevel(level).take()
+                    : puzzleBuilder.build(level, boardModel.getEngine().boxSize()));
+            isSudokuSet = true;
+        }
+    }
+
+    /**
+     * Offers the player to continue their saved game when no 9x9 board is set up yet.
+     * A declined save is deleted, so the offer is not repeated.
+     *
+     * @param userModel the UserModel object representing the user.
+     * @return true if the saved game was loaded, false if a new board should be set up.
+     */
+    private boolean resumeSavedGame(UserModel userModel) {
+        if (isSudokuSet || !boardModel.isClassic() || !saveStore.hasSave(userModel.getUsername())) {
+            return false;
+        }
+        int response = JOptionPane.showConfirmDialog(
+                sudokuGameView,
+                "Do you want to resume your last game?",
+                "Resume game",
+                JOptionPane.YES_NO_OPTION
+        );
+        try {
+            if (response == JOptionPane.YES_OPTION && saveStore.load(userModel.getUsername(), boardModel)) {
+                isSudokuSet = true;
+                return true;
+            }
+            saveStore.delete(userModel.getUsername());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Saves the unfinished game of the player so it can be resumed with the next "Set Board".
+     * Only 9x9 games are saved, as the save file holds a classic board.
+     *
+     * @param userModel the UserModel object representing the user.
+     */
+    public void saveUnfinishedGame(UserModel userModel) {
+        if (!isSudokuSet || !boardModel.isClassic() || boardModel.isCompleted()) {
+            return;
+        }
+        try {
+            saveStore.save(userModel.getUsername(), boardModel);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
@@ -173,82 +309,52 @@ public class BoardController {
      * Fills up the Sudoku board with valid numbers using a backtracking algorithm.
      */
     public void fillingUpBoard() {
-        fill(0, 0);
-    }
-
-    /**
-     * Recursively fills the board starting from the specified row and column using backtracking.
-     *
-     * @param row the starting row index.
-     * @param col the starting column index.
-     * @return true if the board is successfully filled, false otherwise.
-     */
-    private boolean fill(int row, int col) {
-        if (row == boardModel.getBoard().size()) return true;
-        if (col == boardModel.getBoard().get(row).size()) return fill(row + 1, 0);
-
-        ArrayList<Integer> numbers = new ArrayList<>();
-        for (int i = 1; i <= boardModel.getBoard().size(); i++) {
-            numbers.add(i);
-        }
-        Collections.shuffle(numbers);
-
-        for (int number : numbers) {
-            try {
-                isMoveValid(row, col, String.valueOf(number));
-                boardModel.placeValue(row, col, String.valueOf(number));
-
-                if (fill(row, col + 1)) {
-                    return true;
-                }
-
-                boardModel.removeValue(row, col);
-            } catch (InvalidSudokuMoveException e) {
-                // Skip invalid moves
-            }
-        }
-
-        return false;
+        puzzleBuilder.fillingUpBoard(boardModel);
     }
 
     /**
      * Removes a specified number of cells from the board based on difficulty level to create the puzzle.
+     * Every removal keeps the puzzle uniquely solvable. Together with {@link #fillingUpBoard()}
+     * it builds a puzzle directly in this controller's board instead of taking one from the pool.
      *
      * @param numbersRemoved the number of cells to remove.
      */
-    private void removeNumbers(int numbersRemoved) {
-        Random rand = new Random();
-        int removed = 0;
-        while (removed < numbersRemoved) {
-            int row = rand.nextInt(boardModel.getBoard().size());
-            int col = rand.nextInt(boardModel.getBoard().get(row).size());
-
-            if (!boardModel.getBoard().get(row).get(col).value().isEmpty()) {
-                boardModel.removeValue(row, col);
-                removed++;
-            }
-        }
+    public void removeNumbers(int numbersRemoved) {
+        puzzleBuilder.removeNumbers(boardModel, numbersRemoved);
+        boardModel.markGivens();
         isSudokuSet = true;
     }
 
     /**
      * Checks if the Sudoku puzzle has been completed by the player.
      * Displays a message if the game is successfully completed.
+     * The check uses the counters of the board model and does not scan the cells.
      *
      * @param userModel the UserModel object representing the user.
      */
     public void isGameCompleted(UserModel userModel) {
-        for (int i = 0; i < boardModel.getBoard().size(); i++) {
-            for (int j = 0; j < boardModel.getBoard().get(i).size(); j++) {
-                if (boardModel.getBoard().get(i).get(j).value().isEmpty()) {
-                    isSudokuSet = true;
-                    return;
-                }
-            }
+        if (!boardModel.isCompleted()) {
+            isSudokuSet = true;
+            return;
         }
+        onSudokuSolved(userModel);
+    }
+
+    /**
+     * Handles a solved board: displays a message, marks the board as solved,
+     * deletes the player's saved game and allows a new board to be set up.
+     *
+     * @param userModel the UserModel object representing the user.
+     */
+    private void onSudokuSolved(UserModel userModel) {
         JOptionPane.showMessageDialog(null, "You solved sudoku!!");
         getBoardModel().changeStatus();
         isSudokuSet = false;
+        try {
+            saveStore.delete(userModel.getUsername());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -267,25 +373,36 @@ public class BoardController {
 
         if (response == JOptionPane.YES_OPTION) {
             sudokuGameView.dispose();
+            saveUnfinishedGame(userModel);
             saveGameRecordToFile(userModel);
         }
     }
 
     /**
-     * Saves the game record to a file, including the username, date, difficulty level, and game status.
+     * Saves the game record to the game history, including the username, date, difficulty level, and game status.
      *
      * @param userModel the UserModel object representing the user.
      */
     public void saveGameRecordToFile(UserModel userModel) {
-        LocalDate currentDate = LocalDate.now();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter("src/main/java/pl/polsl/lab/bartosz/sosnica/sudoku/resources/gamehistory.txt", true))) {
-            writer.write(userModel.getUsername() + " " + currentDate + " " + getBoardModel().getDifficultyLevel() + " " + getBoardModel().getStatus());
-            writer.newLine();
+        GameRecord record = new GameRecord(userModel.getUsername(), LocalDate.now(),
+                getBoardModel().getDifficultyLevel(), "Solved".equals(getBoardModel().getStatus()));
+        try {
+            gameHistory().append(record);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Returns the repository receiving the game records.
+     *
+     * @return the repository given to the constructor, or the shared default one.
+     * @throws IOException if the default repository cannot be opened.
+     */
+    private GameHistoryRepository gameHistory() throws IOException {
+        return gameHistory != null ? gameHistory : BinaryGameHistoryRepository.getDefault();
+    }
+
     /**
      * Retrieves the difficulty level from command-line arguments.
      * If invalid, prompts the user to enter the difficulty level.
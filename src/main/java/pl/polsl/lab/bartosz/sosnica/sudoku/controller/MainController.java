@@ -3,14 +3,21 @@ package pl.polsl.lab.bartosz.sosnica.sudoku.controller;
 import lombok.Getter;
 import pl.polsl.lab.bartosz.sosnica.sudoku.exception.InvalidSudokuMoveException;
 import pl.polsl.lab.bartosz.sosnica.sudoku.exception.InvalidUserInputException;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.BinaryGameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameRecord;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.UserStatsIndex;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
 import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
 import pl.polsl.lab.bartosz.sosnica.sudoku.model.UserModel;
 import pl.polsl.lab.bartosz.sosnica.sudoku.view.UserInputGuiView;
 import pl.polsl.lab.bartosz.sosnica.sudoku.view.UserView;
 
 import javax.swing.*;
-import java.io.*;
+import java.io.IOException;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
 
 /**
  * <p>
@@ -58,12 +65,32 @@ public class MainController {
      */
     private UserInputGuiView userInputGuiView;
 
+    /**
+     * The repository holding the game history, or null to use the shared default one.
+     */
+    private final GameHistoryRepository gameHistory;
+
+    /**
+     * The statistics of the players, created when the login window first needs them.
+     */
+    private UserStatsIndex userStats;
+
     /**
      * Default constructor for MainController.
      * Initializes the BoardController and UserModel.
      */
     public MainController() {
-        this.boardController = new BoardController();
+        this(null);
+    }
+
+    /**
+     * Constructor for MainController reading and saving the game history in the given repository.
+     *
+     * @param gameHistory the repository holding the game history, or null to use the shared default one.
+     */
+    public MainController(GameHistoryRepository gameHistory) {
+        this.gameHistory = gameHistory;
+        this.boardController = new BoardController(gameHistory);
         this.userModel = new UserModel();
     }
 
@@ -83,14 +110,19 @@ public class MainController {
 
     /**
      * Sets up the game by checking the user's input and initializing the game state.
+     * An optional third argument selects the board size: 4, 9, 16 or 25 rows.
      *
      * @param args command-line arguments containing user information.
+     * @throws IllegalArgumentException if the difficulty level or the board size is not supported.
      */
     public void GameSetUp(String[] args) {
         try {
             userModel.checkUsernameInput(args);
             userModel.setUsername(args[0]);
 
+            if (args.length > 2) {
+                boardController.setBoxSize(boxSizeOf(args[2]));
+            }
             BoardModel.DifficultyLevel difficultyLevel = BoardModel.DifficultyLevel.valueOf(args[1]);
             boardController.getBoardModel().settingDifficultyLevel(difficultyLevel);
 
@@ -99,9 +131,26 @@ public class MainController {
             userInputGuiView = new UserInputGuiView();
             handleLogin();
             loadGameRecordsFromFile();
+            showUserStatsOnLogin();
         }
     }
 
+    /**
+     * Converts a board size given as the number of rows into the size of its boxes.
+     *
+     * @param boardSize the number of rows of the board, for example "16".
+     * @return the width and height of a box.
+     * @throws IllegalArgumentException if the board size is not 4, 9, 16 or 25.
+     */
+    private static int boxSizeOf(String boardSize) {
+        for (int boxSize = Board.MIN_BOX_SIZE; boxSize <= Board.MAX_BOX_SIZE; boxSize++) {
+            if (String.valueOf(boxSize * boxSize).equals(boardSize)) {
+                return boxSize;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported board size: " + boardSize);
+    }
+
     /**
      * Retrieves the username from command-line arguments or prompts the user if it is not provided.
      *
@@ -212,23 +261,80 @@ public class MainController {
     }
 
     /**
-     * Loads game records from a specified file and updates the GUI with the retrieved records.
+     * Shows the game history in the GUI. The records are read in pages in the background,
+     * so the login window opens at once even for a long history.
      */
     public void loadGameRecordsFromFile() {
-        try (BufferedReader reader = new BufferedReader(new FileReader("src/main/java/pl/polsl/lab/bartosz/sosnica/sudoku/resources/gamehistory.txt"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] data = line.split(" ");
-                if (data.length >= 4) { // Ensure there are enough fields
-                    String username = data[0];
-                    String date = data[1];
-                    String difficulty = data[2];
-                    String status = data[3];
-                    userInputGuiView.addGameRecord(username, date, difficulty, status);
+        try {
+            userInputGuiView.showGameHistory(gameHistory());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Shows the statistics of the player typed in the login window, updated as the username changes.
+     * The index is built in the background, so the login window opens at once even when the history
+     * has to be replayed; once it is ready, each update is a constant-time lookup.
+     */
+    public void showUserStatsOnLogin() {
+        new SwingWorker<UserStatsIndex, Void>() {
+            @Override
+            protected UserStatsIndex doInBackground() throws IOException {
+                return userStats();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    UserStatsIndex index = get();
+                    userInputGuiView.addUsernameListener(() ->
+                            userInputGuiView.showUserStats(index.get(userInputGuiView.getUsername())));
+                    userInputGuiView.showUserStats(index.get(userInputGuiView.getUsername()));
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
                 }
             }
+        }.execute();
+    }
+
+    /**
+     * Reads all game records from the game history.
+     *
+     * @return the list of records in the order they were saved.
+     */
+    public List<GameRecord> readGameRecordsFromFile() {
+        try {
+            GameHistoryRepository history = gameHistory();
+            return history.read(0, (int) Math.min(history.size(), Integer.MAX_VALUE));
         } catch (IOException e) {
             e.printStackTrace();
+            return List.of();
+        }
+    }
+
+    /**
+     * Returns the repository holding the game history.
+     *
+     * @return the repository given to the constructor, or the shared default one.
+     * @throws IOException if the default repository cannot be opened.
+     */
+    private GameHistoryRepository gameHistory() throws IOException {
+        return gameHistory != null ? gameHistory : BinaryGameHistoryRepository.getDefault();
+    }
+
+    /**
+     * Returns the statistics index of the game history, building it on first use.
+     * The index of the default history is shared and keeps its snapshot next to the history;
+     * the index of a history given to the constructor is kept in memory only.
+     *
+     * @return the statistics index.
+     * @throws IOException if the history cannot be read.
+     */
+    private synchronized UserStatsIndex userStats() throws IOException {
+        if (userStats == null) {
+            userStats = gameHistory != null ? new UserStatsIndex(gameHistory, null) : UserStatsIndex.getDefault();
         }
+        return userStats;
     }
 }
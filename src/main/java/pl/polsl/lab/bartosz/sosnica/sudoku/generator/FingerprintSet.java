@@ -0,0 +1,221 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <p>
+ * The FingerprintSet class is a hash set of 128-bit puzzle fingerprints kept outside the Java heap,
+ * so a generation pipeline can remember tens of millions of puzzles without the garbage collector
+ * ever scanning them. A fingerprint takes 16 bytes, compared with a full board of several hundred.
+ * </p>
+ * <p>
+ * The slots are stored in direct byte buffers of up to {@value #SEGMENT_SLOTS} slots each, so the
+ * capacity is not limited by the 2 GiB size of a single buffer. The set uses open addressing with
+ * linear probing: both halves of a fingerprint are multiplied by a large odd constant and the top bits
+ * of the product select the slot, so even clustered fingerprints spread evenly; an all-zero slot is empty.
+ * When the set is three quarters full, it doubles its capacity and moves every fingerprint;
+ * the old buffers are released with their last reference. The direct memory is limited by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ * </p>
+ * <p>
+ * A set is not thread-safe; the callers of a shared set must synchronize.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class FingerprintSet {
+
+    /**
+     * The number of slots in a full segment, 64 MiB of memory.
+     */
+    static final int SEGMENT_SLOTS = 1 << 22;
+
+    /**
+     * The number of bytes of a slot: two longs.
+     */
+    private static final int SLOT_BYTES = 2 * Long.BYTES;
+
+    /**
+     * The smallest number of slots.
+     */
+    private static final long MIN_CAPACITY = 16;
+
+    /**
+     * The odd multiplier spreading a fingerprint over the slots: 2^64 divided by the golden ratio.
+     */
+    private static final long SPREAD_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The memory segments holding the slots.
+     */
+    private ByteBuffer[] segments;
+
+    /**
+     * The number of slots; a power of two.
+     */
+    private long capacity;
+
+    /**
+     * The shift keeping the top {@code log2(capacity)} bits of a spread fingerprint.
+     */
+    private int slotShift;
+
+    /**
+     * The number of fingerprints in the set.
+     */
+    private long size;
+
+    /**
+     * Constructor creating a set sized for the expected number of fingerprints.
+     *
+     * @param expectedSize the number of fingerprints expected; the set grows beyond it when needed.
+     * @throws IllegalArgumentException if the expected size is negative.
+     */
+    public FingerprintSet(long expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        long capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Adds a fingerprint unless it is already in the set.
+     *
+     * @param high the first half of the fingerprint.
+     * @param low  the second half of the fingerprint.
+     * @return true if the fingerprint was added, false if it was already present.
+     * @throws IllegalArgumentException if both halves are zero, which marks an empty slot.
+     */
+    public boolean add(long high, long low) {
+        if (high == 0 && low == 0) {
+            throw new IllegalArgumentException("The zero fingerprint cannot be stored");
+        }
+        if ((size + 1) * 4 > capacity * 3) {
+            grow();
+        }
+        long slot = find(high, low);
+        if (getLong(slot, 0) != 0 || getLong(slot, Long.BYTES) != 0) {
+            return false;
+        }
+        putSlot(slot, high, low);
+        size++;
+        return true;
+    }
+
+    /**
+     * Checks whether a fingerprint is in the set.
+     *
+     * @param high the first half of the fingerprint.
+     * @param low  the second half of the fingerprint.
+     * @return true if the fingerprint was added before.
+     */
+    public boolean contains(long high, long low) {
+        if (high == 0 && low == 0) {
+            return false;
+        }
+        long slot = find(high, low);
+        return getLong(slot, 0) != 0 || getLong(slot, Long.BYTES) != 0;
+    }
+
+    /**
+     * Returns the number of fingerprints in the set.
+     *
+     * @return the number of fingerprints added.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots, which determines the memory used: {@code 16 * capacity()} bytes.
+     *
+     * @return the number of slots.
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Finds the slot holding a fingerprint, or the empty slot ending its probe sequence.
+     *
+     * @param high the first half of the fingerprint.
+     * @param low  the second half of the fingerprint.
+     * @return the index of the slot.
+     */
+    private long find(long high, long low) {
+        long mask = capacity - 1;
+        long start = ((high ^ Long.rotateLeft(low, 32)) * SPREAD_MULTIPLIER) >>> slotShift;
+        for (long slot = start; ; slot = (slot + 1) & mask) {
+            long slotHigh = getLong(slot, 0);
+            long slotLow = getLong(slot, Long.BYTES);
+            if ((slotHigh == high && slotLow == low) || (slotHigh == 0 && slotLow == 0)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Doubles the capacity and moves every fingerprint into the new segments.
+     */
+    private void grow() {
+        ByteBuffer[] old = segments;
+        long oldCapacity = capacity;
+        allocate(capacity * 2);
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            ByteBuffer segment = old[(int) (slot / SEGMENT_SLOTS)];
+            int offset = (int) (slot % SEGMENT_SLOTS) * SLOT_BYTES;
+            long high = segment.getLong(offset);
+            long low = segment.getLong(offset + Long.BYTES);
+            if (high != 0 || low != 0) {
+                putSlot(find(high, low), high, low);
+            }
+        }
+    }
+
+    /**
+     * Replaces the segments with empty ones holding the given number of slots.
+     *
+     * @param capacity the number of slots; a power of two.
+     */
+    private void allocate(long capacity) {
+        int segmentSlots = (int) Math.min(capacity, SEGMENT_SLOTS);
+        ByteBuffer[] allocated = new ByteBuffer[(int) (capacity / segmentSlots)];
+        for (int i = 0; i < allocated.length; i++) {
+            allocated[i] = ByteBuffer.allocateDirect(segmentSlots * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        }
+        this.segments = allocated;
+        this.capacity = capacity;
+        this.slotShift = Long.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * Reads a half of a slot.
+     *
+     * @param slot   the index of the slot.
+     * @param offset 0 for the first half, {@link Long#BYTES} for the second.
+     * @return the stored half, 0 for an empty slot.
+     */
+    private long getLong(long slot, int offset) {
+        return segments[(int) (slot / SEGMENT_SLOTS)].getLong((int) (slot % SEGMENT_SLOTS) * SLOT_BYTES + offset);
+    }
+
+    /**
+     * Stores a fingerprint in a slot.
+     *
+     * @param slot the index of the slot.
+     * @param high the first half of the fingerprint.
+     * @param low  the second half of the fingerprint.
+     */
+    private void putSlot(long slot, long high, long low) {
+        ByteBuffer segment = segments[(int) (slot / SEGMENT_SLOTS)];
+        int offset = (int) (slot % SEGMENT_SLOTS) * SLOT_BYTES;
+        segment.putLong(offset, high);
+        segment.putLong(offset + Long.BYTES, low);
+    }
+}
@@ -0,0 +1,314 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.metrics.Metrics;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.Grade;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.SudokuSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.TechniqueGrader;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * <p>
+ * The PuzzleBuilder class creates single Sudoku puzzles: it fills a board with a complete
+ * random grid and then removes cells while the puzzle keeps exactly one solution.
+ * </p>
+ * <p>
+ * The puzzle is then graded with a {@link TechniqueGrader} and more cells are removed until
+ * the techniques it needs fall within the band of the requested difficulty level.
+ * A grid that cannot reach the band is replaced by a new one, as often as needed, so a 9x9 puzzle
+ * is never labelled with a level whose band it misses. The replaced grids are counted in
+ * {@link Metrics#GRADE_RETRIES}.
+ * </p>
+ * <p>
+ * A builder owns its random generator and solver, so it does not depend on any view
+ * and must be used by one thread at a time. Parallel generation gives every worker
+ * its own builder.
+ * </p>
+ * <p>
+ * Boards of every supported size are built, from 4x4 to 25x25. Only 9x9 puzzles are graded,
+ * since the grader works on the classic board; larger boards just remove the level's share of cells.
+ * </p>
+ * <p>
+ * Filling a grid works on the engine's bitmasks with buffers allocated once per builder,
+ * so generating a grid allocates no objects.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class PuzzleBuilder {
+
+    /**
+     * The number of dead ends per cell after which filling gives up the current grid and starts again.
+     * A restart with new random digits escapes the rare deep dead ends of large boards much faster
+     * than backtracking out of them.
+     */
+    static final int FILL_BACKTRACKS_PER_CELL = 4;
+
+    /**
+     * The source of randomness for filling and removing cells.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * The solver used to keep generated puzzles uniquely solvable.
+     */
+    private final SudokuSolver solver = new BitmaskSolver();
+
+    /**
+     * The grader used to keep generated puzzles within the technique band of their level.
+     */
+    private final TechniqueGrader grader = new TechniqueGrader();
+
+    /**
+     * The cell filled at each depth of the filling stack.
+     */
+    private final int[] stackCell = new int[Board.MAX_CELLS];
+
+    /**
+     * The digits not yet tried in the cell at each depth of the filling stack, one bit per digit.
+     */
+    private final int[] stackMask = new int[Board.MAX_CELLS];
+
+    /**
+     * The cell order reused by {@link #shuffledCells(int)}.
+     */
+    private final int[] cellOrder = new int[Board.MAX_CELLS];
+
+    /**
+     * Constructor creating a builder with the given random generator.
+     *
+     * @param random the random generator used by this builder only.
+     */
+    public PuzzleBuilder(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Creates a new 9x9 puzzle for the given difficulty level.
+     *
+     * @param level the difficulty level of the puzzle.
+     * @return a new board model holding the puzzle, its remaining cells marked as givens.
+     */
+    public BoardModel build(BoardModel.DifficultyLevel level) {
+        return build(level, Board.BOX_SIZE);
+    }
+
+    /**
+     * Creates a new puzzle of the given size for the given difficulty level.
+     *
+     * @param level   the difficulty level of the puzzle.
+     * @param boxSize the width and height of a box, for example 4 for a 16x16 board.
+     * @return a new board model holding the puzzle, its remaining cells marked as givens; a 9x9 puzzle
+     *         always falls within the technique band of the level.
+     * @throws IllegalArgumentException if the box size is not supported.
+     */
+    public BoardModel build(BoardModel.DifficultyLevel level, int boxSize) {
+        BoardModel boardModel = new BoardModel(boxSize);
+        boardModel.settingDifficultyLevel(level);
+        while (true) {
+            boardModel.settingUpBoard();
+            fillingUpBoard(boardModel);
+            removeNumbers(boardModel, boardModel.getNumberDiff());
+            if (!boardModel.isClassic() || reachGrade(boardModel, level)) {
+                break;
+            }
+            Metrics.GRADE_RETRIES.increment();
+        }
+        boardModel.markGivens();
+        return boardModel;
+    }
+
+    /**
+     * Removes further cells until the puzzle needs a technique from the level's band.
+     * A removal is kept only if the puzzle is still solved without any technique harder than the band allows;
+     * such a puzzle is solved without guessing, so it also keeps exactly one solution.
+     *
+     * @param boardModel the board model holding a uniquely solvable puzzle.
+     * @param level      the difficulty level whose band the puzzle should reach.
+     * @return true if the puzzle matches the level.
+     */
+    public boolean reachGrade(BoardModel boardModel, BoardModel.DifficultyLevel level) {
+        Board board = boardModel.getEngine();
+        if (level.accepts(grader.grade(board))) {
+            return true;
+        }
+        int[] order = shuffledCells(Board.CELLS);
+        for (int i = 0; i < Board.CELLS; i++) {
+            int row = order[i] / Board.SIZE;
+            int col = order[i] % Board.SIZE;
+            int value = board.get(row, col);
+            if (value == 0) {
+                continue;
+            }
+
+            board.clear(row, col);
+            Grade grade = grader.grade(board);
+            if (!grade.solvedWithin(level.getMaxTechnique())) {
+                board.set(row, col, value);
+            } else if (level.accepts(grade)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills up the Sudoku board with valid numbers using a backtracking algorithm.
+     * The engine is filled directly, so the moves are not recorded and the solved listeners are not notified.
+     *
+     * @param boardModel the board model to fill; it is expected to be empty.
+     */
+    public void fillingUpBoard(BoardModel boardModel) {
+        long start = Metrics.startTime();
+        fill(boardModel.getEngine());
+        Metrics.FILL.recordSince(start);
+    }
+
+    /**
+     * Fills the board with backtracking on an explicit stack. Each step picks the next cell with {@link #nextCell(Board, int)}
+     * and places a random one of its candidates; the stack keeps the cell and its untried candidates at every depth.
+     * When a cell has no candidate left, the cell of the previous depth is cleared and tries another digit.
+     * After {@value #FILL_BACKTRACKS_PER_CELL} dead ends per cell the board is cleared and filled again.
+     *
+     * @param board the empty board to fill.
+     */
+    private void fill(Board board) {
+        int size = board.size();
+        int backtracks = 0;
+        int maxBacktracks = FILL_BACKTRACKS_PER_CELL * board.cellCount();
+        int depth = 0;
+        int cell = nextCell(board, depth);
+        while (cell >= 0) {
+            stackCell[depth] = cell;
+            stackMask[depth] = board.candidates(cell / size, cell % size);
+            while (stackMask[depth] == 0) {
+                backtracks++;
+                if (depth == 0 || backtracks % maxBacktracks == 0) {
+                    board.reset();
+                    depth = 0;
+                    stackCell[0] = nextCell(board, 0);
+                    stackMask[0] = board.allDigits();
+                } else {
+                    depth--;
+                    board.clear(stackCell[depth] / size, stackCell[depth] % size);
+                }
+            }
+            int bit = randomBit(stackMask[depth]);
+            stackMask[depth] ^= bit;
+            cell = stackCell[depth];
+            board.set(cell / size, cell % size, Integer.numberOfTrailingZeros(bit) + 1);
+            depth++;
+            cell = nextCell(board, depth);
+        }
+        Metrics.FILL_BACKTRACKS.add(backtracks);
+    }
+
+    /**
+     * Chooses the cell to fill at a depth of the filling stack. Boards up to 9x9 are filled row by row,
+     * which needs no search and rarely backtracks. On larger boards the row order runs into long dead ends,
+     * so the empty cell with the fewest candidates is chosen instead.
+     *
+     * @param board the board being filled.
+     * @param depth the number of cells filled so far.
+     * @return the index of the cell, or -1 if the board is full.
+     */
+    private static int nextCell(Board board, int depth) {
+        int size = board.size();
+        if (size <= Board.SIZE) {
+            return depth < board.cellCount() ? depth : -1;
+        }
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < board.cellCount(); cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            if (board.isEmpty(row, col)) {
+                int count = Integer.bitCount(board.candidates(row, col));
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                    if (count <= 1) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Picks one set bit of a mask at random.
+     *
+     * @param mask a non-zero mask.
+     * @return a mask holding only the picked bit.
+     */
+    private int randomBit(int mask) {
+        for (int skip = random.nextInt(Integer.bitCount(mask)); skip > 0; skip--) {
+            mask &= mask - 1;
+        }
+        return mask & -mask;
+    }
+
+    /**
+     * Removes a specified number of cells from the board to create the puzzle.
+     * Cells are visited in random order and every removal is checked with the solver, which stops
+     * as soon as it finds a second solution. A removal that breaks uniqueness is reverted, so the
+     * puzzle always has exactly one solution.
+     *
+     * @param boardModel     the board model holding a complete grid.
+     * @param numbersRemoved the number of cells to remove.
+     * @return the number of cells actually removed; it is lower than requested only if no other
+     *         cell can be blanked without losing uniqueness.
+     */
+    public int removeNumbers(BoardModel boardModel, int numbersRemoved) {
+        long start = Metrics.startTime();
+        Board board = boardModel.getEngine();
+        int size = board.size();
+        int cells = board.cellCount();
+        int[] order = shuffledCells(cells);
+
+        int removed = 0;
+        for (int i = 0; i < cells && removed < numbersRemoved; i++) {
+            int row = order[i] / size;
+            int col = order[i] % size;
+            int value = board.get(row, col);
+            if (value == 0) {
+                continue;
+            }
+
+            board.clear(row, col);
+            if (solver.hasUniqueSolution(boardModel)) {
+                removed++;
+            } else {
+                board.set(row, col, value);
+            }
+        }
+        Metrics.REMOVE_NUMBERS.recordSince(start);
+        return removed;
+    }
+
+    /**
+     * Returns the indices of all cells in random order.
+     * The array is reused by the next call.
+     *
+     * @param cells the number of cells of the board.
+     * @return an array holding every cell index below the number of cells once, in its first elements.
+     */
+    private int[] shuffledCells(int cells) {
+        int[] order = cellOrder;
+        for (int i = 0; i < cells; i++) {
+            order[i] = i;
+        }
+        for (int i = cells - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,144 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * The PuzzleGenerator class produces batches of puzzles without any user interface.
+ * The requested range is split recursively on a {@link ForkJoinPool}; every split hands
+ * a {@link SplittableRandom#split() split} random generator to the new task, and every
+ * leaf task builds its puzzles with its own {@link PuzzleBuilder}.
+ * </p>
+ * <p>
+ * Each puzzle is a new {@link BoardModel} passed to the sink as soon as it is finished,
+ * so no board is shared between threads. The sink is called concurrently from the
+ * worker threads and must be thread-safe. For a given seed the same set of puzzles is
+ * produced, although the order in which they reach the sink may differ.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class PuzzleGenerator {
+
+    /**
+     * The number of puzzles below which a task stops splitting and builds them itself.
+     */
+    private static final int BATCH_SIZE = 8;
+
+    /**
+     * The pool running the generation tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor creating a generator that runs on the common fork-join pool.
+     */
+    public PuzzleGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor creating a generator that runs on the given pool.
+     *
+     * @param pool the fork-join pool running the generation tasks.
+     */
+    public PuzzleGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Generates puzzles of one difficulty level and streams them to the sink.
+     * The method returns once every puzzle has been passed to the sink.
+     *
+     * @param level the difficulty level of the puzzles.
+     * @param count the number of puzzles to generate.
+     * @param seed  the seed of the random generators.
+     * @param sink  the thread-safe consumer receiving finished puzzles.
+     */
+    public void generate(BoardModel.DifficultyLevel level, int count, long seed, Consumer<? super BoardModel> sink) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Puzzle count cannot be negative: " + count);
+        }
+        pool.invoke(new GenerateTask(level, count, new SplittableRandom(seed), sink));
+    }
+
+    /**
+     * Generates the same number of puzzles for every difficulty level and streams them to the sink.
+     * The difficulty of each puzzle can be read from {@link BoardModel#getDifficultyLevel()}.
+     *
+     * @param countPerLevel the number of puzzles to generate for each difficulty level.
+     * @param seed          the seed of the random generators.
+     * @param sink          the thread-safe consumer receiving finished puzzles.
+     */
+    public void generateAll(int countPerLevel, long seed, Consumer<? super BoardModel> sink) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (BoardModel.DifficultyLevel level : BoardModel.DifficultyLevel.values()) {
+            generate(level, countPerLevel, seeds.nextLong(), sink);
+        }
+    }
+
+    /**
+     * Fork-join task generating a number of puzzles with its own random generator.
+     */
+    private static class GenerateTask extends RecursiveAction {
+
+        /**
+         * The difficulty level of the puzzles.
+         */
+        private final BoardModel.DifficultyLevel level;
+
+        /**
+         * The number of puzzles this task is responsible for.
+         */
+        private final int count;
+
+        /**
+         * The random generator owned by this task.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * The consumer receiving finished puzzles.
+         */
+        private final Consumer<? super BoardModel> sink;
+
+        /**
+         * Constructor for a generation task.
+         *
+         * @param level  the difficulty level of the puzzles.
+         * @param count  the number of puzzles to generate.
+         * @param random the random generator owned by this task.
+         * @param sink   the consumer receiving finished puzzles.
+         */
+        GenerateTask(BoardModel.DifficultyLevel level, int count, SplittableRandom random,
+                     Consumer<? super BoardModel> sink) {
+            this.level = level;
+            this.count = count;
+            this.random = random;
+            this.sink = sink;
+        }
+
+        /**
+         * Builds the puzzles directly or splits the work into two halves.
+         */
+        @Override
+        protected void compute() {
+            if (count <= BATCH_SIZE) {
+                PuzzleBuilder builder = new PuzzleBuilder(random);
+                for (int i = 0; i < count; i++) {
+                    sink.accept(builder.build(level));
+                }
+                return;
+            }
+            int half = count / 2;
+            invokeAll(new GenerateTask(level, half, random.split(), sink),
+                    new GenerateTask(level, count - half, random, sink));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * The PuzzlePool class keeps a bounded queue of ready puzzles for one difficulty level.
+ * A single background thread refills the queue whenever it drops below the low-water mark,
+ * so taking a puzzle normally costs only a queue poll.
+ * </p>
+ * <p>
+ * If the pool is empty, for example right after start-up, the puzzle is built on the calling
+ * thread with a separate builder. The shared pools returned by {@link #forLevel(BoardModel.DifficultyLevel)}
+ * use daemon threads and live as long as the application.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class PuzzlePool implements AutoCloseable {
+
+    /**
+     * The default number of puzzles kept ready by a shared pool.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The default size below which a shared pool starts refilling.
+     */
+    public static final int DEFAULT_LOW_WATER_MARK = 4;
+
+    /**
+     * The shared pools, one per difficulty level.
+     */
+    private static final Map<BoardModel.DifficultyLevel, PuzzlePool> POOLS = new EnumMap<>(BoardModel.DifficultyLevel.class);
+
+    /**
+     * The difficulty level of the puzzles in this pool.
+     */
+    private final BoardModel.DifficultyLevel level;
+
+    /**
+     * The puzzles ready to be taken.
+     */
+    private final BlockingQueue<BoardModel> ready;
+
+    /**
+     * The queue size below which a refill is started.
+     */
+    private final int lowWaterMark;
+
+    /**
+     * The background thread building puzzles.
+     */
+    private final ExecutorService worker;
+
+    /**
+     * The builder used by the background thread only.
+     */
+    private final PuzzleBuilder builder = new PuzzleBuilder(new SplittableRandom());
+
+    /**
+     * Flag indicating whether a refill is scheduled or running.
+     */
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * Constructor creating a pool and starting to fill it in the background.
+     *
+     * @param level        the difficulty level of the puzzles.
+     * @param capacity     the maximum number of ready puzzles.
+     * @param lowWaterMark the queue size below which a refill is started.
+     */
+    public PuzzlePool(BoardModel.DifficultyLevel level, int capacity, int lowWaterMark) {
+        if (capacity < 1 || lowWaterMark < 0 || lowWaterMark > capacity) {
+            throw new IllegalArgumentException("Invalid pool size: capacity " + capacity + ", low-water mark " + lowWaterMark);
+        }
+        this.level = level;
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        this.lowWaterMark = lowWaterMark;
+        this.worker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "puzzle-pool-" + level);
+            thread.setDaemon(true);
+            return thread;
+        });
+        refill();
+    }
+
+    /**
+     * Returns the shared pool for the given difficulty level, creating it on first use.
+     *
+     * @param level the difficulty level of the puzzles.
+     * @return the shared pool for the level.
+     */
+    public static synchronized PuzzlePool forLevel(BoardModel.DifficultyLevel level) {
+        return POOLS.computeIfAbsent(level, l -> new PuzzlePool(l, DEFAULT_CAPACITY, DEFAULT_LOW_WATER_MARK));
+    }
+
+    /**
+     * Takes a ready puzzle from the pool and schedules a refill if the pool runs low.
+     * When no puzzle is ready, one is built on the calling thread.
+     *
+     * @return a new board model holding the puzzle; the caller becomes its only owner.
+     */
+    public BoardModel take() {
+        BoardModel puzzle = ready.poll();
+        if (ready.size() < lowWaterMark) {
+            refill();
+        }
+        if (puzzle == null) {
+            puzzle = new PuzzleBuilder(new SplittableRandom()).build(level);
+        }
+        return puzzle;
+    }
+
+    /**
+     * Returns the number of puzzles ready to be taken.
+     *
+     * @return the current size of the pool.
+     */
+    public int size() {
+        return ready.size();
+    }
+
+    /**
+     * Stops the background thread. Puzzles already in the pool can still be taken.
+     */
+    @Override
+    public void close() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Schedules a background refill unless one is already scheduled or running.
+     */
+    private void refill() {
+        if (worker.isShutdown() || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                while (ready.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                    ready.offer(builder.build(level));
+                }
+            } finally {
+                refilling.set(false);
+            }
+        });
+    }
+}
@@ -0,0 +1,513 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * <p>
+ * The PuzzleTransformer class derives new puzzles from verified ones without solving them again.
+ * Relabelling the digits, permuting the rows within a band, the bands, the columns within a stack
+ * and the stacks, and transposing the board all keep a puzzle valid, uniquely solvable and equally hard,
+ * since a person or a solver meets exactly the same deductions in the transformed puzzle.
+ * One 9x9 seed yields more than 10<sup>12</sup> puzzles this way, each in a few microseconds.
+ * </p>
+ * <p>
+ * The same transformations define when two puzzles are equivalent. {@link #canonicalize(Board, Board)}
+ * maps every puzzle to the smallest of its equivalent puzzles, read row by row with empty cells as 0,
+ * so two puzzles are equivalent exactly when their canonical forms are equal. The search runs over
+ * the 2 * 6<sup>4</sup> column orders and builds the rows of each one band by band, dropping a row order
+ * as soon as its first rows compare greater than the smallest form found so far. The digits are
+ * numbered in order of their first appearance, which is the smallest relabelling of any cell order.
+ * </p>
+ * <p>
+ * As the digits of a row differ, the first canonical row is numbered 1, 2, 3 and so on from left to right
+ * and depends only on which of its cells are empty. The smallest one comes from a source row whose stacks,
+ * sorted by their number of digits, hold the fewest digits, with its stacks in that order and the empty
+ * cells first in every stack. Only such first rows and column orders are searched further, which skips
+ * most of the search for puzzles; a complete grid, where every row qualifies, takes far longer.
+ * </p>
+ * <p>
+ * {@link #fingerprint(Board, long[])} hashes the canonical form to 128 bits, which a {@link FingerprintSet}
+ * keeps off the heap to reject duplicates among millions of generated puzzles.
+ * </p>
+ * <p>
+ * A transformer owns its random generator and its buffers, so it must be used by one thread at a time.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class PuzzleTransformer {
+
+    /**
+     * Every order of three lines or three boxes.
+     */
+    private static final int[][] TRIPLE_ORDERS = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+
+    /**
+     * Every order of the nine columns of a classic board that keeps the stacks together.
+     */
+    private static final int[][] LINE_ORDERS = lineOrders();
+
+    /**
+     * The value of a canonical cell not yet found, greater than any label.
+     */
+    private static final int UNSET = Integer.MAX_VALUE;
+
+    /**
+     * The number of bits of a canonical cell in the words hashed by {@link #fingerprint(Board, long[])}.
+     */
+    private static final int CELL_BITS = 4;
+
+    /**
+     * The number of canonical cells packed into one hashed word.
+     */
+    private static final int CELLS_PER_WORD = Long.SIZE / CELL_BITS;
+
+    /**
+     * The multiplier of the first half of a fingerprint, an odd constant with well mixed bits.
+     */
+    private static final long HIGH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The multiplier of the second half of a fingerprint, independent of {@link #HIGH_MULTIPLIER}.
+     */
+    private static final long LOW_MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The source of randomness for the transformations.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * The row of the source board read for each row of the transformed board.
+     */
+    private final int[] rowMap = new int[Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE];
+
+    /**
+     * The column of the source board read for each column of the transformed board.
+     */
+    private final int[] colMap = new int[Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE];
+
+    /**
+     * The new label of each digit, index 0 being the empty cell.
+     */
+    private final int[] digitMap = new int[Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE + 1];
+
+    /**
+     * The order of the bands or stacks while shuffling lines.
+     */
+    private final int[] boxOrder = new int[Board.MAX_BOX_SIZE];
+
+    /**
+     * The cells of the puzzle being canonicalized, row by row.
+     */
+    private final int[] grid = new int[Board.CELLS];
+
+    /**
+     * The cells of the transposed puzzle being canonicalized.
+     */
+    private final int[] transposed = new int[Board.CELLS];
+
+    /**
+     * The key of every row of the puzzle being canonicalized, then of every row of the transposed puzzle;
+     * see {@link #firstRowKey(int[], int)}.
+     */
+    private final int[] rowKeys = new int[2 * Board.SIZE];
+
+    /**
+     * The smallest key in {@link #rowKeys}, the key of every row that can become the first canonical row.
+     */
+    private int firstKey;
+
+    /**
+     * The smallest form found so far by {@link #canonicalize(Board, Board)}.
+     */
+    private final int[] best = new int[Board.CELLS];
+
+    /**
+     * The label of each digit after the rows placed at each depth of the canonical search.
+     */
+    private final int[][] labels = new int[Board.SIZE + 1][Board.SIZE + 1];
+
+    /**
+     * The next free label after the rows placed at each depth of the canonical search.
+     */
+    private final int[] nextLabel = new int[Board.SIZE + 1];
+
+    /**
+     * The cells read by the current branch of the canonical search.
+     */
+    private int[] source;
+
+    /**
+     * The column order of the current branch of the canonical search.
+     */
+    private int[] columns;
+
+    /**
+     * Constructor creating a transformer with the given random generator.
+     *
+     * @param random the random generator used by this transformer only.
+     */
+    public PuzzleTransformer(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Creates a random equivalent of a puzzle. The new puzzle keeps the difficulty level of the original
+     * and its cells are marked as givens.
+     *
+     * @param puzzle the puzzle to transform; it is not changed.
+     * @return a new board model holding the transformed puzzle.
+     */
+    public BoardModel transform(BoardModel puzzle) {
+        BoardModel transformed = new BoardModel(puzzle.getEngine().boxSize());
+        if (puzzle.getDifficultyLevel() != null) {
+            transformed.settingDifficultyLevel(puzzle.getDifficultyLevel());
+        }
+        transformed.settingUpBoard();
+        transform(puzzle.getEngine(), transformed.getEngine());
+        transformed.markGivens();
+        return transformed;
+    }
+
+    /**
+     * Writes a random equivalent of a puzzle into another board without allocating.
+     *
+     * @param source the puzzle to transform; it is not changed.
+     * @param target the board receiving the transformed puzzle; its previous cells are cleared.
+     * @throws IllegalArgumentException if the boards have different sizes.
+     */
+    public void transform(Board source, Board target) {
+        int size = source.size();
+        if (target.size() != size) {
+            throw new IllegalArgumentException("Board sizes differ: " + size + " and " + target.size());
+        }
+        shuffleLines(rowMap, source.boxSize());
+        shuffleLines(colMap, source.boxSize());
+        for (int digit = 1; digit <= size; digit++) {
+            digitMap[digit] = digit;
+        }
+        shuffle(digitMap, 1, size);
+        boolean transpose = random.nextBoolean();
+
+        target.reset();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = transpose
+                        ? source.get(colMap[col], rowMap[row])
+                        : source.get(rowMap[row], colMap[col]);
+                if (value != 0) {
+                    target.set(row, col, digitMap[value]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Derives puzzles from a set of seed puzzles, taking the seeds in turn.
+     * The seeds should be verified puzzles with a unique solution; the derived puzzles are
+     * then uniquely solvable too and keep the difficulty level of their seed.
+     *
+     * @param seeds the puzzles to derive from; they are not changed.
+     * @param count the number of puzzles to derive.
+     * @param sink  the consumer receiving every derived puzzle.
+     * @throws IllegalArgumentException if puzzles are requested from an empty seed set.
+     */
+    public void multiply(List<? extends BoardModel> seeds, int count, Consumer<? super BoardModel> sink) {
+        if (count > 0 && seeds.isEmpty()) {
+            throw new IllegalArgumentException("No seed puzzles to derive from");
+        }
+        for (int i = 0; i < count; i++) {
+            sink.accept(transform(seeds.get(i % seeds.size())));
+        }
+    }
+
+    /**
+     * Writes the canonical form of a puzzle into another board: the smallest equivalent puzzle
+     * read row by row, so equivalent puzzles get the same canonical form.
+     *
+     * @param puzzle the 9x9 puzzle to canonicalize; it is not changed.
+     * @param target the 9x9 board receiving the canonical form; its previous cells are cleared.
+     * @throws IllegalArgumentException if one of the boards is not a classic 9x9 board.
+     */
+    public void canonicalize(Board puzzle, Board target) {
+        if (target.size() != Board.SIZE) {
+            throw new IllegalArgumentException("Only 9x9 boards hold canonical forms, not " + target.size() + "x" + target.size());
+        }
+        canonicalize(puzzle);
+        target.reset();
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            if (best[cell] != 0) {
+                target.set(cell / Board.SIZE, cell % Board.SIZE, best[cell]);
+            }
+        }
+    }
+
+    /**
+     * Computes the 128-bit fingerprint of the canonical form of a puzzle, so equivalent puzzles get
+     * the same fingerprint and different ones collide only by chance, which 127 hashed bits make negligible
+     * even among billions of puzzles. The lowest bit of the second half is always set, so a fingerprint
+     * is never all zeros.
+     *
+     * @param puzzle      the 9x9 puzzle; it is not changed.
+     * @param fingerprint the array receiving the first half of the fingerprint at index 0 and the second at index 1.
+     * @throws IllegalArgumentException if the puzzle is not a classic 9x9 board.
+     */
+    public void fingerprint(Board puzzle, long[] fingerprint) {
+        canonicalize(puzzle);
+        long high = HIGH_MULTIPLIER;
+        long low = LOW_MULTIPLIER;
+        for (int start = 0; start < Board.CELLS; start += CELLS_PER_WORD) {
+            long word = 0;
+            for (int cell = start; cell < Math.min(start + CELLS_PER_WORD, Board.CELLS); cell++) {
+                word = word << CELL_BITS | best[cell];
+            }
+            high = Long.rotateLeft(high ^ mix(word * HIGH_MULTIPLIER), 27) * 5 + 0x52DCE729;
+            low = Long.rotateLeft(low ^ mix(word * LOW_MULTIPLIER), 31) * 5 + 0x38495AB5;
+        }
+        fingerprint[0] = mix(high + low);
+        fingerprint[1] = mix(low + Board.CELLS) | 1;
+    }
+
+    /**
+     * Spreads every bit of a word over all bits of the result with the finalizer of MurmurHash3.
+     *
+     * @param word the word to mix.
+     * @return the mixed word.
+     */
+    private static long mix(long word) {
+        word = (word ^ (word >>> 33)) * 0xFF51AFD7ED558CCDL;
+        word = (word ^ (word >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return word ^ (word >>> 33);
+    }
+
+    /**
+     * Finds the canonical form of a puzzle and leaves it in {@link #best}.
+     *
+     * @param puzzle the 9x9 puzzle to canonicalize.
+     * @throws IllegalArgumentException if the puzzle is not a classic 9x9 board.
+     */
+    private void canonicalize(Board puzzle) {
+        if (puzzle.size() != Board.SIZE) {
+            throw new IllegalArgumentException("Only 9x9 puzzles can be canonicalized, not " + puzzle.size() + "x" + puzzle.size());
+        }
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                int value = puzzle.get(row, col);
+                grid[row * Board.SIZE + col] = value;
+                transposed[col * Board.SIZE + row] = value;
+            }
+        }
+        firstKey = Integer.MAX_VALUE;
+        for (int row = 0; row < Board.SIZE; row++) {
+            rowKeys[row] = firstRowKey(grid, row);
+            rowKeys[Board.SIZE + row] = firstRowKey(transposed, row);
+            firstKey = Math.min(firstKey, Math.min(rowKeys[row], rowKeys[Board.SIZE + row]));
+        }
+        int firstPattern = 0;
+        for (int stack = 0; stack < Board.BOX_SIZE; stack++) {
+            int count = (firstKey >>> (2 * (Board.BOX_SIZE - 1 - stack))) & 3;
+            firstPattern |= ((1 << count) - 1) << ((stack + 1) * Board.BOX_SIZE - count);
+        }
+        Arrays.fill(best, UNSET);
+        Arrays.fill(labels[0], 0);
+        nextLabel[0] = 1;
+        for (int key = 0; key < rowKeys.length; key++) {
+            if (rowKeys[key] != firstKey) {
+                continue;
+            }
+            source = key < Board.SIZE ? grid : transposed;
+            int row = key % Board.SIZE;
+            for (int[] order : LINE_ORDERS) {
+                if (filledPattern(source, row, order) == firstPattern) {
+                    columns = order;
+                    compareRow(0, row);
+                    placeRow(1, 1 << row, row / Board.BOX_SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns which cells of a row hold a digit when its columns are read in the given order.
+     *
+     * @param cells the cells of the puzzle, row by row.
+     * @param row   the row.
+     * @param order the column order.
+     * @return a mask with bit {@code i} set if the {@code i}-th column read holds a digit.
+     */
+    private static int filledPattern(int[] cells, int row, int[] order) {
+        int pattern = 0;
+        for (int col = 0; col < Board.SIZE; col++) {
+            if (cells[row * Board.SIZE + order[col]] != 0) {
+                pattern |= 1 << col;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Returns the numbers of digits in the three stacks of a row, sorted ascending and packed
+     * two bits each with the smallest count highest. A smaller key gives a smaller first canonical row.
+     *
+     * @param cells the cells of the puzzle, row by row.
+     * @param row   the row.
+     * @return the key of the row.
+     */
+    private static int firstRowKey(int[] cells, int row) {
+        int first = 0;
+        int second = 0;
+        int third = 0;
+        for (int col = 0; col < Board.BOX_SIZE; col++) {
+            first += cells[row * Board.SIZE + col] != 0 ? 1 : 0;
+            second += cells[row * Board.SIZE + Board.BOX_SIZE + col] != 0 ? 1 : 0;
+            third += cells[row * Board.SIZE + 2 * Board.BOX_SIZE + col] != 0 ? 1 : 0;
+        }
+        int smallest = Math.min(first, Math.min(second, third));
+        int largest = Math.max(first, Math.max(second, third));
+        int middle = first + second + third - smallest - largest;
+        return smallest << 4 | middle << 2 | largest;
+    }
+
+    /**
+     * Tries every row allowed at a depth of the canonical search and continues with the next depth
+     * while the rows placed so far do not compare greater than the smallest form found so far.
+     * The first row of a band may come from any unused band, the other two only from the same band.
+     *
+     * @param depth    the row of the canonical form being placed.
+     * @param usedRows the mask of the source rows already placed.
+     * @param band     the band of the rows being placed, or -1 at the start of a band.
+     */
+    private void placeRow(int depth, int usedRows, int band) {
+        if (depth == Board.SIZE) {
+            return;
+        }
+        int first = band < 0 ? 0 : band * Board.BOX_SIZE;
+        int last = band < 0 ? Board.SIZE : first + Board.BOX_SIZE;
+        for (int row = first; row < last; row++) {
+            if ((usedRows & (1 << row)) != 0
+                    || (band < 0 && (usedRows & (((1 << Board.BOX_SIZE) - 1) << (row - row % Board.BOX_SIZE))) != 0)) {
+                continue;
+            }
+            if (compareRow(depth, row) <= 0) {
+                int nextBand = (depth + 1) % Board.BOX_SIZE == 0 ? -1 : row / Board.BOX_SIZE;
+                placeRow(depth + 1, usedRows | (1 << row), nextBand);
+            }
+        }
+    }
+
+    /**
+     * Relabels a source row as the row of the canonical form at a depth and compares it with the same row
+     * of the smallest form found so far. A smaller row replaces that row and clears the rows below it,
+     * whose smallest completion is not known yet. The labels after the row are kept for the next depth.
+     *
+     * @param depth the row of the canonical form.
+     * @param row   the source row placed at that depth.
+     * @return a negative number if the row is smaller, 0 if equal, a positive number if greater.
+     */
+    private int compareRow(int depth, int row) {
+        int[] label = labels[depth + 1];
+        System.arraycopy(labels[depth], 0, label, 0, label.length);
+        int next = nextLabel[depth];
+        int offset = depth * Board.SIZE;
+        int sourceOffset = row * Board.SIZE;
+        int compare = 0;
+        for (int col = 0; col < Board.SIZE; col++) {
+            int value = source[sourceOffset + columns[col]];
+            if (value != 0) {
+                if (label[value] == 0) {
+                    label[value] = next++;
+                }
+                value = label[value];
+            }
+            if (compare == 0) {
+                compare = Integer.compare(value, best[offset + col]);
+                if (compare > 0) {
+                    return compare;
+                }
+            }
+            if (compare < 0) {
+                best[offset + col] = value;
+            }
+        }
+        if (compare < 0) {
+            Arrays.fill(best, offset + Board.SIZE, Board.CELLS, UNSET);
+        }
+        nextLabel[depth + 1] = next;
+        return compare;
+    }
+
+    /**
+     * Fills a line map with a random order that keeps the boxes together: the bands or stacks are shuffled,
+     * and so are the lines within each of them.
+     *
+     * @param map     the map receiving the source line of every line.
+     * @param boxSize the number of lines in a band or stack.
+     */
+    private void shuffleLines(int[] map, int boxSize) {
+        for (int box = 0; box < boxSize; box++) {
+            boxOrder[box] = box;
+        }
+        shuffle(boxOrder, 0, boxSize);
+        for (int box = 0; box < boxSize; box++) {
+            int offset = box * boxSize;
+            for (int line = 0; line < boxSize; line++) {
+                map[offset + line] = boxOrder[box] * boxSize + line;
+            }
+            shuffle(map, offset, boxSize);
+        }
+    }
+
+    /**
+     * Shuffles a range of an array with the Fisher-Yates algorithm.
+     *
+     * @param values the array to shuffle.
+     * @param from   the index of the first element of the range.
+     * @param length the number of elements in the range.
+     */
+    private void shuffle(int[] values, int from, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[from + i];
+            values[from + i] = values[from + j];
+            values[from + j] = swap;
+        }
+    }
+
+    /**
+     * Lists every order of the columns of a classic board that keeps the stacks together:
+     * the stacks in any order and the columns of each stack in any order.
+     *
+     * @return the 6<sup>4</sup> column orders.
+     */
+    private static int[][] lineOrders() {
+        int[][] orders = new int[TRIPLE_ORDERS.length * TRIPLE_ORDERS.length * TRIPLE_ORDERS.length * TRIPLE_ORDERS.length][];
+        int index = 0;
+        for (int[] stacks : TRIPLE_ORDERS) {
+            for (int[] first : TRIPLE_ORDERS) {
+                for (int[] second : TRIPLE_ORDERS) {
+                    for (int[] third : TRIPLE_ORDERS) {
+                        int[][] inner = {first, second, third};
+                        int[] order = new int[Board.SIZE];
+                        for (int stack = 0; stack < Board.BOX_SIZE; stack++) {
+                            for (int col = 0; col < Board.BOX_SIZE; col++) {
+                                order[stack * Board.BOX_SIZE + col] = stacks[stack] * Board.BOX_SIZE + inner[stack][col];
+                            }
+                        }
+                        orders[index++] = order;
+                    }
+                }
+            }
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * This package contains the puzzle generators for the Sudoku game.
+ * The generators build complete grids and remove cells while keeping
+ * a single solution, without depending on any view.
+ *
+ * <h2>Generators:</h2>
+ * <ul>
+ *     <li>PuzzleBuilder: Builds single puzzles with its own random generator and solver.</li>
+ *     <li>PuzzleGenerator: Generates batches of puzzles in parallel on a fork-join pool.</li>
+ *     <li>PuzzlePool: Keeps ready puzzles per difficulty level and refills them in the background.</li>
+ *     <li>PuzzleTransformer: Derives equivalent puzzles by symmetry transformations and finds their canonical form.</li>
+ *     <li>FingerprintSet: Keeps the fingerprints of canonical puzzles off the heap to reject duplicates.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
@@ -0,0 +1,504 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.metrics.Metrics;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>
+ * BinaryGameHistoryRepository stores the game history in two append-only files inside a directory.
+ * {@code history.bin} starts with an 8-byte header followed by fixed-width 10-byte records:
+ * the user id (int), the epoch day of the game (int), the difficulty level (byte) and
+ * the status (byte, 1 for solved). {@code users.bin} interns the usernames as a sequence of
+ * length-prefixed UTF-8 strings, the position of a name being its id.
+ * </p>
+ * <p>
+ * The record count follows from the file length, so opening the history does not read the records.
+ * Ranges of records are read through memory-mapped buffers. A record torn by a crash is
+ * dropped when the repository is opened.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class BinaryGameHistoryRepository implements GameHistoryRepository {
+
+    /**
+     * The system property selecting the directory of the history files.
+     */
+    public static final String DATA_DIRECTORY_PROPERTY = "sudoku.data.dir";
+
+    /**
+     * The system property selecting the text history migrated on first start.
+     */
+    public static final String LEGACY_FILE_PROPERTY = "sudoku.history.file";
+
+    /**
+     * The location of the text history written by earlier versions of the game.
+     */
+    public static final String LEGACY_FILE = "src/main/java/pl/polsl/lab/bartosz/sosnica/sudoku/resources/gamehistory.txt";
+
+    /**
+     * The name of the file holding the records.
+     */
+    static final String HISTORY_FILE = "history.bin";
+
+    /**
+     * The name of the file holding the interned usernames.
+     */
+    static final String USERS_FILE = "users.bin";
+
+    /**
+     * The name of the directory, inside the history directory, in which the text history is migrated
+     * before its files are moved into place.
+     */
+    static final String MIGRATION_DIRECTORY = "migration";
+
+    /**
+     * The magic number at the start of the history file ("SDKH").
+     */
+    private static final int MAGIC = 0x53444B48;
+
+    /**
+     * The version of the record format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the history file header in bytes.
+     */
+    static final int HEADER_SIZE = 8;
+
+    /**
+     * The size of one record in bytes.
+     */
+    static final int RECORD_SIZE = 10;
+
+    /**
+     * The difficulty byte stored when no difficulty level was chosen.
+     */
+    private static final byte NO_DIFFICULTY = (byte) 0xFF;
+
+    /**
+     * The size of the buffer used when migrating the text history.
+     */
+    private static final int MIGRATION_BUFFER_SIZE = RECORD_SIZE * 4096;
+
+    /**
+     * The number of records read at once when replaying the history to a listener.
+     */
+    private static final int REPLAY_PAGE_SIZE = 4096;
+
+    /**
+     * The shared repository at the default location.
+     */
+    private static BinaryGameHistoryRepository defaultRepository;
+
+    /**
+     * The channel of the record file.
+     */
+    private final FileChannel history;
+
+    /**
+     * The channel of the username file.
+     */
+    private final FileChannel users;
+
+    /**
+     * The interned usernames indexed by id.
+     */
+    private final List<String> usernames = new ArrayList<>();
+
+    /**
+     * The ids of the interned usernames.
+     */
+    private final Map<String, Integer> userIds = new HashMap<>();
+
+    /**
+     * The buffer reused to encode appended records.
+     */
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE);
+
+    /**
+     * The listeners receiving appended records.
+     */
+    private final List<Consumer<? super GameRecord>> listeners = new ArrayList<>();
+
+    /**
+     * The number of records in the history.
+     */
+    private long size;
+
+    /**
+     * Constructor opening the history in the given directory, creating empty files if needed.
+     *
+     * @param directory the directory holding the history files.
+     * @throws IOException if the files cannot be opened or are not history files.
+     */
+    public BinaryGameHistoryRepository(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        history = FileChannel.open(directory.resolve(HISTORY_FILE), READ, WRITE, CREATE);
+        users = FileChannel.open(directory.resolve(USERS_FILE), READ, WRITE, CREATE);
+        try {
+            initializeHeader();
+            loadUsernames();
+            size = (history.size() - HEADER_SIZE) / RECORD_SIZE;
+            history.truncate(HEADER_SIZE + size * RECORD_SIZE);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the history in the given directory. When the directory holds no history yet,
+     * the records of the text history are migrated into it once.
+     * <p>
+     * The migration is written to a separate directory first. The username file is then moved into place,
+     * and the record file last, so the history only exists once the migration is complete.
+     * A migration interrupted by a crash leaves no record file and is started over on the next start.
+     * </p>
+     *
+     * @param directory      the directory holding the history files.
+     * @param legacyTextFile the text history to migrate, or null to skip the migration.
+     * @return the opened repository.
+     * @throws IOException if the history cannot be opened or migrated.
+     */
+    public static BinaryGameHistoryRepository open(Path directory, Path legacyTextFile) throws IOException {
+        Path historyFile = directory.resolve(HISTORY_FILE);
+        if (!Files.exists(historyFile) && legacyTextFile != null && Files.isRegularFile(legacyTextFile)) {
+            Path staging = directory.resolve(MIGRATION_DIRECTORY);
+            Files.deleteIfExists(staging.resolve(HISTORY_FILE));
+            Files.deleteIfExists(staging.resolve(USERS_FILE));
+            try (BinaryGameHistoryRepository migration = new BinaryGameHistoryRepository(staging)) {
+                migration.migrateFromText(legacyTextFile);
+                migration.users.force(true);
+                migration.history.force(true);
+            }
+            Files.move(staging.resolve(USERS_FILE), directory.resolve(USERS_FILE), ATOMIC_MOVE, REPLACE_EXISTING);
+            Files.move(staging.resolve(HISTORY_FILE), historyFile, ATOMIC_MOVE);
+            Files.delete(staging);
+        }
+        return new BinaryGameHistoryRepository(directory);
+    }
+
+    /**
+     * Returns the shared repository at the default location, opening it on first use.
+     *
+     * @return the shared repository.
+     * @throws IOException if the history cannot be opened.
+     */
+    public static synchronized BinaryGameHistoryRepository getDefault() throws IOException {
+        if (defaultRepository == null) {
+            defaultRepository = open(defaultDirectory(), legacyTextFile());
+        }
+        return defaultRepository;
+    }
+
+    /**
+     * Returns the default directory of the history files: the {@code sudoku.data.dir}
+     * system property, or {@code .sudoku-game} in the user's home directory.
+     *
+     * @return the default directory.
+     */
+    public static Path defaultDirectory() {
+        String directory = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        return directory != null ? Path.of(directory) : Path.of(System.getProperty("user.home"), ".sudoku-game");
+    }
+
+    /**
+     * Returns the text history migrated on first start: the {@code sudoku.history.file}
+     * system property, or the file used by earlier versions of the game.
+     *
+     * @return the path of the text history.
+     */
+    public static Path legacyTextFile() {
+        return Path.of(System.getProperty(LEGACY_FILE_PROPERTY, LEGACY_FILE));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void append(GameRecord record) throws IOException {
+        long start = Metrics.startTime();
+        recordBuffer.clear();
+        encode(record, recordBuffer);
+        recordBuffer.flip();
+        writeFully(history, recordBuffer, HEADER_SIZE + size * RECORD_SIZE);
+        size++;
+        Metrics.HISTORY_APPEND.recordSince(start);
+        for (Consumer<? super GameRecord> listener : listeners) {
+            listener.accept(record);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<GameRecord> read(long first, int count) throws IOException {
+        if (first < 0 || count < 0) {
+            throw new IllegalArgumentException("Invalid record range: " + first + ", " + count);
+        }
+        long last = Math.min(size, first + count);
+        if (first >= last) {
+            return List.of();
+        }
+        long start = Metrics.startTime();
+        MappedByteBuffer buffer = history.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_SIZE + first * RECORD_SIZE, (last - first) * RECORD_SIZE);
+        List<GameRecord> records = new ArrayList<>((int) (last - first));
+        while (buffer.hasRemaining()) {
+            records.add(decode(buffer));
+        }
+        Metrics.HISTORY_READ.recordSince(start);
+        return records;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void subscribe(long first, Consumer<? super GameRecord> listener) throws IOException {
+        for (long position = first; position < size; position += REPLAY_PAGE_SIZE) {
+            read(position, REPLAY_PAGE_SIZE).forEach(listener);
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Closes both history files.
+     *
+     * @throws IOException if a file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try (users) {
+            history.close();
+        }
+    }
+
+    /**
+     * Appends the records of a text history written as "username date difficulty status" lines.
+     * The last three fields are taken from the end of the line, so usernames may contain spaces.
+     * Lines that cannot be parsed are skipped.
+     *
+     * @param textFile the text history to migrate.
+     * @return the number of migrated records.
+     * @throws IOException if the text history cannot be read or the records cannot be written.
+     */
+    public synchronized long migrateFromText(Path textFile) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(MIGRATION_BUFFER_SIZE);
+        long migrated = 0;
+        try (BufferedReader reader = Files.newBufferedReader(textFile, Charset.defaultCharset())) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                GameRecord record = parseTextLine(line);
+                if (record == null) {
+                    continue;
+                }
+                if (buffer.remaining() < RECORD_SIZE) {
+                    flushMigration(buffer);
+                }
+                encode(record, buffer);
+                migrated++;
+            }
+        }
+        flushMigration(buffer);
+        return migrated;
+    }
+
+    /**
+     * Parses one line of the text history.
+     *
+     * @param line the line to parse.
+     * @return the parsed record, or null if the line is malformed.
+     */
+    static GameRecord parseTextLine(String line) {
+        String trimmed = line.trim();
+        int statusStart = trimmed.lastIndexOf(' ');
+        int difficultyStart = statusStart > 0 ? trimmed.lastIndexOf(' ', statusStart - 1) : -1;
+        int dateStart = difficultyStart > 0 ? trimmed.lastIndexOf(' ', difficultyStart - 1) : -1;
+        if (dateStart <= 0) {
+            return null;
+        }
+        try {
+            String username = trimmed.substring(0, dateStart).trim();
+            LocalDate date = LocalDate.parse(trimmed.substring(dateStart + 1, difficultyStart));
+            String difficulty = trimmed.substring(difficultyStart + 1, statusStart);
+            BoardModel.DifficultyLevel level = difficulty.equals("null") ? null : BoardModel.DifficultyLevel.valueOf(difficulty);
+            boolean solved = trimmed.substring(statusStart + 1).equals("Solved");
+            return new GameRecord(username, date, level, solved);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the encoded records of the migration buffer to the end of the record file and clears it.
+     *
+     * @param buffer the buffer holding encoded records.
+     * @throws IOException if the records cannot be written.
+     */
+    private void flushMigration(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        int records = buffer.remaining() / RECORD_SIZE;
+        writeFully(history, buffer, HEADER_SIZE + size * RECORD_SIZE);
+        buffer.clear();
+        size += records;
+    }
+
+    /**
+     * Encodes a record into the buffer, interning its username.
+     *
+     * @param record the record to encode.
+     * @param buffer the buffer receiving {@link #RECORD_SIZE} bytes.
+     * @throws IOException if a new username cannot be written.
+     */
+    private void encode(GameRecord record, ByteBuffer buffer) throws IOException {
+        buffer.putInt(intern(record.username()));
+        buffer.putInt((int) record.date().toEpochDay());
+        buffer.put(record.difficultyLevel() == null ? NO_DIFFICULTY : (byte) record.difficultyLevel().ordinal());
+        buffer.put((byte) (record.solved() ? 1 : 0));
+    }
+
+    /**
+     * Decodes the record at the buffer's position. An unknown user id decodes to an empty username
+     * and an unknown difficulty level to none, so one damaged record does not stop the history from being read.
+     *
+     * @param buffer the buffer holding the record.
+     * @return the decoded record.
+     */
+    private GameRecord decode(ByteBuffer buffer) {
+        int userId = buffer.getInt();
+        int epochDay = buffer.getInt();
+        byte difficulty = buffer.get();
+        byte status = buffer.get();
+        String username = userId >= 0 && userId < usernames.size() ? usernames.get(userId) : "";
+        BoardModel.DifficultyLevel[] levels = BoardModel.DifficultyLevel.values();
+        BoardModel.DifficultyLevel level = difficulty >= 0 && difficulty < levels.length ? levels[difficulty] : null;
+        return new GameRecord(username, LocalDate.ofEpochDay(epochDay), level, status == 1);
+    }
+
+    /**
+     * Returns the id of a username, appending it to the username file when it is new.
+     *
+     * @param username the username to intern.
+     * @return the id of the username.
+     * @throws IOException if a new username cannot be written.
+     */
+    private int intern(String username) throws IOException {
+        String name = username == null ? "" : username;
+        Integer id = userIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Username is too long to store: " + bytes.length + " bytes");
+        }
+        ByteBuffer entry = ByteBuffer.allocate(Short.BYTES + bytes.length);
+        entry.putShort((short) bytes.length).put(bytes).flip();
+        writeFully(users, entry, users.size());
+
+        int newId = usernames.size();
+        usernames.add(name);
+        userIds.put(name, newId);
+        return newId;
+    }
+
+    /**
+     * Writes the header of a new record file or checks the header of an existing one.
+     *
+     * @throws IOException if the file is not a history file of a supported version.
+     */
+    private void initializeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (history.size() < HEADER_SIZE) {
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(history, header, 0);
+            history.truncate(HEADER_SIZE);
+            return;
+        }
+        while (header.hasRemaining() && history.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a game history file of version " + VERSION);
+        }
+    }
+
+    /**
+     * Reads all interned usernames. A name or length prefix torn by a crash is dropped,
+     * so the next name is appended where the last complete one ends.
+     *
+     * @throws IOException if the username file cannot be read.
+     */
+    private void loadUsernames() throws IOException {
+        long length = users.size();
+        if (length == 0) {
+            return;
+        }
+        MappedByteBuffer buffer = users.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            int nameLength = buffer.remaining() < Short.BYTES ? -1 : buffer.getShort();
+            if (nameLength < 0 || buffer.remaining() < nameLength) {
+                users.truncate(start);
+                break;
+            }
+            byte[] bytes = new byte[nameLength];
+            buffer.get(bytes);
+            String name = new String(bytes, StandardCharsets.UTF_8);
+            userIds.putIfAbsent(name, usernames.size());
+            usernames.add(name);
+        }
+    }
+
+    /**
+     * Writes the whole buffer at the given file position.
+     *
+     * @param channel  the channel to write to.
+     * @param buffer   the buffer to write.
+     * @param position the file position of the first byte.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * The GameHistoryRepository interface describes the storage of played games.
+ * Records are only ever appended and are addressed by their position, starting at 0.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public interface GameHistoryRepository extends Closeable {
+
+    /**
+     * Appends a record to the end of the history.
+     *
+     * @param record the record to append.
+     * @throws IOException if the record cannot be written.
+     */
+    void append(GameRecord record) throws IOException;
+
+    /**
+     * Returns the number of records in the history.
+     *
+     * @return the record count.
+     */
+    long size();
+
+    /**
+     * Reads a range of records.
+     *
+     * @param first the position of the first record to read.
+     * @param count the maximum number of records to read.
+     * @return the records found in the range; fewer than {@code count} near the end of the history.
+     * @throws IOException if the records cannot be read.
+     */
+    List<GameRecord> read(long first, int count) throws IOException;
+
+    /**
+     * Passes the records from the given position to the listener and then keeps passing
+     * every appended record to it. No record is missed or delivered twice between the two steps.
+     *
+     * @param first    the position of the first record to replay.
+     * @param listener the listener receiving the records in order.
+     * @throws IOException if the existing records cannot be read.
+     */
+    void subscribe(long first, Consumer<? super GameRecord> listener) throws IOException;
+}
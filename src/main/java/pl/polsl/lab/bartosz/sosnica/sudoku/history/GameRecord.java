@@ -0,0 +1,29 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.time.LocalDate;
+
+/**
+ * <p>
+ * Record representing one finished or abandoned game in the game history.
+ * </p>
+ *
+ * @param username        the name of the player.
+ * @param date            the day the game was played.
+ * @param difficultyLevel the difficulty level of the game, or null if it was never chosen.
+ * @param solved          true if the player solved the puzzle, false otherwise.
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public record GameRecord(String username, LocalDate date, BoardModel.DifficultyLevel difficultyLevel, boolean solved) {
+
+    /**
+     * Returns the status of the game in the form used by {@link BoardModel#getStatus()}.
+     *
+     * @return "Solved" or "Unsolved".
+     */
+    public String status() {
+        return solved ? "Solved" : "Unsolved";
+    }
+}
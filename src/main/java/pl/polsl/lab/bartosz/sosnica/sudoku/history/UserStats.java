@@ -0,0 +1,44 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
+
+/**
+ * <p>
+ * Record holding the aggregated results of one player on one difficulty level.
+ * </p>
+ *
+ * @param played        the number of games played.
+ * @param solved        the number of games solved.
+ * @param currentStreak the number of games solved in a row up to the last game.
+ * @param bestStreak    the longest number of games solved in a row.
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public record UserStats(int played, int solved, int currentStreak, int bestStreak) {
+
+    /**
+     * The statistics of a player who has not played yet.
+     */
+    public static final UserStats EMPTY = new UserStats(0, 0, 0, 0);
+
+    /**
+     * Returns the statistics after one more game.
+     *
+     * @param solvedGame true if the game was solved.
+     * @return the updated statistics.
+     */
+    public UserStats next(boolean solvedGame) {
+        if (!solvedGame) {
+            return new UserStats(played + 1, solved, 0, bestStreak);
+        }
+        int streak = currentStreak + 1;
+        return new UserStats(played + 1, solved + 1, streak, Math.max(bestStreak, streak));
+    }
+
+    /**
+     * Returns the share of solved games.
+     *
+     * @return the win rate between 0 and 1, or 0 if no game was played.
+     */
+    public double winRate() {
+        return played == 0 ? 0 : (double) solved / played;
+    }
+}
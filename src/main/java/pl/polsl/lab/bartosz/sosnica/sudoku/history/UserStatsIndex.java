@@ -0,0 +1,316 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>
+ * UserStatsIndex keeps the {@link UserStats} of every player and difficulty level,
+ * so a player's results can be looked up without reading the history.
+ * The index subscribes to a {@link GameHistoryRepository} and updates the statistics
+ * of a player each time one of their games is appended.
+ * </p>
+ * <p>
+ * The statistics are saved in a snapshot file together with the number of records they cover.
+ * On start the snapshot is loaded and only the records appended after it are replayed.
+ * A snapshot is written again after every {@value #SNAPSHOT_INTERVAL} new records and when
+ * the index is closed; a lost snapshot only makes the next start replay more records.
+ * Games saved without a difficulty level are not counted.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class UserStatsIndex implements Closeable {
+
+    /**
+     * The name of the snapshot file in the data directory.
+     */
+    public static final String SNAPSHOT_FILE = "stats.bin";
+
+    /**
+     * The number of new records after which a snapshot is written.
+     */
+    static final int SNAPSHOT_INTERVAL = 1024;
+
+    /**
+     * The magic number at the start of the snapshot file ("SDKS").
+     */
+    private static final int MAGIC = 0x53444B53;
+
+    /**
+     * The version of the snapshot format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the snapshot header: magic, version, record count and entry count.
+     */
+    private static final int HEADER_SIZE = 20;
+
+    /**
+     * The size of one entry without its username: the level and four counters.
+     */
+    private static final int ENTRY_SIZE = 1 + 4 * Integer.BYTES;
+
+    /**
+     * The largest number of bytes of a username in the snapshot, stored as an unsigned short.
+     */
+    static final int MAX_NAME_BYTES = 0xFFFF;
+
+    /**
+     * The difficulty levels, indexed by ordinal.
+     */
+    private static final BoardModel.DifficultyLevel[] LEVELS = BoardModel.DifficultyLevel.values();
+
+    /**
+     * The shared index of the default game history.
+     */
+    private static UserStatsIndex defaultIndex;
+
+    /**
+     * The file the snapshots are written to, or null to keep the index in memory only.
+     */
+    private final Path snapshotFile;
+
+    /**
+     * The statistics of every player, indexed by the ordinal of the difficulty level.
+     */
+    private final Map<String, UserStats[]> stats = new HashMap<>();
+
+    /**
+     * The number of history records included in the statistics.
+     */
+    private long recordCount;
+
+    /**
+     * The number of history records included in the last snapshot.
+     */
+    private long snapshotCount;
+
+    /**
+     * Constructor building the index of the given history. The snapshot is loaded
+     * if it exists and matches the history; the remaining records are replayed.
+     *
+     * @param history      the history to index.
+     * @param snapshotFile the snapshot file, or null to keep the index in memory only.
+     * @throws IOException if the history cannot be read.
+     */
+    public UserStatsIndex(GameHistoryRepository history, Path snapshotFile) throws IOException {
+        this.snapshotFile = snapshotFile;
+        if (snapshotFile != null && Files.isRegularFile(snapshotFile)) {
+            loadSnapshot(history.size());
+        }
+        history.subscribe(recordCount, this::add);
+        if (recordCount - snapshotCount >= SNAPSHOT_INTERVAL) {
+            save();
+        }
+    }
+
+    /**
+     * Returns the shared index of the default game history, building it on first use.
+     * The shared index is closed when the application exits, so the next start replays no records.
+     *
+     * @return the shared index.
+     * @throws IOException if the history cannot be read.
+     */
+    public static synchronized UserStatsIndex getDefault() throws IOException {
+        if (defaultIndex == null) {
+            UserStatsIndex index = new UserStatsIndex(BinaryGameHistoryRepository.getDefault(),
+                    BinaryGameHistoryRepository.defaultDirectory().resolve(SNAPSHOT_FILE));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    index.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, "stats-snapshot"));
+            defaultIndex = index;
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Returns the statistics of a player on one difficulty level.
+     *
+     * @param username the name of the player.
+     * @param level    the difficulty level.
+     * @return the statistics, {@link UserStats#EMPTY} if the player has no games on the level.
+     */
+    public synchronized UserStats get(String username, BoardModel.DifficultyLevel level) {
+        UserStats[] userStats = stats.get(username);
+        if (userStats == null || userStats[level.ordinal()] == null) {
+            return UserStats.EMPTY;
+        }
+        return userStats[level.ordinal()];
+    }
+
+    /**
+     * Returns the statistics of a player on every difficulty level.
+     *
+     * @param username the name of the player.
+     * @return the statistics by difficulty level, {@link UserStats#EMPTY} for levels without games.
+     */
+    public synchronized Map<BoardModel.DifficultyLevel, UserStats> get(String username) {
+        Map<BoardModel.DifficultyLevel, UserStats> result = new EnumMap<>(BoardModel.DifficultyLevel.class);
+        for (BoardModel.DifficultyLevel level : LEVELS) {
+            result.put(level, get(username, level));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of history records included in the statistics.
+     *
+     * @return the record count.
+     */
+    public synchronized long recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes a snapshot of the statistics. The file is replaced atomically,
+     * so a crash leaves either the old or the new snapshot.
+     *
+     * @throws IOException if the snapshot cannot be written or a username is longer than {@value #MAX_NAME_BYTES} bytes.
+     */
+    public synchronized void save() throws IOException {
+        if (snapshotFile == null) {
+            return;
+        }
+        List<byte[]> names = new ArrayList<>(stats.size());
+        int length = HEADER_SIZE;
+        int entries = 0;
+        for (Map.Entry<String, UserStats[]> user : stats.entrySet()) {
+            byte[] name = user.getKey().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IOException("Username is too long to store: " + name.length + " bytes");
+            }
+            names.add(name);
+            for (UserStats levelStats : user.getValue()) {
+                if (levelStats != null) {
+                    length += Short.BYTES + name.length + ENTRY_SIZE;
+                    entries++;
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(recordCount).putInt(entries);
+        int userIndex = 0;
+        for (UserStats[] userStats : stats.values()) {
+            byte[] name = names.get(userIndex++);
+            for (int level = 0; level < userStats.length; level++) {
+                UserStats levelStats = userStats[level];
+                if (levelStats != null) {
+                    buffer.putShort((short) name.length).put(name).put((byte) level)
+                            .putInt(levelStats.played()).putInt(levelStats.solved())
+                            .putInt(levelStats.currentStreak()).putInt(levelStats.bestStreak());
+                }
+            }
+        }
+        buffer.flip();
+
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, SNAPSHOT_FILE, ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, snapshotFile, ATOMIC_MOVE, REPLACE_EXISTING);
+        snapshotCount = recordCount;
+    }
+
+    /**
+     * Writes a snapshot if records were added since the last one.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (recordCount != snapshotCount) {
+            save();
+        }
+    }
+
+    /**
+     * Adds a game to the statistics of its player and writes a snapshot when one is due.
+     *
+     * @param record the appended record.
+     */
+    private synchronized void add(GameRecord record) {
+        recordCount++;
+        if (record.difficultyLevel() != null) {
+            UserStats[] userStats = stats.computeIfAbsent(record.username(), name -> new UserStats[LEVELS.length]);
+            int level = record.difficultyLevel().ordinal();
+            userStats[level] = (userStats[level] == null ? UserStats.EMPTY : userStats[level]).next(record.solved());
+        }
+        if (recordCount - snapshotCount >= SNAPSHOT_INTERVAL) {
+            try {
+                save();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot file. A snapshot covering more records than the history
+     * or written in another format is ignored, and the statistics are rebuilt from the history.
+     *
+     * @param historySize the number of records in the history.
+     * @throws IOException if the snapshot cannot be read.
+     */
+    private void loadSnapshot(long historySize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return;
+        }
+        long count = buffer.getLong();
+        int entries = buffer.getInt();
+        if (count > historySize) {
+            return;
+        }
+        Map<String, UserStats[]> loaded = new HashMap<>();
+        for (int i = 0; i < entries; i++) {
+            if (buffer.remaining() < Short.BYTES) {
+                return;
+            }
+            byte[] name = new byte[buffer.getShort() & MAX_NAME_BYTES];
+            if (buffer.remaining() < name.length + ENTRY_SIZE) {
+                return;
+            }
+            buffer.get(name);
+            int level = buffer.get();
+            UserStats levelStats = new UserStats(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+            if (level < 0 || level >= LEVELS.length) {
+                return;
+            }
+            loaded.computeIfAbsent(new String(name, StandardCharsets.UTF_8), n -> new UserStats[LEVELS.length])[level] = levelStats;
+        }
+        stats.putAll(loaded);
+        recordCount = count;
+        snapshotCount = count;
+    }
+}
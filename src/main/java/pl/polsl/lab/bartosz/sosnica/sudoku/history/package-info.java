@@ -0,0 +1,20 @@
+/**
+ * This package contains the storage of the game history.
+ * Played games are appended as fixed-width binary records,
+ * so the history can be counted and read in ranges without parsing it.
+ *
+ * <h2>History:</h2>
+ * <ul>
+ *     <li>GameRecord: One played game with its player, date, difficulty level and status.</li>
+ *     <li>GameHistoryRepository: Append-only storage of game records addressed by position.</li>
+ *     <li>BinaryGameHistoryRepository: Stores the records in a binary file and migrates the old text history.</li>
+ *     <li>UserStats: Games played, games solved and streaks of one player on one difficulty level.</li>
+ *     <li>UserStatsIndex: Keeps the statistics of every player up to date and saves them in snapshots.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
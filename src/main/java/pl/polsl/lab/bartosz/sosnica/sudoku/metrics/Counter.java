@@ -0,0 +1,83 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * The Counter class counts events, such as the backtracks of the generator.
+ * It is backed by a {@link LongAdder}, so threads incrementing it at the same time
+ * update separate cells instead of contending on one value.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class Counter implements CounterMBean {
+
+    /**
+     * The name of the counter.
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * The number of counted events.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructor creating a counter starting at 0.
+     *
+     * @param name the name of the counter.
+     */
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Counts one event if metrics are enabled.
+     */
+    public void increment() {
+        if (Metrics.ENABLED) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Counts several events at once if metrics are enabled.
+     *
+     * @param events the number of events.
+     */
+    public void add(long events) {
+        if (Metrics.ENABLED) {
+            count.add(events);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        count.reset();
+    }
+
+    /**
+     * Appends the count as a line of the text report.
+     *
+     * @param report the report being written.
+     */
+    void report(StringBuilder report) {
+        report.append(String.format("%-24s count=%d%n", name, getCount()));
+    }
+}
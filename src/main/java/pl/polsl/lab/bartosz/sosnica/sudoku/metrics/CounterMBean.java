@@ -0,0 +1,29 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
+
+/**
+ * The management interface of a {@link Counter}, as seen by JMX clients.
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public interface CounterMBean {
+
+    /**
+     * Returns the name of the counter.
+     *
+     * @return the metric name.
+     */
+    String getName();
+
+    /**
+     * Returns the number of events counted since the start or the last reset.
+     *
+     * @return the current count.
+     */
+    long getCount();
+
+    /**
+     * Sets the count back to 0.
+     */
+    void reset();
+}
@@ -0,0 +1,224 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * The LatencyHistogram class records durations in buckets of logarithmic width, in the way HdrHistogram does.
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so a percentile is reported
+ * with a relative error below 1/{@value #SUB_BUCKETS} over the whole range of a long, from nanoseconds to days,
+ * in a fixed array of {@value #BUCKETS} counts.
+ * </p>
+ * <p>
+ * Recording a duration increments one atomic bucket and adds to two striped accumulators, so it is lock-free
+ * and allocates nothing. Reading the statistics while durations are recorded gives a close, not exact, snapshot.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+
+    /**
+     * The number of bits selecting a sub-bucket within a power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of linear sub-buckets in each power of two.
+     */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets needed to cover every non-negative long.
+     */
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The name of the histogram.
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * The number of durations in each bucket.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * The number of recorded durations.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of the recorded durations.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * The longest recorded duration.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor creating an empty histogram.
+     *
+     * @param name the name of the histogram.
+     */
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records the time elapsed since a start taken with {@link Metrics#startTime()}, if metrics are enabled.
+     *
+     * @param startNanos the start time in nanoseconds.
+     */
+    public void recordSince(long startNanos) {
+        if (Metrics.ENABLED) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records a duration, whether metrics are enabled or not. A negative duration is recorded as 0.
+     *
+     * @param nanos the duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the duration below or at which the given share of the recorded durations lies.
+     * The result is the highest duration of the bucket holding that share.
+     *
+     * @param percentile the share of durations in percent (0-100).
+     * @return the duration in nanoseconds, or 0 if nothing was recorded.
+     * @throws IllegalArgumentException if the percentile is outside 0-100.
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            recorded += buckets.get(i);
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(highestInBucket(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMeanNanos() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : (double) total.sum() / samples;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMedianNanos() {
+        return percentile(50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getP99Nanos() {
+        return percentile(99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Appends the statistics in microseconds as a line of the text report.
+     *
+     * @param report the report being written.
+     */
+    void report(StringBuilder report) {
+        report.append(String.format("%-24s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n",
+                name, getCount(), getMeanNanos() / 1000, getMedianNanos() / 1000.0,
+                getP99Nanos() / 1000.0, getMaxNanos() / 1000.0));
+    }
+
+    /**
+     * Returns the bucket holding a duration. Durations below {@value #SUB_BUCKETS} get a bucket each;
+     * larger ones are placed by their highest bit and the {@value #SUB_BUCKET_BITS} bits below it.
+     *
+     * @param value the non-negative duration.
+     * @return the bucket index.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - SUB_BUCKET_BITS - 1 - Long.numberOfLeadingZeros(value);
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the highest duration held by a bucket.
+     *
+     * @param bucket the bucket index.
+     * @return the highest duration of the bucket.
+     */
+    static long highestInBucket(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,58 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
+
+/**
+ * The management interface of a {@link LatencyHistogram}, as seen by JMX clients.
+ * All durations are in nanoseconds.
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public interface LatencyHistogramMBean {
+
+    /**
+     * Returns the name of the histogram.
+     *
+     * @return the metric name.
+     */
+    String getName();
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the number of samples.
+     */
+    long getCount();
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @return the mean duration, or 0 if nothing was recorded.
+     */
+    double getMeanNanos();
+
+    /**
+     * Returns the median of the recorded durations.
+     *
+     * @return the 50th percentile.
+     */
+    long getMedianNanos();
+
+    /**
+     * Returns the 99th percentile of the recorded durations.
+     *
+     * @return the 99th percentile.
+     */
+    long getP99Nanos();
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return the maximum duration, or 0 if nothing was recorded.
+     */
+    long getMaxNanos();
+
+    /**
+     * Forgets all recorded durations.
+     */
+    void reset();
+}
@@ -0,0 +1,228 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * The Metrics class is the registry of the counters and latency histograms measuring the hot paths of the game:
+ * filling and thinning the board, validating moves, solver backtracks and game history I/O.
+ * </p>
+ * <p>
+ * Metrics are off unless the {@value #ENABLED_PROPERTY} system property is {@code true}. The flag is read once
+ * into a constant, so when it is off the JIT removes the timing calls and the instrumented code runs as if
+ * it had none. When it is on, {@link #install()} publishes every metric as a JMX MBean and prints a text report
+ * to the standard error stream every {@value #REPORT_PERIOD_PROPERTY} seconds (60 by default, 0 to never print).
+ * </p>
+ * <p>
+ * A measured method takes its start time with {@link #startTime()} and ends with
+ * {@link LatencyHistogram#recordSince(long)}:
+ * </p>
+ * <pre>
+ *     long start = Metrics.startTime();
+ *     ...
+ *     Metrics.FILL.recordSince(start);
+ * </pre>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public final class Metrics {
+
+    /**
+     * The system property enabling the metrics.
+     */
+    public static final String ENABLED_PROPERTY = "sudoku.metrics";
+
+    /**
+     * The system property holding the number of seconds between text reports.
+     */
+    public static final String REPORT_PERIOD_PROPERTY = "sudoku.metrics.reportSeconds";
+
+    /**
+     * Whether metrics are recorded, read once from {@value #ENABLED_PROPERTY}.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * The domain of the JMX names of the metrics.
+     */
+    static final String JMX_DOMAIN = "pl.polsl.lab.bartosz.sosnica.sudoku";
+
+    /**
+     * The counters by name, sorted for the text report.
+     */
+    private static final Map<String, Counter> COUNTERS = new TreeMap<>();
+
+    /**
+     * The latency histograms by name, sorted for the text report.
+     */
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new TreeMap<>();
+
+    /**
+     * The time of filling an empty board with a complete grid.
+     */
+    public static final LatencyHistogram FILL = histogram("generator.fill");
+
+    /**
+     * The number of placements the generator undid while filling a grid.
+     */
+    public static final Counter FILL_BACKTRACKS = counter("generator.fill.backtracks");
+
+    /**
+     * The number of grids the generator replaced because their puzzle missed the technique band of its level.
+     */
+    public static final Counter GRADE_RETRIES = counter("generator.gradeRetries");
+
+    /**
+     * The time of removing cells from a complete grid while keeping one solution.
+     */
+    public static final LatencyHistogram REMOVE_NUMBERS = histogram("generator.removeNumbers");
+
+    /**
+     * The time of checking a move against the row, column and box.
+     */
+    public static final LatencyHistogram VALIDATE = histogram("board.validate");
+
+    /**
+     * The number of guesses the solver undid.
+     */
+    public static final Counter SOLVER_BACKTRACKS = counter("solver.backtracks");
+
+    /**
+     * The time of appending a game record to the history.
+     */
+    public static final LatencyHistogram HISTORY_APPEND = histogram("history.append");
+
+    /**
+     * The time of reading a page of game records from the history.
+     */
+    public static final LatencyHistogram HISTORY_READ = histogram("history.read");
+
+    /**
+     * The scheduler printing the text report, created by {@link #install()}.
+     */
+    private static ScheduledExecutorService reporter;
+
+    /**
+     * Private constructor, the registry has only static members.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name the metric name.
+     * @return the registered counter.
+     */
+    public static synchronized Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Returns the latency histogram with the given name, creating it on first use.
+     *
+     * @param name the metric name.
+     * @return the registered histogram.
+     */
+    public static synchronized LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Returns the start time of a measured operation.
+     *
+     * @return the current time in nanoseconds, or 0 without calling the clock if metrics are disabled.
+     */
+    public static long startTime() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Publishes the metrics through JMX and starts the periodic text report, if metrics are enabled.
+     * Calling it again does nothing.
+     */
+    public static synchronized void install() {
+        if (!ENABLED || reporter != null) {
+            return;
+        }
+        try {
+            registerMBeans(ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("metrics-report").factory());
+        long period = Long.getLong(REPORT_PERIOD_PROPERTY, 60);
+        if (period > 0) {
+            reporter.scheduleAtFixedRate(() -> print(System.err), period, period, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Registers every metric with an MBean server under {@value #JMX_DOMAIN}{@code :type=...,name=...}.
+     * Metrics registered earlier are skipped.
+     *
+     * @param server the MBean server.
+     * @throws JMException if a metric cannot be registered.
+     */
+    public static synchronized void registerMBeans(MBeanServer server) throws JMException {
+        for (Counter counter : COUNTERS.values()) {
+            register(server, "Counter", counter.getName(), counter);
+        }
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            register(server, "LatencyHistogram", histogram.getName(), histogram);
+        }
+    }
+
+    /**
+     * Writes the text report of all metrics.
+     *
+     * @return one line per metric, counters first.
+     */
+    public static synchronized String report() {
+        StringBuilder report = new StringBuilder();
+        for (Counter counter : COUNTERS.values()) {
+            counter.report(report);
+        }
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            histogram.report(report);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Prints the text report with a header line.
+     *
+     * @param out the stream receiving the report.
+     */
+    public static void print(PrintStream out) {
+        out.print("--- metrics ---" + System.lineSeparator() + report());
+    }
+
+    /**
+     * Registers one metric with an MBean server.
+     *
+     * @param server the MBean server.
+     * @param type   the type part of the JMX name.
+     * @param name   the metric name.
+     * @param mbean  the metric.
+     * @throws JMException if the metric cannot be registered.
+     */
+    private static void register(MBeanServer server, String type, String name, Object mbean) throws JMException {
+        try {
+            server.registerMBean(mbean, new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + name));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by an earlier call
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * This package contains the metrics of the Sudoku game.
+ * They measure the hot paths of generation and gameplay and are published through JMX
+ * and a periodic text report; they cost nearly nothing while disabled.
+ *
+ * <h2>Registry:</h2>
+ * <ul>
+ *     <li>Metrics: Holds the named metrics, the enable flag, the JMX registration and the text report.</li>
+ * </ul>
+ *
+ * <h2>Metrics:</h2>
+ * <ul>
+ *     <li>Counter: Counts events in a striped lock-free counter.</li>
+ *     <li>CounterMBean: The JMX interface of a counter.</li>
+ *     <li>LatencyHistogram: Records durations in logarithmic buckets for percentiles.</li>
+ *     <li>LatencyHistogramMBean: The JMX interface of a latency histogram.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
@@ -0,0 +1,379 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * BitBoard is the default {@link Board} implementation. The grid is a flat byte array
+ * and each row, column and box keeps a mask of the digits it contains, so no objects
+ * are allocated when values are placed or removed.
+ * </p>
+ * <p>
+ * The board is 9x9 by default; any box size from {@value Board#MIN_BOX_SIZE} to {@value Board#MAX_BOX_SIZE}
+ * can be given instead, from 4x4 up to 25x25 boards.
+ * </p>
+ * <p>
+ * Next to the masks the board counts how many times every digit occurs in each unit.
+ * This keeps the masks correct even when a caller stores a duplicate and later removes one copy,
+ * and it lets the board maintain the number of conflicts incrementally.
+ * </p>
+ * <p>
+ * Changed cells are remembered in 64-bit words until the view drains them,
+ * so only those cells have to be drawn again.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class BitBoard implements Board {
+
+    /**
+     * The width and height of a single box.
+     */
+    private final int boxSize;
+
+    /**
+     * The number of rows, columns and digits.
+     */
+    private final int size;
+
+    /**
+     * The mask with a bit set for every digit.
+     */
+    private final int allDigits;
+
+    /**
+     * The digits of the board stored row by row, 0 meaning an empty cell.
+     */
+    private final byte[] cells;
+
+    /**
+     * The masks of digits present in each row.
+     */
+    private final int[] rowMasks;
+
+    /**
+     * The masks of digits present in each column.
+     */
+    private final int[] colMasks;
+
+    /**
+     * The masks of digits present in each box.
+     */
+    private final int[] boxMasks;
+
+    /**
+     * Occurrence counters of each digit per row, indexed by {@code row * size + value - 1}.
+     */
+    private final byte[] rowCounts;
+
+    /**
+     * Occurrence counters of each digit per column, indexed by {@code col * size + value - 1}.
+     */
+    private final byte[] colCounts;
+
+    /**
+     * Occurrence counters of each digit per box, indexed by {@code box * size + value - 1}.
+     */
+    private final byte[] boxCounts;
+
+    /**
+     * The number of non-empty cells.
+     */
+    private int filled;
+
+    /**
+     * The number of surplus digit copies over all units.
+     */
+    private int conflicts;
+
+    /**
+     * The changed flags of the cells, 64 cells per word.
+     */
+    private final long[] changed;
+
+    /**
+     * Constructor creating an empty classic 9x9 board.
+     */
+    public BitBoard() {
+        this(BOX_SIZE);
+    }
+
+    /**
+     * Constructor creating an empty board with boxes of the given size.
+     *
+     * @param boxSize the width and height of a box, so the board has {@code boxSize * boxSize} rows.
+     * @throws IllegalArgumentException if the box size is outside
+     *                                  {@value Board#MIN_BOX_SIZE}-{@value Board#MAX_BOX_SIZE}.
+     */
+    public BitBoard(int boxSize) {
+        if (boxSize < MIN_BOX_SIZE || boxSize > MAX_BOX_SIZE) {
+            throw new IllegalArgumentException("Unsupported box size: " + boxSize);
+        }
+        this.boxSize = boxSize;
+        this.size = boxSize * boxSize;
+        this.allDigits = (1 << size) - 1;
+        int cellCount = size * size;
+        this.cells = new byte[cellCount];
+        this.rowMasks = new int[size];
+        this.colMasks = new int[size];
+        this.boxMasks = new int[size];
+        this.rowCounts = new byte[cellCount];
+        this.colCounts = new byte[cellCount];
+        this.boxCounts = new byte[cellCount];
+        this.changed = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+        markAllChanged();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int boxSize() {
+        return boxSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int allDigits() {
+        return allDigits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(int row, int col) {
+        return cells[row * size + col];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int row, int col, int value) {
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException("Invalid Sudoku value: " + value);
+        }
+        int index = row * size + col;
+        int previous = cells[index];
+        if (previous == value) {
+            return;
+        }
+        int box = boxOf(row, col);
+        if (previous != 0) {
+            release(row, col, box, previous);
+        }
+        if (value != 0) {
+            occupy(row, col, box, value);
+        }
+        cells[index] = (byte) value;
+        markChanged(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear(int row, int col) {
+        set(row, col, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty(int row, int col) {
+        return cells[row * size + col] == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int rowMask(int row) {
+        return rowMasks[row];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int colMask(int col) {
+        return colMasks[col];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int boxMask(int box) {
+        return boxMasks[box];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int candidates(int row, int col) {
+        return ~(rowMasks[row] | colMasks[col] | boxMasks[boxOf(row, col)]) & allDigits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int filledCount() {
+        return filled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int conflictCount() {
+        return conflicts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(colMasks, 0);
+        Arrays.fill(boxMasks, 0);
+        Arrays.fill(rowCounts, (byte) 0);
+        Arrays.fill(colCounts, (byte) 0);
+        Arrays.fill(boxCounts, (byte) 0);
+        filled = 0;
+        conflicts = 0;
+        markAllChanged();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markChanged(int row, int col) {
+        markChanged(row * size + col);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drainChangedCells(int[] target) {
+        int count = 0;
+        for (int word = 0; word < changed.length; word++) {
+            for (long bits = changed[word]; bits != 0; bits &= bits - 1) {
+                target[count++] = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+            }
+            changed[word] = 0;
+        }
+        return count;
+    }
+
+    /**
+     * Sets the changed flag of a cell.
+     *
+     * @param index the flat cell index.
+     */
+    private void markChanged(int index) {
+        changed[index / Long.SIZE] |= 1L << index;
+    }
+
+    /**
+     * Sets the changed flag of every cell.
+     */
+    private void markAllChanged() {
+        int cellCount = cells.length;
+        for (int word = 0; word < changed.length; word++) {
+            int bits = Math.min(Long.SIZE, cellCount - word * Long.SIZE);
+            changed[word] = bits == Long.SIZE ? -1L : (1L << bits) - 1;
+        }
+    }
+
+    /**
+     * Registers a digit in the counters and masks of the units containing a cell.
+     *
+     * @param row   the row index.
+     * @param col   the column index.
+     * @param box   the box index.
+     * @param value the digit being placed.
+     */
+    private void occupy(int row, int col, int box, int value) {
+        int bit = 1 << (value - 1);
+        if (++rowCounts[row * size + value - 1] > 1) {
+            conflicts++;
+        }
+        if (++colCounts[col * size + value - 1] > 1) {
+            conflicts++;
+        }
+        if (++boxCounts[box * size + value - 1] > 1) {
+            conflicts++;
+        }
+        rowMasks[row] |= bit;
+        colMasks[col] |= bit;
+        boxMasks[box] |= bit;
+        filled++;
+    }
+
+    /**
+     * Unregisters a digit from the counters and masks of the units containing a cell.
+     * A mask bit is cleared only when the last copy of the digit leaves the unit.
+     *
+     * @param row   the row index.
+     * @param col   the column index.
+     * @param box   the box index.
+     * @param value the digit being removed.
+     */
+    private void release(int row, int col, int box, int value) {
+        int bit = 1 << (value - 1);
+        int rowCount = --rowCounts[row * size + value - 1];
+        int colCount = --colCounts[col * size + value - 1];
+        int boxCount = --boxCounts[box * size + value - 1];
+        if (rowCount == 0) {
+            rowMasks[row] &= ~bit;
+        } else {
+            conflicts--;
+        }
+        if (colCount == 0) {
+            colMasks[col] &= ~bit;
+        } else {
+            conflicts--;
+        }
+        if (boxCount == 0) {
+            boxMasks[box] &= ~bit;
+        } else {
+            conflicts--;
+        }
+        filled--;
+    }
+
+    /**
+     * Returns the board as a string of one character per cell, row by row, with '.' for empty cells
+     * and the characters of {@link Board#symbol(int)} for digits; a 9x9 board gives 81 characters.
+     *
+     * @return the textual form of the board.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(cells.length);
+        for (byte cell : cells) {
+            builder.append(Board.symbol(cell));
+        }
+        return builder.toString();
+    }
+}
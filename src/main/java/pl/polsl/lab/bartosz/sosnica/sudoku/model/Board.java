@@ -0,0 +1,258 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+/**
+ * <p>
+ * The Board interface describes the primitive storage engine behind {@link BoardModel}.
+ * Cells hold plain integer digits (0 meaning an empty cell) and every row, column
+ * and box keeps a mask of the digits it already contains.
+ * </p>
+ * <p>
+ * A board has {@code N * N} rows, columns and digits, where {@code N} is its {@link #boxSize()}.
+ * The constants describe the classic 9x9 board, which is the default size of every engine;
+ * engines of other sizes override the dimension methods. Masks are ints, so boxes are at most
+ * {@value #MAX_BOX_SIZE} cells wide and boards at most 25x25.
+ * </p>
+ * <p>
+ * Bit {@code v - 1} of a mask is set when digit {@code v} is present in the unit.
+ * Cells are addressed either by row and column or by a flat index {@code row * size() + col}.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public interface Board {
+
+    /**
+     * The number of rows, columns and digits of the classic board.
+     */
+    int SIZE = 9;
+
+    /**
+     * The width and height of a single box of the classic board.
+     */
+    int BOX_SIZE = 3;
+
+    /**
+     * The total number of cells on the classic board.
+     */
+    int CELLS = SIZE * SIZE;
+
+    /**
+     * The mask with all nine digit bits set.
+     */
+    int ALL_DIGITS = (1 << SIZE) - 1;
+
+    /**
+     * The smallest supported box size, giving a 4x4 board.
+     */
+    int MIN_BOX_SIZE = 2;
+
+    /**
+     * The largest supported box size, giving a 25x25 board whose masks still fit in an int.
+     */
+    int MAX_BOX_SIZE = 5;
+
+    /**
+     * The number of cells of the largest supported board.
+     */
+    int MAX_CELLS = MAX_BOX_SIZE * MAX_BOX_SIZE * MAX_BOX_SIZE * MAX_BOX_SIZE;
+
+    /**
+     * Returns the width and height of a single box.
+     *
+     * @return the box size, {@value #BOX_SIZE} for the classic board.
+     */
+    default int boxSize() {
+        return BOX_SIZE;
+    }
+
+    /**
+     * Returns the number of rows, columns and digits.
+     *
+     * @return the board size, {@value #SIZE} for the classic board.
+     */
+    default int size() {
+        return SIZE;
+    }
+
+    /**
+     * Returns the total number of cells.
+     *
+     * @return the number of cells, {@value #CELLS} for the classic board.
+     */
+    default int cellCount() {
+        return size() * size();
+    }
+
+    /**
+     * Returns the mask with a bit set for every digit of the board.
+     *
+     * @return the mask of all digits.
+     */
+    default int allDigits() {
+        return (1 << size()) - 1;
+    }
+
+    /**
+     * Returns the index of the box containing the specified cell of this board.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return the box index (0-based, numbered row by row).
+     */
+    default int boxOf(int row, int col) {
+        int boxSize = boxSize();
+        return (row / boxSize) * boxSize + col / boxSize;
+    }
+
+    /**
+     * Returns the digit stored in the specified cell.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return the digit (1 to {@link #size()}), or 0 if the cell is empty.
+     */
+    int get(int row, int col);
+
+    /**
+     * Stores a digit in the specified cell, replacing any previous value.
+     * No Sudoku rules are checked here.
+     *
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param value the digit to store (1 to {@link #size()}), or 0 to clear the cell.
+     */
+    void set(int row, int col, int value);
+
+    /**
+     * Clears the specified cell.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     */
+    void clear(int row, int col);
+
+    /**
+     * Checks whether the specified cell is empty.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return true if the cell holds no digit, false otherwise.
+     */
+    boolean isEmpty(int row, int col);
+
+    /**
+     * Returns the mask of digits present in the specified row.
+     *
+     * @param row the row index (0-based).
+     * @return the mask of used digits.
+     */
+    int rowMask(int row);
+
+    /**
+     * Returns the mask of digits present in the specified column.
+     *
+     * @param col the column index (0-based).
+     * @return the mask of used digits.
+     */
+    int colMask(int col);
+
+    /**
+     * Returns the mask of digits present in the specified box.
+     *
+     * @param box the box index (0-based, numbered row by row).
+     * @return the mask of used digits.
+     */
+    int boxMask(int box);
+
+    /**
+     * Returns the digits that are not yet used by the row, column or box of the specified cell.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return the mask of candidate digits.
+     */
+    int candidates(int row, int col);
+
+    /**
+     * Checks whether a digit can be placed in the specified cell without repeating
+     * it in the cell's row, column or box.
+     *
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param value the digit to check (1 to {@link #size()}).
+     * @return true if none of the three units contains the digit, false otherwise.
+     */
+    default boolean canPlace(int row, int col, int value) {
+        return (candidates(row, col) & (1 << (value - 1))) != 0;
+    }
+
+    /**
+     * Returns the number of non-empty cells.
+     *
+     * @return the count of filled cells.
+     */
+    int filledCount();
+
+    /**
+     * Returns the number of rule violations on the board. Every copy of a digit beyond the
+     * first one in a row, column or box counts as one conflict.
+     *
+     * @return the number of conflicts, 0 for a valid board.
+     */
+    int conflictCount();
+
+    /**
+     * Checks whether every cell is filled and no rule is violated.
+     *
+     * @return true if the board is a complete solution, false otherwise.
+     */
+    default boolean isSolved() {
+        return filledCount() == cellCount() && conflictCount() == 0;
+    }
+
+    /**
+     * Empties every cell of the board. All cells are reported as changed afterwards.
+     */
+    void reset();
+
+    /**
+     * Marks a cell as changed without modifying it, so that it is drawn again
+     * even though its value stayed the same.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     */
+    void markChanged(int row, int col);
+
+    /**
+     * Copies the indexes of the cells changed since the previous call into the target array
+     * and forgets them. A cell is changed when its value was set, cleared or marked.
+     *
+     * @param target the array receiving flat cell indexes; it must hold at least {@link #cellCount()} entries.
+     * @return the number of indexes written.
+     */
+    int drainChangedCells(int[] target);
+
+    /**
+     * Returns the index of the box containing the specified cell of the classic board.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return the box index (0-based, numbered row by row).
+     */
+    static int boxIndex(int row, int col) {
+        return (row / BOX_SIZE) * BOX_SIZE + col / BOX_SIZE;
+    }
+
+    /**
+     * Returns the character written for a digit in the compact text form of a board:
+     * '1'-'9' for the first nine digits, 'A'-'P' for digits 10-25 and '.' for an empty cell.
+     *
+     * @param value the digit (0-25).
+     * @return the character of the digit.
+     */
+    static char symbol(int value) {
+        return value == 0 ? '.' : Character.toUpperCase(Character.forDigit(value, Character.MAX_RADIX));
+    }
+}
@@ -1,10 +1,13 @@
 package pl.polsl.lab.bartosz.sosnica.sudoku.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import pl.polsl.lab.bartosz.sosnica.sudoku.exception.InvalidSudokuMoveException;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.Grade;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.Technique;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.TechniqueGrader;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -14,43 +17,103 @@ import java.util.stream.Collectors;
  * It handles the board setup, placement of values, validation of moves,
  * and difficulty level management. It also provides methods to manipulate
  * the board state and check for validity of player moves.
+ * <p>
+ * The cells are stored in a primitive {@link Board} engine. The list-based
+ * view returned by {@link #getBoard()} is kept for callers that still read
+ * the board as rows of {@link BoardCell} records.
+ * </p>
  *
  * @author Bartosz Sośnica
  * @version 3.0
  */
 @Getter
 @Setter
-@NoArgsConstructor
 @ToString
 public class BoardModel {
 
     /**
      * Enum representing difficulty levels.
-     * The levels include Easy, Medium, and Hard, each associated with
-     * the number of cells to remove when setting up the board.
+     * The levels include Easy, Medium, and Hard. Each level is defined by the band of solving
+     * techniques its puzzles need, as rated by the {@link TechniqueGrader}, and by the number
+     * of cells removed before the puzzle is graded.
      */
     public enum DifficultyLevel {
-        Easy(3), Medium(25), Hard(35);
+        Easy(3, Technique.HIDDEN_SINGLE, Technique.HIDDEN_SINGLE),
+        Medium(25, Technique.NAKED_SINGLE, Technique.BOX_LINE_REDUCTION),
+        Hard(35, Technique.NAKED_PAIR, Technique.X_WING);
 
         private final int cellsToRemove;
 
+        private final Technique minTechnique;
+
+        private final Technique maxTechnique;
+
         /**
-         * Constructor to initialize the difficulty level with the number of cells to remove.
+         * Constructor to initialize the difficulty level with the number of cells to remove and its technique band.
          *
-         * @param cellsToRemove the number of cells to remove for this difficulty level.
+         * @param cellsToRemove the number of cells removed before the puzzle is graded.
+         * @param minTechnique  the easiest technique allowed as the hardest one a puzzle needs.
+         * @param maxTechnique  the hardest technique a puzzle may need.
          */
-        DifficultyLevel(int cellsToRemove) {
+        DifficultyLevel(int cellsToRemove, Technique minTechnique, Technique maxTechnique) {
             this.cellsToRemove = cellsToRemove;
+            this.minTechnique = minTechnique;
+            this.maxTechnique = maxTechnique;
         }
 
         /**
-         * Gets the number of cells to remove for this difficulty level.
+         * Gets the number of cells removed before the puzzle is graded; puzzles of the level have at least that many blanks.
          *
          * @return the number of cells to remove.
          */
         public int getCellsToRemove() {
             return cellsToRemove;
         }
+
+        /**
+         * Gets the easiest technique allowed as the hardest one a puzzle of this level needs.
+         *
+         * @return the lower end of the technique band.
+         */
+        public Technique getMinTechnique() {
+            return minTechnique;
+        }
+
+        /**
+         * Gets the hardest technique a puzzle of this level may need.
+         *
+         * @return the upper end of the technique band.
+         */
+        public Technique getMaxTechnique() {
+            return maxTechnique;
+        }
+
+        /**
+         * Checks whether a graded puzzle belongs to this level: it is solved without guessing
+         * and its hardest technique lies within the level's band.
+         *
+         * @param grade the grade of the puzzle.
+         * @return true if the grade matches this level.
+         */
+        public boolean accepts(Grade grade) {
+            return grade.solvedWithin(maxTechnique) && grade.hardest() != null
+                    && grade.hardest().compareTo(minTechnique) >= 0;
+        }
+
+        /**
+         * Returns the level whose technique band holds the given grade.
+         *
+         * @param grade the grade of the puzzle.
+         * @return the matching difficulty level, or null if the puzzle is not solved by the known techniques.
+         */
+        public static DifficultyLevel forGrade(Grade grade) {
+            for (DifficultyLevel level : values()) {
+                if (level.accepts(grade)) {
+                    return level;
+                }
+            }
+            return null;
+        }
     }
 
     /**
@@ -59,23 +122,266 @@ public class BoardModel {
      */
     public record BoardCell(String value) {}
 
+    /**
+     * Shared cell records for every possible digit up to 25, index 0 being the empty cell.
+     */
+    private static final BoardCell[] CELLS_BY_VALUE = new BoardCell[Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE + 1];
+
+    static {
+        CELLS_BY_VALUE[0] = new BoardCell("");
+        for (int value = 1; value < CELLS_BY_VALUE.length; value++) {
+            CELLS_BY_VALUE[value] = new BoardCell(String.valueOf(value));
+        }
+    }
+
+    /**
+     * The primitive engine holding the digits and unit masks of the board.
+     */
+    private final Board engine;
+
+    /**
+     * The list-based view of the engine, created on first use.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
     private List<List<BoardCell>> board;
+    /**
+     * The listeners notified when a placed value completes the board.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final List<Runnable> solvedListeners = new ArrayList<>();
+
+    /**
+     * The given flags of the cells, 64 cells per word, set for the cells filled when the puzzle was loaded.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final long[] givens;
+
+    /**
+     * The playing time of the game before the clock was last started, in milliseconds.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private long elapsedBeforeStart;
+
+    /**
+     * The value of {@link System#nanoTime()} when the clock was last started.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private long clockStartNanos = System.nanoTime();
+
+    /**
+     * The log of the player's moves, used for undo and redo.
+     */
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final MoveLog moveLog = new MoveLog();
+
+    /**
+     * Flag indicating that a game is in progress, so placed and removed values are recorded in the move log.
+     * It is set when the givens are marked or a saved game is resumed, so building a puzzle is not recorded.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean recordingMoves;
+
     private DifficultyLevel difficultyLevel;
     private String status;
     private int numberDiff;
 
+    /**
+     * Constructor creating a board model backed by a classic 9x9 {@link BitBoard}.
+     */
+    public BoardModel() {
+        this(new BitBoard());
+    }
+
+    /**
+     * Constructor creating a board model backed by a {@link BitBoard} with boxes of the given size,
+     * for example 4 for a 16x16 board.
+     *
+     * @param boxSize the width and height of a box.
+     * @throws IllegalArgumentException if the box size is not supported by {@link BitBoard}.
+     */
+    public BoardModel(int boxSize) {
+        this(new BitBoard(boxSize));
+    }
+
+    /**
+     * Constructor creating a board model backed by the given engine, for example
+     * a {@link ConcurrentBoard} shared by the players of a cooperative session.
+     * The board model itself is not thread-safe, so every player uses their own model over the shared engine.
+     *
+     * @param engine the engine holding the cells.
+     */
+    public BoardModel(Board engine) {
+        this.engine = engine;
+        this.givens = new long[(engine.cellCount() + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Returns the number of rows, columns and digits of the board.
+     *
+     * @return the board size, 9 for the classic board.
+     */
+    public int getSize() {
+        return engine.size();
+    }
+
+    /**
+     * Checks whether the board has the classic 9x9 size, which the puzzle pool, the technique grader
+     * and the save files require.
+     *
+     * @return true for a 9x9 board.
+     */
+    public boolean isClassic() {
+        return engine.size() == Board.SIZE;
+    }
+
     /**
      * Initializes the board with empty cells represented by an empty string.
-     * The board is a 9x9 grid, with each cell initially empty.
+     * The board keeps the size of its engine, with each cell initially empty.
      */
     public void settingUpBoard() {
-        board = new ArrayList<>(9);
+        engine.reset();
         status = "Unsolved";
+        Arrays.fill(givens, 0);
+        moveLog.clear();
+        recordingMoves = false;
+        restartClock(0);
+    }
+
+    /**
+     * Replaces the board with the cells of another board model and marks it as unsolved.
+     * The difficulty level of this board model is not changed.
+     *
+     * @param puzzle the board model to copy the cells from.
+     * @throws IllegalArgumentException if the puzzle has another size than this board.
+     */
+    public void loadPuzzle(BoardModel puzzle) {
+        Board source = puzzle.getEngine();
+        if (source.size() != engine.size()) {
+            throw new IllegalArgumentException("Puzzle size " + source.size() + " does not match board size " + engine.size());
+        }
+        settingUpBoard();
+        int size = engine.size();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                engine.set(row, col, source.get(row, col));
+            }
+        }
+        markGivens();
+    }
+
+    /**
+     * Marks every filled cell as a given of the puzzle, starts the game clock from zero
+     * and starts recording the moves in a new move log.
+     */
+    public void markGivens() {
+        Arrays.fill(givens, 0);
+        int size = engine.size();
+        for (int index = 0; index < engine.cellCount(); index++) {
+            if (!engine.isEmpty(index / size, index % size)) {
+                givens[index / Long.SIZE] |= 1L << index;
+            }
+        }
+        moveLog.clear();
+        recordingMoves = true;
+        restartClock(0);
+    }
+
+    /**
+     * Checks whether a cell was filled when the puzzle was loaded.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return true if the cell is a given of the puzzle.
+     */
+    public boolean isGiven(int row, int col) {
+        int index = row * engine.size() + col;
+        return (givens[index / Long.SIZE] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the given flags of cells 0-63.
+     *
+     * @return the first word of the givens mask.
+     */
+    public long getGivensLow() {
+        return givens[0];
+    }
+
+    /**
+     * Returns the given flags of cells 64-127, which hold cells 64-80 of a classic board.
+     *
+     * @return the second word of the givens mask, 0 on a board of fewer cells.
+     */
+    public long getGivensHigh() {
+        return givens.length > 1 ? givens[1] : 0;
+    }
+
+    /**
+     * Continues a saved game of a classic board whose cells are already in the engine.
+     * The givens and the playing time are restored, the board is marked as unsolved
+     * and the moves are recorded in a new move log.
+     *
+     * @param givensLow     the given flags of cells 0-63.
+     * @param givensHigh    the given flags of cells 64-80.
+     * @param elapsedMillis the playing time of the saved game, in milliseconds.
+     * @throws IllegalStateException if the board is not a classic 9x9 board.
+     */
+    public void resumeGame(long givensLow, long givensHigh, long elapsedMillis) {
+        if (!isClassic()) {
+            throw new IllegalStateException("Only 9x9 games can be resumed");
+        }
+        givens[0] = givensLow;
+        givens[1] = givensHigh;
+        this.status = "Unsolved";
+        moveLog.clear();
+        recordingMoves = true;
+        restartClock(elapsedMillis);
+    }
+
+    /**
+     * Returns the playing time of the current game.
+     *
+     * @return the time since the puzzle was loaded, including the time of a resumed game, in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedBeforeStart + (System.nanoTime() - clockStartNanos) / 1_000_000;
+    }
+
+    /**
+     * Starts the game clock from the given playing time.
+     *
+     * @param elapsedMillis the playing time already spent, in milliseconds.
+     */
+    private void restartClock(long elapsedMillis) {
+        elapsedBeforeStart = elapsedMillis;
+        clockStartNanos = System.nanoTime();
+    }
 
-        for (int i = 0; i < 9; i++) {
-            List<BoardCell> row = Collections.nCopies(9, new BoardCell(""));
-            board.add(new ArrayList<>(row));
+    /**
+     * Returns the board as a list of rows of {@link BoardCell} records.
+     * The view is created on the first call and reads the engine directly,
+     * so it always reflects the current state without copying any cells.
+     *
+     * @return the live list-based view of the board.
+     */
+    public List<List<BoardCell>> getBoard() {
+        if (board == null) {
+            board = new BoardView();
         }
+        return board;
     }
 
     /**
@@ -88,32 +394,167 @@ public class BoardModel {
 
     /**
      * Places a value at the specified row and column on the board.
-     * If the provided value is null, an empty string is placed instead.
+     * If the provided value is null or empty, the cell is cleared instead.
+     * During a game the change is recorded in the move log.
      *
      * @param row   the row index (0-based).
      * @param col   the column index (0-based).
      * @param value the value to place in the specified cell.
+     * @throws IllegalArgumentException if the value is not a digit of the board.
      */
     public void placeValue(int row, int col, String value) {
-        board.get(row).set(col, new BoardCell(Optional.ofNullable(value).orElse("")));
+        if (value == null || value.isEmpty()) {
+            removeValue(row, col);
+            return;
+        }
+        int digit = parseValue(value);
+        recordMove(row * engine.size() + col, digit);
+        setCell(row * engine.size() + col, digit);
+    }
+
+    /**
+     * Reverts the last move recorded in the move log.
+     *
+     * @return true if a move was undone, false if there was none.
+     */
+    public boolean undo() {
+        if (!moveLog.canUndo()) {
+            return false;
+        }
+        int move = moveLog.undo();
+        setCell(MoveLog.cell(move), MoveLog.oldValue(move));
+        return true;
+    }
+
+    /**
+     * Applies again the last move reverted with {@link #undo()}.
+     * Redoing the move that completes the board notifies the solved listeners.
+     *
+     * @return true if a move was redone, false if there was none.
+     */
+    public boolean redo() {
+        if (!moveLog.canRedo()) {
+            return false;
+        }
+        int move = moveLog.redo();
+        setCell(MoveLog.cell(move), MoveLog.newValue(move));
+        return true;
+    }
+
+    /**
+     * Records a change of a cell in the move log while a game is in progress.
+     * Writing the value the cell already holds is not a move.
+     *
+     * @param cell  the cell index ({@code row * size + col}).
+     * @param value the new value, 0 for an empty cell.
+     */
+    private void recordMove(int cell, int value) {
+        int oldValue = engine.get(cell / engine.size(), cell % engine.size());
+        if (recordingMoves && oldValue != value) {
+            moveLog.record(MoveLog.pack(cell, oldValue, value));
+        }
+    }
+
+    /**
+     * Writes a value into a cell and notifies the solved listeners if it completes the board.
+     *
+     * @param cell  the cell index ({@code row * size + col}).
+     * @param value the new value, 0 to clear the cell.
+     */
+    private void setCell(int cell, int value) {
+        boolean wasSolved = engine.isSolved();
+        engine.set(cell / engine.size(), cell % engine.size(), value);
+        if (!wasSolved && engine.isSolved()) {
+            solvedListeners.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Registers a listener notified when a value placed with {@link #placeValue(int, int, String)},
+     * or restored with {@link #undo()} or {@link #redo()}, completes the board without any conflicts. Loading a puzzle or filling the engine directly
+     * does not notify the listeners.
+     *
+     * @param listener the listener to notify.
+     */
+    public void addSolvedListener(Runnable listener) {
+        solvedListeners.add(listener);
+    }
+
+    /**
+     * Checks whether every cell is filled and no row, column or box repeats a value.
+     * The check reads the counters kept by the engine, so it takes constant time.
+     *
+     * @return true if the board is solved, false otherwise.
+     */
+    public boolean isCompleted() {
+        return engine.isSolved();
+    }
+
+    /**
+     * Checks whether any row, column or box contains the same value more than once.
+     *
+     * @return true if the board breaks a Sudoku rule, false otherwise.
+     */
+    public boolean hasConflicts() {
+        return engine.conflictCount() > 0;
+    }
+
+    /**
+     * Checks a move against the Sudoku rules without throwing.
+     * The check reads the unit masks of the engine, so it takes constant time and allocates nothing.
+     *
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param digit the digit to place.
+     * @return {@link MoveCheck#OK}, the first unit already holding the digit, or {@link MoveCheck#BAD_VALUE}
+     *         if the digit is not a digit of the board (1-9 on the classic board).
+     */
+    public MoveCheck checkMove(int row, int col, int digit) {
+        return MoveCheck.of(engine, row, col, digit);
+    }
+
+    /**
+     * Checks a move given as text against the Sudoku rules without throwing.
+     *
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param value the value to place.
+     * @return the result of {@link #checkMove(int, int, int)}, or {@link MoveCheck#BAD_VALUE}
+     *         if the value is not a digit of the board.
+     */
+    public MoveCheck checkMove(int row, int col, String value) {
+        return checkMove(row, col, toDigit(value));
     }
 
     /**
-     * Validates if the specified value is unique across the specified row and column.
-     * If the value is already present in the row or column, an exception is thrown.
+     * Checks whether a value is a digit of the board (1-9 on the classic board) without throwing.
+     *
+     * @param value the value to check.
+     * @return {@link MoveCheck#OK} or {@link MoveCheck#BAD_VALUE}.
+     */
+    public MoveCheck checkValue(String value) {
+        int digit = toDigit(value);
+        return digit == 0 || digit > engine.size() ? MoveCheck.BAD_VALUE : MoveCheck.OK;
+    }
+
+    /**
+     * Validates if the specified value is unique across the specified row, column and box.
+     * It wraps {@link #checkMove(int, int, int)} for callers reporting rule breaks as exceptions.
+     * Values that are not single digits are left to {@link #checkMultipleValues(String...)}.
      *
      * @param row   the row index (0-based).
      * @param col   the column index (0-based).
      * @param value the value to validate.
-     * @throws InvalidSudokuMoveException if the value already exists in the row or column.
+     * @throws InvalidSudokuMoveException if the value already exists in the row, column or box.
      */
     public void validateValueUniqueness(int row, int col, String value) throws InvalidSudokuMoveException {
-        if (board.get(row).stream().anyMatch(cell -> cell.value().equals(value))) {
-            throw new InvalidSudokuMoveException("Value already present in row");
+        int digit = toDigit(value);
+        if (digit == 0 || digit > engine.size()) {
+            return;
         }
-
-        if (board.stream().anyMatch(r -> r.get(col).value().equals(value))) {
-            throw new InvalidSudokuMoveException("Value already present in column");
+        MoveCheck check = checkMove(row, col, digit);
+        if (!check.isValid()) {
+            throw new InvalidSudokuMoveException(check.getMessage());
         }
     }
 
@@ -132,37 +573,149 @@ public class BoardModel {
 
     /**
      * Sets the difficulty level and calculates the number of cells to remove based on the level.
+     * On boards other than 9x9 the same share of the cells is removed, rounded up.
      *
      * @param level the difficulty level (Easy, Medium, Hard).
      */
     public void settingDifficultyLevel(DifficultyLevel level) {
         this.difficultyLevel = level;
-        this.numberDiff = level.getCellsToRemove();
+        this.numberDiff = (level.getCellsToRemove() * engine.cellCount() + Board.CELLS - 1) / Board.CELLS;
     }
 
     /**
      * Validates multiple values using a variable number of parameters.
-     * Each value must be a single digit (1-9), otherwise an exception is thrown.
+     * Each value must be a digit of the board (1-9 on the classic board), otherwise an exception is thrown.
+     * It wraps {@link #checkValue(String)} for callers reporting bad values as exceptions.
      *
      * @param values the values to validate.
-     * @throws IllegalArgumentException if any value is invalid (not a single digit).
+     * @throws IllegalArgumentException if any value is invalid (not a digit of the board).
      */
     public void checkMultipleValues(String... values) {
-        Arrays.stream(values).forEach(value -> {
-            if (value.length() > 1 || !value.matches("\\d")) {
-                throw new IllegalArgumentException("Invalid Sudoku value: " + value);
+        for (String value : values) {
+            if (!checkValue(value).isValid()) {
+                throw new IllegalArgumentException(MoveCheck.BAD_VALUE.getMessage() + ": " + value);
             }
-        });
+        }
     }
 
     /**
      * Removes a value from the specified row and column on the board, setting it to an empty string.
      * This method is used to reset a cell to its initial state.
+     * During a game the change is recorded in the move log.
      *
      * @param row the row index (0-based).
      * @param col the column index (0-based).
      */
     public void removeValue(int row, int col) {
-        board.get(row).set(col, new BoardCell(""));
+        recordMove(row * engine.size() + col, 0);
+        engine.clear(row, col);
+    }
+
+    /**
+     * Converts a textual cell value into a digit of the board.
+     *
+     * @param value the value to convert.
+     * @return the digit (1 to the board size).
+     * @throws IllegalArgumentException if the value is not a digit of the board.
+     */
+    private int parseValue(String value) {
+        int digit = toDigit(value);
+        if (digit == 0 || digit > engine.size()) {
+            throw new IllegalArgumentException("Invalid Sudoku value: " + value);
+        }
+        return digit;
+    }
+
+    /**
+     * Converts a textual cell value into a digit without throwing. A value is either a decimal number
+     * (1-25) or a single symbol of {@link Board#symbol(int)}, so "G" and "16" are the same digit.
+     *
+     * @param value the value to convert.
+     * @return the digit (1-25), or 0 if the value is neither a number nor a symbol of a digit.
+     */
+    static int toDigit(String value) {
+        if (value == null || value.isEmpty() || value.length() > 2) {
+            return 0;
+        }
+        char first = value.charAt(0);
+        if (value.length() == 1) {
+            int digit = Character.digit(first, Character.MAX_RADIX);
+            return digit < 1 || digit > Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE ? 0 : digit;
+        }
+        char second = value.charAt(1);
+        if (first < '1' || first > '9' || second < '0' || second > '9') {
+            return 0;
+        }
+        int digit = (first - '0') * 10 + second - '0';
+        return digit > Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE ? 0 : digit;
+    }
+
+    /**
+     * Read-through view of the engine presented as a list of rows.
+     */
+    private class BoardView extends AbstractList<List<BoardCell>> {
+
+        /**
+         * The row views, one per board row.
+         */
+        private final List<List<BoardCell>> rows = new ArrayList<>(engine.size());
+
+        /**
+         * Creates the row views for every row of the board.
+         */
+        BoardView() {
+            for (int i = 0; i < engine.size(); i++) {
+                rows.add(new RowView(i));
+            }
+        }
+
+        @Override
+        public List<BoardCell> get(int index) {
+            return rows.get(index);
+        }
+
+        @Override
+        public int size() {
+            return engine.size();
+        }
+    }
+
+    /**
+     * Read-through view of a single row of the engine.
+     * Writing a cell through the view places the value in the engine.
+     */
+    private class RowView extends AbstractList<BoardCell> {
+
+        /**
+         * The row index presented by this view.
+         */
+        private final int row;
+
+        /**
+         * Creates a view of the given row.
+         *
+         * @param row the row index (0-based).
+         */
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public BoardCell get(int index) {
+            Objects.checkIndex(index, engine.size());
+            return CELLS_BY_VALUE[engine.get(row, index)];
+        }
+
+        @Override
+        public BoardCell set(int index, BoardCell element) {
+            BoardCell previous = get(index);
+            placeValue(row, index, element == null ? null : element.value());
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return engine.size();
+        }
     }
 }
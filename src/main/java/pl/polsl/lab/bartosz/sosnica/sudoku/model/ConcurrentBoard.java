@@ -0,0 +1,351 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * ConcurrentBoard is a {@link Board} shared by several players or threads without a lock.
+ * Every cell and every unit mask is an element of an {@link AtomicIntegerArray} and is changed
+ * only with atomic operations, so writers to different cells never block each other.
+ * </p>
+ * <p>
+ * A placement first claims the empty cell with a pending marker and then sets the digit's bit in the cell's row,
+ * column and box, always in this order. If one of the bits is already set, the bits claimed so far and the cell
+ * are released again and the placement is rejected; otherwise the marker is replaced by the digit.
+ * A pending cell reads as empty and cannot be cleared by other players. Of two concurrent placements
+ * of the same digit into one unit, exactly one succeeds, so the board never holds a conflict
+ * and {@link #conflictCount()} is always 0.
+ * A placement may also be rejected by a conflicting placement that is rolled back right afterwards.
+ * </p>
+ * <p>
+ * Unlike {@link BitBoard}, {@link #set(int, int, int)} checks the Sudoku rules, because a conflicting digit
+ * cannot be represented by the unit masks. {@link #reset()} must not run concurrently with other writes.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class ConcurrentBoard implements Board {
+
+    /**
+     * The outcome of {@link #tryPlace(int, int, int)}.
+     */
+    public enum Placement {
+        /**
+         * The digit was placed.
+         */
+        PLACED,
+        /**
+         * The cell already holds a digit.
+         */
+        OCCUPIED,
+        /**
+         * The digit is already present in the cell's row, column or box.
+         */
+        CONFLICT
+    }
+
+    /**
+     * The flag marking a cell claimed by a placement that has not yet claimed the unit bits.
+     */
+    private static final int PENDING = 1 << 4;
+
+    /**
+     * The offset of the column masks in {@link #masks}.
+     */
+    private static final int COLUMNS = SIZE;
+
+    /**
+     * The offset of the box masks in {@link #masks}.
+     */
+    private static final int BOXES = 2 * SIZE;
+
+    /**
+     * The digits of the board stored row by row, 0 meaning an empty cell and {@link #PENDING}
+     * marking a placement in progress.
+     */
+    private final AtomicIntegerArray cells = new AtomicIntegerArray(CELLS);
+
+    /**
+     * The masks of digits present in each row (0-8), column (9-17) and box (18-26).
+     */
+    private final AtomicIntegerArray masks = new AtomicIntegerArray(3 * SIZE);
+
+    /**
+     * The number of non-empty cells, kept in a striped counter so that writers do not contend on it.
+     */
+    private final LongAdder filled = new LongAdder();
+
+    /**
+     * The changed flags of cells 0-63.
+     */
+    private final AtomicLong changedLow = new AtomicLong(-1L);
+
+    /**
+     * The changed flags of cells 64-80.
+     */
+    private final AtomicLong changedHigh = new AtomicLong((1L << (CELLS - Long.SIZE)) - 1);
+
+    /**
+     * Places a digit into an empty cell if none of the cell's units contains it yet.
+     *
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param value the digit to place (1-9).
+     * @return the outcome of the placement.
+     * @throws IllegalArgumentException if the value is not a digit (1-9).
+     */
+    public Placement tryPlace(int row, int col, int value) {
+        if (value < 1 || value > SIZE) {
+            throw new IllegalArgumentException("Invalid Sudoku value: " + value);
+        }
+        int index = row * SIZE + col;
+        if (!cells.compareAndSet(index, 0, PENDING | value)) {
+            return Placement.OCCUPIED;
+        }
+        int bit = 1 << (value - 1);
+        int rowUnit = row;
+        int colUnit = COLUMNS + col;
+        int boxUnit = BOXES + Board.boxIndex(row, col);
+        if (!claim(rowUnit, bit)) {
+            cells.set(index, 0);
+            return Placement.CONFLICT;
+        }
+        if (!claim(colUnit, bit)) {
+            release(rowUnit, bit);
+            cells.set(index, 0);
+            return Placement.CONFLICT;
+        }
+        if (!claim(boxUnit, bit)) {
+            release(colUnit, bit);
+            release(rowUnit, bit);
+            cells.set(index, 0);
+            return Placement.CONFLICT;
+        }
+        cells.set(index, value);
+        filled.increment();
+        markChanged(index);
+        return Placement.PLACED;
+    }
+
+    /**
+     * Clears a cell if it still holds the expected digit, so a player removes only the value they have seen.
+     *
+     * @param row      the row index (0-based).
+     * @param col      the column index (0-based).
+     * @param expected the digit the cell is expected to hold (1-9).
+     * @return true if the cell was cleared, false if it held another value.
+     */
+    public boolean tryClear(int row, int col, int expected) {
+        int index = row * SIZE + col;
+        if (expected == 0 || !cells.compareAndSet(index, expected, 0)) {
+            return false;
+        }
+        int bit = 1 << (expected - 1);
+        release(BOXES + Board.boxIndex(row, col), bit);
+        release(COLUMNS + col, bit);
+        release(row, bit);
+        filled.decrement();
+        markChanged(index);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(int row, int col) {
+        int value = cells.get(row * SIZE + col);
+        return (value & PENDING) != 0 ? 0 : value;
+    }
+
+    /**
+     * Stores a digit in the specified cell, replacing any previous value. The previous value is cleared first,
+     * so other players may see the cell empty for a moment.
+     *
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param value the digit to store (1-9), or 0 to clear the cell.
+     * @throws IllegalArgumentException if the value is not a digit, or it is already present in the cell's units.
+     */
+    @Override
+    public void set(int row, int col, int value) {
+        if (value < 0 || value > SIZE) {
+            throw new IllegalArgumentException("Invalid Sudoku value: " + value);
+        }
+        while (true) {
+            int previous = get(row, col);
+            if (previous == value) {
+                return;
+            }
+            if (previous != 0 && !tryClear(row, col, previous)) {
+                continue;
+            }
+            if (value == 0) {
+                return;
+            }
+            Placement placement = tryPlace(row, col, value);
+            if (placement == Placement.PLACED) {
+                return;
+            }
+            if (placement == Placement.CONFLICT) {
+                throw new IllegalArgumentException("Value already present in row, column or box: " + value);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear(int row, int col) {
+        set(row, col, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty(int row, int col) {
+        return get(row, col) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int rowMask(int row) {
+        return masks.get(row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int colMask(int col) {
+        return masks.get(COLUMNS + col);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int boxMask(int box) {
+        return masks.get(BOXES + box);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int candidates(int row, int col) {
+        return ~(rowMask(row) | colMask(col) | boxMask(Board.boxIndex(row, col))) & ALL_DIGITS;
+    }
+
+    /**
+     * {@inheritDoc}
+     * While placements are in progress, the count may not yet include the newest ones.
+     */
+    @Override
+    public int filledCount() {
+        return filled.intValue();
+    }
+
+    /**
+     * Returns 0, because a conflicting digit is never placed on this board.
+     *
+     * @return always 0.
+     */
+    @Override
+    public int conflictCount() {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It must not run concurrently with other writes.
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < CELLS; i++) {
+            cells.set(i, 0);
+        }
+        for (int i = 0; i < masks.length(); i++) {
+            masks.set(i, 0);
+        }
+        filled.reset();
+        changedLow.set(-1L);
+        changedHigh.set((1L << (CELLS - Long.SIZE)) - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markChanged(int row, int col) {
+        markChanged(row * SIZE + col);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drainChangedCells(int[] target) {
+        int count = 0;
+        for (long bits = changedLow.getAndSet(0); bits != 0; bits &= bits - 1) {
+            target[count++] = Long.numberOfTrailingZeros(bits);
+        }
+        for (long bits = changedHigh.getAndSet(0); bits != 0; bits &= bits - 1) {
+            target[count++] = Long.SIZE + Long.numberOfTrailingZeros(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Sets a digit's bit in a unit mask unless it is already set.
+     *
+     * @param unit the index of the unit mask.
+     * @param bit  the digit's bit.
+     * @return true if the bit was set by this call, false if the unit already contains the digit.
+     */
+    private boolean claim(int unit, int bit) {
+        while (true) {
+            int mask = masks.get(unit);
+            if ((mask & bit) != 0) {
+                return false;
+            }
+            if (masks.compareAndSet(unit, mask, mask | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Clears a digit's bit claimed earlier in a unit mask. The caller owns the bit,
+     * so subtracting it clears exactly that bit in a single atomic step.
+     *
+     * @param unit the index of the unit mask.
+     * @param bit  the digit's bit.
+     */
+    private void release(int unit, int bit) {
+        masks.getAndAdd(unit, -bit);
+    }
+
+    /**
+     * Sets the changed flag of a cell.
+     *
+     * @param index the flat cell index.
+     */
+    private void markChanged(int index) {
+        AtomicLong word = index < Long.SIZE ? changedLow : changedHigh;
+        long bit = 1L << (index % Long.SIZE);
+        while (true) {
+            long bits = word.get();
+            if ((bits & bit) != 0 || word.compareAndSet(bits, bits | bit)) {
+                return;
+            }
+        }
+    }
+}
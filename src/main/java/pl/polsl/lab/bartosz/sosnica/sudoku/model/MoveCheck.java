@@ -0,0 +1,113 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.metrics.Metrics;
+
+/**
+ * <p>
+ * The result of checking a move with {@link BoardModel#checkMove(int, int, int)}, or directly against
+ * a bare engine with {@link #of(Board, int, int, int)} when no board model is needed.
+ * Checking a move returns one of these constants instead of throwing, so loops trying many candidate moves
+ * pay neither for building exceptions nor for parsing values.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public enum MoveCheck {
+    /**
+     * The move breaks no rule.
+     */
+    OK("Valid move"),
+    /**
+     * The value is already present in the cell's row.
+     */
+    ROW_CONFLICT("Value already present in row"),
+    /**
+     * The value is already present in the cell's column.
+     */
+    COL_CONFLICT("Value already present in column"),
+    /**
+     * The value is already present in the cell's box.
+     */
+    BOX_CONFLICT("Value already present in box"),
+    /**
+     * The value is not a digit of the board (1-9 on the classic board).
+     */
+    BAD_VALUE("Invalid Sudoku value");
+
+    /**
+     * The message shown to the player, also used by {@link pl.polsl.lab.bartosz.sosnica.sudoku.exception.InvalidSudokuMoveException}.
+     */
+    private final String message;
+
+    /**
+     * Constructor to initialize the result with its message.
+     *
+     * @param message the message shown to the player.
+     */
+    MoveCheck(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Checks a move against the unit masks of an engine. It takes constant time and allocates nothing.
+     *
+     * @param board the engine holding the board.
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param digit the digit to place.
+     * @return {@link #OK}, the first unit already holding the digit, or {@link #BAD_VALUE}
+     *         if the digit is not a digit of the board (1-9 on the classic board).
+     */
+    public static MoveCheck of(Board board, int row, int col, int digit) {
+        if (digit < 1 || digit > board.size()) {
+            return BAD_VALUE;
+        }
+        long start = Metrics.startTime();
+        int bit = 1 << (digit - 1);
+        MoveCheck check;
+        if ((board.rowMask(row) & bit) != 0) {
+            check = ROW_CONFLICT;
+        } else if ((board.colMask(col) & bit) != 0) {
+            check = COL_CONFLICT;
+        } else if ((board.boxMask(board.boxOf(row, col)) & bit) != 0) {
+            check = BOX_CONFLICT;
+        } else {
+            check = OK;
+        }
+        Metrics.VALIDATE.recordSince(start);
+        return check;
+    }
+
+    /**
+     * Checks a move given as text against the unit masks of an engine.
+     *
+     * @param board the engine holding the board.
+     * @param row   the row index (0-based).
+     * @param col   the column index (0-based).
+     * @param value the value to place, a decimal number or a symbol of {@link Board#symbol(int)}.
+     * @return the result of {@link #of(Board, int, int, int)}, or {@link #BAD_VALUE}
+     *         if the value is not a digit of the board.
+     */
+    public static MoveCheck of(Board board, int row, int col, String value) {
+        return of(board, row, col, BoardModel.toDigit(value));
+    }
+
+    /**
+     * Gets the message shown to the player.
+     *
+     * @return the message describing the result.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Checks whether the move may be placed.
+     *
+     * @return true for {@link #OK}, false otherwise.
+     */
+    public boolean isValid() {
+        return this == OK;
+    }
+}
@@ -0,0 +1,370 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * The MoveLog class records the moves of a game for undo and redo. A move is packed into a single int
+ * holding the cell index (7 bits), the old value (4 bits) and the new value (4 bits), so recording
+ * a move never allocates an object.
+ * </p>
+ * <p>
+ * Boards larger than 9x9 need more bits: the higher bits of the cell index (3 bits) and of both values
+ * (1 bit each) are stored above the first 15 bits. They are 0 on a 9x9 board, so a 9x9 move packs
+ * to the same int it always did and move files written before larger boards existed still replay.
+ * </p>
+ * <p>
+ * The moves are kept in a ring buffer that doubles its capacity up to a maximum; once the maximum is reached,
+ * the oldest move is overwritten and can no longer be undone. Recording a new move discards the moves that
+ * were undone and not redone.
+ * </p>
+ * <p>
+ * Every change of the board, including the ones made by undo and redo, is also kept as an event until it is
+ * appended to a channel with {@link #appendTo(WritableByteChannel)}. An undo is written as the inverse move,
+ * so {@link #replay(ReadableByteChannel, Board)} rebuilds the board by applying the events in order.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class MoveLog {
+
+    /**
+     * The default maximum number of moves kept for undo.
+     */
+    public static final int DEFAULT_MAX_CAPACITY = 1 << 16;
+
+    /**
+     * The initial capacity of the ring buffer and of the event buffer.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The number of low bits holding the cell index of a move.
+     */
+    private static final int CELL_BITS = 7;
+
+    /**
+     * The number of low bits holding a value of a move.
+     */
+    private static final int VALUE_BITS = 4;
+
+    /**
+     * The position of the high bits of the cell index, above the low bits of the cell and both values.
+     */
+    private static final int CELL_HIGH_SHIFT = CELL_BITS + 2 * VALUE_BITS;
+
+    /**
+     * The number of high bits of the cell index, enough for the 625 cells of a 25x25 board.
+     */
+    private static final int CELL_HIGH_BITS = 3;
+
+    /**
+     * The position of the high bit of the old value.
+     */
+    private static final int OLD_HIGH_SHIFT = CELL_HIGH_SHIFT + CELL_HIGH_BITS;
+
+    /**
+     * The position of the high bit of the new value, enough for the 25 digits of a 25x25 board.
+     */
+    private static final int NEW_HIGH_SHIFT = OLD_HIGH_SHIFT + 1;
+
+    /**
+     * The mask of the cell index of a move.
+     */
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+
+    /**
+     * The mask of a value of a move.
+     */
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+
+    /**
+     * The size of the buffer used to write and read events.
+     */
+    private static final int IO_BUFFER_SIZE = 4096;
+
+    /**
+     * The maximum number of moves kept for undo; a power of two.
+     */
+    private final int maxCapacity;
+
+    /**
+     * The ring buffer of moves; its length is a power of two.
+     */
+    private int[] moves;
+
+    /**
+     * The index of the oldest move in the ring buffer.
+     */
+    private int head;
+
+    /**
+     * The number of recorded moves, including the undone ones that can be redone.
+     */
+    private int size;
+
+    /**
+     * The number of recorded moves currently applied to the board.
+     */
+    private int applied;
+
+    /**
+     * The board changes not yet appended to a channel.
+     */
+    private int[] events = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of board changes not yet appended to a channel.
+     */
+    private int eventCount;
+
+    /**
+     * The buffer reused to write events, created on the first append.
+     */
+    private ByteBuffer ioBuffer;
+
+    /**
+     * Constructor creating a log keeping up to {@value #DEFAULT_MAX_CAPACITY} moves for undo.
+     */
+    public MoveLog() {
+        this(DEFAULT_MAX_CAPACITY);
+    }
+
+    /**
+     * Constructor creating a log keeping up to the given number of moves for undo.
+     *
+     * @param maxCapacity the maximum number of moves; a power of two.
+     * @throws IllegalArgumentException if the capacity is not a positive power of two.
+     */
+    public MoveLog(int maxCapacity) {
+        if (maxCapacity <= 0 || Integer.bitCount(maxCapacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + maxCapacity);
+        }
+        this.maxCapacity = maxCapacity;
+        this.moves = new int[Math.min(INITIAL_CAPACITY, maxCapacity)];
+    }
+
+    /**
+     * Packs a move into an int.
+     *
+     * @param cell     the cell index ({@code row * size + col}, below 625).
+     * @param oldValue the value before the move (0-25), 0 for an empty cell.
+     * @param newValue the value after the move (0-25), 0 for an empty cell.
+     * @return the packed move.
+     */
+    public static int pack(int cell, int oldValue, int newValue) {
+        return (cell & CELL_MASK)
+                | (oldValue & VALUE_MASK) << CELL_BITS
+                | (newValue & VALUE_MASK) << (CELL_BITS + VALUE_BITS)
+                | (cell >>> CELL_BITS) << CELL_HIGH_SHIFT
+                | (oldValue >>> VALUE_BITS) << OLD_HIGH_SHIFT
+                | (newValue >>> VALUE_BITS) << NEW_HIGH_SHIFT;
+    }
+
+    /**
+     * Returns the cell index of a packed move.
+     *
+     * @param move the packed move.
+     * @return the cell index.
+     */
+    public static int cell(int move) {
+        return (move & CELL_MASK) | ((move >>> CELL_HIGH_SHIFT) & ((1 << CELL_HIGH_BITS) - 1)) << CELL_BITS;
+    }
+
+    /**
+     * Returns the value before a packed move.
+     *
+     * @param move the packed move.
+     * @return the old value, 0 for an empty cell.
+     */
+    public static int oldValue(int move) {
+        return ((move >>> CELL_BITS) & VALUE_MASK) | ((move >>> OLD_HIGH_SHIFT) & 1) << VALUE_BITS;
+    }
+
+    /**
+     * Returns the value after a packed move.
+     *
+     * @param move the packed move.
+     * @return the new value, 0 for an empty cell.
+     */
+    public static int newValue(int move) {
+        return ((move >>> (CELL_BITS + VALUE_BITS)) & VALUE_MASK) | ((move >>> NEW_HIGH_SHIFT) & 1) << VALUE_BITS;
+    }
+
+    /**
+     * Records a move applied to the board, discarding the moves that can be redone.
+     *
+     * @param move the packed move.
+     */
+    public void record(int move) {
+        size = applied;
+        if (size == moves.length) {
+            if (moves.length < maxCapacity) {
+                grow();
+            } else {
+                head = (head + 1) & (moves.length - 1);
+                size--;
+            }
+        }
+        moves[(head + size) & (moves.length - 1)] = move;
+        applied = ++size;
+        addEvent(move);
+    }
+
+    /**
+     * Checks whether a move can be undone.
+     *
+     * @return true if at least one recorded move is applied.
+     */
+    public boolean canUndo() {
+        return applied > 0;
+    }
+
+    /**
+     * Checks whether an undone move can be redone.
+     *
+     * @return true if at least one move was undone since the last recorded move.
+     */
+    public boolean canRedo() {
+        return applied < size;
+    }
+
+    /**
+     * Steps back over the last applied move. The caller restores its old value.
+     *
+     * @return the packed move being undone.
+     * @throws IllegalStateException if there is no move to undo.
+     */
+    public int undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("No move to undo");
+        }
+        int move = moves[(head + --applied) & (moves.length - 1)];
+        addEvent(pack(cell(move), newValue(move), oldValue(move)));
+        return move;
+    }
+
+    /**
+     * Steps forward over the last undone move. The caller applies its new value again.
+     *
+     * @return the packed move being redone.
+     * @throws IllegalStateException if there is no move to redo.
+     */
+    public int redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("No move to redo");
+        }
+        int move = moves[(head + applied++) & (moves.length - 1)];
+        addEvent(move);
+        return move;
+    }
+
+    /**
+     * Returns the number of recorded moves, including the undone ones that can be redone.
+     *
+     * @return the number of moves kept in the log.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of board changes waiting to be appended to a channel.
+     *
+     * @return the number of pending events.
+     */
+    public int pendingEvents() {
+        return eventCount;
+    }
+
+    /**
+     * Forgets all moves and pending events, as at the start of a new game.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        applied = 0;
+        eventCount = 0;
+    }
+
+    /**
+     * Appends the pending board changes to a channel as big-endian ints and forgets them.
+     *
+     * @param channel the channel receiving the events, usually a file opened for appending.
+     * @throws IOException if the events cannot be written; they stay pending.
+     */
+    public void appendTo(WritableByteChannel channel) throws IOException {
+        if (ioBuffer == null) {
+            ioBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        }
+        int written = 0;
+        while (written < eventCount) {
+            ioBuffer.clear();
+            while (written < eventCount && ioBuffer.remaining() >= Integer.BYTES) {
+                ioBuffer.putInt(events[written++]);
+            }
+            ioBuffer.flip();
+            while (ioBuffer.hasRemaining()) {
+                channel.write(ioBuffer);
+            }
+        }
+        eventCount = 0;
+    }
+
+    /**
+     * Applies the events read from a channel to a board, in the order they were appended.
+     * A partial event at the end of the channel, left by an interrupted append, is ignored.
+     *
+     * @param channel the channel holding events written by {@link #appendTo(WritableByteChannel)}.
+     * @param board   the board receiving the changes.
+     * @return the number of events applied.
+     * @throws IOException if the channel cannot be read or holds an invalid cell index.
+     */
+    public static int replay(ReadableByteChannel channel, Board board) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        int count = 0;
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            while (buffer.remaining() >= Integer.BYTES) {
+                int move = buffer.getInt();
+                int cell = cell(move);
+                if (cell >= board.cellCount() || newValue(move) > board.size()) {
+                    throw new IOException("Invalid move in log: " + Integer.toHexString(move));
+                }
+                board.set(cell / board.size(), cell % board.size(), newValue(move));
+                count++;
+            }
+            buffer.compact();
+        }
+        return count;
+    }
+
+    /**
+     * Doubles the ring buffer, moving the oldest move to the start.
+     */
+    private void grow() {
+        int[] grown = new int[moves.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = moves[(head + i) & (moves.length - 1)];
+        }
+        moves = grown;
+        head = 0;
+    }
+
+    /**
+     * Keeps a board change until the next append.
+     *
+     * @param move the packed change.
+     */
+    private void addEvent(int move) {
+        if (eventCount == events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        events[eventCount++] = move;
+    }
+}
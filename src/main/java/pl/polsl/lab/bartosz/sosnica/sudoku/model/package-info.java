@@ -5,6 +5,11 @@
  * <h2>Models:</h2>
  * <ul>
  *     <li>BoardModel: Represents the Sudoku board and its state.</li>
+ *     <li>Board: Describes the primitive storage engine behind the board model.</li>
+ *     <li>BitBoard: Stores the board in a flat byte array with per-unit digit masks.</li>
+ *     <li>ConcurrentBoard: Shares one board between threads with lock-free cell and unit mask updates.</li>
+ *     <li>MoveLog: Records packed moves in a ring buffer for undo, redo and replay.</li>
+ *     <li>MoveCheck: The result code of checking a move without throwing.</li>
  *     <li>GameModel: Manages the overall game state and logic.</li>
  *     <li>UserModel: Manages user-related data and preferences.</li>
  * </ul>
@@ -0,0 +1,272 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.save;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.codec.PuzzleCodec;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.BinaryGameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.MoveLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>
+ * The GameSaveStore class keeps one saved game per player, so an unfinished game can be resumed later.
+ * A save is a single {@value #SNAPSHOT_SIZE}-byte record: a magic number, the format version,
+ * the difficulty level, the playing time, the two words of the givens mask and the grid
+ * packed with {@link PuzzleCodec#pack}.
+ * </p>
+ * <p>
+ * Saving writes the record to a temporary file and moves it over the slot atomically,
+ * so a crash leaves either the previous save or the new one. Both saving and loading
+ * move the record with a single buffer reused by the store.
+ * </p>
+ * <p>
+ * Next to every save, the moves of the game are appended to a move file written with
+ * {@link MoveLog#appendTo}, so the game can be replayed from its givens with {@link #replay}.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class GameSaveStore {
+
+    /**
+     * The name of the directory holding the saves inside the data directory.
+     */
+    public static final String SAVES_DIRECTORY = "saves";
+
+    /**
+     * The size of a saved game in bytes.
+     */
+    public static final int SNAPSHOT_SIZE = Integer.BYTES + 2 + 3 * Long.BYTES + PuzzleCodec.PACKED_SIZE;
+
+    /**
+     * The magic number at the start of a save ("SDKG").
+     */
+    private static final int MAGIC = 0x53444B47;
+
+    /**
+     * The version of the save format.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * The difficulty byte stored when no difficulty level was chosen.
+     */
+    private static final byte NO_DIFFICULTY = (byte) 0xFF;
+
+    /**
+     * The extension of the save files.
+     */
+    private static final String EXTENSION = ".sav";
+
+    /**
+     * The extension of the move files.
+     */
+    private static final String MOVES_EXTENSION = ".moves";
+
+    /**
+     * The shared store in the default data directory.
+     */
+    private static GameSaveStore defaultStore;
+
+    /**
+     * The directory holding the save files.
+     */
+    private final Path directory;
+
+    /**
+     * The buffer reused for every save and load.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_SIZE);
+
+    /**
+     * Constructor creating a store keeping its saves in the given directory.
+     *
+     * @param directory the directory holding the save files; it is created on the first save.
+     */
+    public GameSaveStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the shared store in the {@value #SAVES_DIRECTORY} directory of the default data directory.
+     *
+     * @return the shared store.
+     */
+    public static synchronized GameSaveStore getDefault() {
+        if (defaultStore == null) {
+            defaultStore = new GameSaveStore(BinaryGameHistoryRepository.defaultDirectory().resolve(SAVES_DIRECTORY));
+        }
+        return defaultStore;
+    }
+
+    /**
+     * Saves the game of a player, replacing their previous save, and appends the moves made since
+     * the last save to the player's move file.
+     *
+     * @param username  the name of the player.
+     * @param boardModel the game to save.
+     * @throws IOException if the save cannot be written.
+     */
+    public synchronized void save(String username, BoardModel boardModel) throws IOException {
+        BoardModel.DifficultyLevel level = boardModel.getDifficultyLevel();
+        buffer.clear();
+        buffer.putInt(MAGIC)
+                .put(VERSION)
+                .put(level == null ? NO_DIFFICULTY : (byte) level.ordinal())
+                .putLong(boardModel.getElapsedMillis())
+                .putLong(boardModel.getGivensLow())
+                .putLong(boardModel.getGivensHigh());
+        PuzzleCodec.pack(boardModel.getEngine(), buffer);
+        buffer.flip();
+
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "save", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, WRITE, TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, slot(username), ATOMIC_MOVE, REPLACE_EXISTING);
+
+        try (FileChannel channel = FileChannel.open(movesFile(username), WRITE, CREATE, APPEND)) {
+            boardModel.getMoveLog().appendTo(channel);
+        }
+    }
+
+    /**
+     * Loads the saved game of a player and rebuilds its cells from the givens by replaying the move file,
+     * instead of taking them from the save.
+     *
+     * @param username   the name of the player.
+     * @param boardModel the board model receiving the game; it is not changed if there is no save.
+     * @return true if a save was loaded and replayed, false if the player has none.
+     * @throws IOException if the save or the move file cannot be read or is not valid.
+     */
+    public synchronized boolean replay(String username, BoardModel boardModel) throws IOException {
+        if (!load(username, boardModel)) {
+            return false;
+        }
+        Board board = boardModel.getEngine();
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                if (!boardModel.isGiven(row, col)) {
+                    board.clear(row, col);
+                }
+            }
+        }
+        try (FileChannel channel = FileChannel.open(movesFile(username), READ)) {
+            MoveLog.replay(channel, board);
+        } catch (NoSuchFileException e) {
+            // A save without moves holds only the givens
+        }
+        return true;
+    }
+
+    /**
+     * Loads the saved game of a player into the board model.
+     *
+     * @param username   the name of the player.
+     * @param boardModel the board model receiving the game; it is not changed if there is no save.
+     * @return true if a save was loaded, false if the player has none.
+     * @throws IOException if the save cannot be read or is not a valid save.
+     */
+    public synchronized boolean load(String username, BoardModel boardModel) throws IOException {
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(slot(username), READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the save is complete
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        buffer.flip();
+        if (buffer.remaining() != SNAPSHOT_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            throw new IOException("Not a saved game of version " + VERSION + ": " + slot(username));
+        }
+        int level = buffer.get();
+        if (level != NO_DIFFICULTY && (level < 0 || level >= BoardModel.DifficultyLevel.values().length)) {
+            throw new IOException("Invalid difficulty level in saved game: " + level);
+        }
+        long elapsedMillis = buffer.getLong();
+        long givensLow = buffer.getLong();
+        long givensHigh = buffer.getLong();
+
+        PuzzleCodec.unpack(buffer, boardModel.getEngine());
+        if (level != NO_DIFFICULTY) {
+            boardModel.settingDifficultyLevel(BoardModel.DifficultyLevel.values()[level]);
+        }
+        boardModel.resumeGame(givensLow, givensHigh, elapsedMillis);
+        return true;
+    }
+
+    /**
+     * Checks whether a player has a saved game.
+     *
+     * @param username the name of the player.
+     * @return true if a save exists.
+     */
+    public boolean hasSave(String username) {
+        return Files.isRegularFile(slot(username));
+    }
+
+    /**
+     * Deletes the saved game of a player and its move file, if any.
+     *
+     * @param username the name of the player.
+     * @throws IOException if the save cannot be deleted.
+     */
+    public synchronized void delete(String username) throws IOException {
+        Files.deleteIfExists(slot(username));
+        Files.deleteIfExists(movesFile(username));
+    }
+
+    /**
+     * Returns the save file of a player. The name is the URL-safe Base64 form of the username,
+     * so every username maps to its own valid file name.
+     *
+     * @param username the name of the player.
+     * @return the path of the save file.
+     */
+    Path slot(String username) {
+        return directory.resolve(fileName(username) + EXTENSION);
+    }
+
+    /**
+     * Returns the move file of a player, next to their save file.
+     *
+     * @param username the name of the player.
+     * @return the path of the move file.
+     */
+    Path movesFile(String username) {
+        return directory.resolve(fileName(username) + MOVES_EXTENSION);
+    }
+
+    /**
+     * Returns the file name of a player without an extension: the URL-safe Base64 form of the username.
+     *
+     * @param username the name of the player.
+     * @return the file name.
+     */
+    private static String fileName(String username) {
+        String name = username == null ? "" : username;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
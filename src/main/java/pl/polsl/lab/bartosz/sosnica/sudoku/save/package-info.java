@@ -0,0 +1,16 @@
+/**
+ * This package contains the saved games of the Sudoku game.
+ * An unfinished game is stored as one small binary record per player
+ * and can be resumed the next time the player sets up a board.
+ *
+ * <h2>Saves:</h2>
+ * <ul>
+ *     <li>GameSaveStore: Saves, loads and deletes the unfinished game of each player.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.save;
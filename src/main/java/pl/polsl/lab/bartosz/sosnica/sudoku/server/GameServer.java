@@ -0,0 +1,445 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import pl.polsl.lab.bartosz.sosnica.sudoku.codec.PuzzleCodec;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzlePool;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.BinaryGameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameRecord;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BitBoard;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.MoveCheck;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>
+ * The GameServer class exposes the game engine over HTTP, so web and mobile clients share the same
+ * generator, solver and game history as the desktop game. It is built on the JDK's
+ * {@link HttpServer}, listens on the loopback address and handles every request on its own virtual thread.
+ * </p>
+ * <ul>
+ *     <li>{@code GET /puzzle?difficulty=Hard}: a new puzzle as an 81-character line.</li>
+ *     <li>{@code POST /validate?row=0&col=4&value=7} with a puzzle line as the body:
+ *     {@code OK}, or status 409 with the rule the move breaks.</li>
+ *     <li>{@code POST /solve} with a puzzle line as the body: the solution line, or status 422.</li>
+ *     <li>{@code POST /history?user=anna&difficulty=Hard&solved=true}: appends a game record dated today.</li>
+ * </ul>
+ * <p>
+ * Puzzles use the text format of {@link PuzzleCodec}. Requests are stateless: every request carries
+ * its board, which is decoded into a board owned by that request. Malformed requests are answered
+ * with status 400, unsupported methods with 405.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class GameServer implements Closeable {
+
+    /**
+     * The argument selecting the server mode.
+     */
+    public static final String SERVER_FLAG = "--server";
+
+    /**
+     * The port used when none is given.
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * The status of a successful request.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The status of a successful request without a body.
+     */
+    private static final int NO_CONTENT = 204;
+
+    /**
+     * The status of a malformed request.
+     */
+    private static final int BAD_REQUEST = 400;
+
+    /**
+     * The status of a request using an unsupported method.
+     */
+    private static final int METHOD_NOT_ALLOWED = 405;
+
+    /**
+     * The status of a move that breaks a Sudoku rule.
+     */
+    private static final int CONFLICT = 409;
+
+    /**
+     * The status of a puzzle without a solution.
+     */
+    private static final int UNPROCESSABLE = 422;
+
+    /**
+     * The status of a request that failed on the server.
+     */
+    private static final int SERVER_ERROR = 500;
+
+    /**
+     * The HTTP server receiving the requests.
+     */
+    private final HttpServer server;
+
+    /**
+     * The executor starting one virtual thread per request.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * The repository receiving the game records, or null to use the shared default one.
+     */
+    private final GameHistoryRepository gameHistory;
+
+    /**
+     * Constructor creating a server on the given loopback port. The server does not accept requests
+     * until {@link #start()} is called.
+     *
+     * @param port        the port to listen on, or 0 to choose a free one.
+     * @param gameHistory the repository receiving the game records, or null to use the shared default one.
+     * @throws IOException if the port cannot be bound.
+     */
+    public GameServer(int port, GameHistoryRepository gameHistory) throws IOException {
+        this.gameHistory = gameHistory;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext("/puzzle", exchange -> handle(exchange, "GET", this::puzzle));
+        server.createContext("/validate", exchange -> handle(exchange, "POST", this::validate));
+        server.createContext("/solve", exchange -> handle(exchange, "POST", this::solve));
+        server.createContext("/history", exchange -> handle(exchange, "POST", this::history));
+    }
+
+    /**
+     * Checks whether the arguments select the server mode.
+     *
+     * @param args the command-line arguments.
+     * @return true if the first argument is {@value #SERVER_FLAG}.
+     */
+    public static boolean isServer(String[] args) {
+        return args.length > 0 && SERVER_FLAG.equals(args[0]);
+    }
+
+    /**
+     * Starts a server with the shared game history on the port given after {@value #SERVER_FLAG},
+     * or on {@value #DEFAULT_PORT}. The server keeps the application running until it is stopped.
+     *
+     * @param args the command-line arguments, starting with {@value #SERVER_FLAG}.
+     * @return the started server.
+     * @throws IOException if the port cannot be bound.
+     * @throws IllegalArgumentException if the port is not a number.
+     */
+    public static GameServer run(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        GameServer gameServer = new GameServer(port, null);
+        gameServer.start();
+        return gameServer;
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, letting requests in progress finish for up to one second.
+     */
+    @Override
+    public void close() {
+        close(1);
+    }
+
+    /**
+     * Stops the server, letting requests in progress finish for up to the given time.
+     * The JDK's server waits for the whole delay even when no request is in progress,
+     * so callers that know the server is idle pass 0.
+     *
+     * @param delaySeconds the longest time to wait for requests in progress, in seconds.
+     */
+    public void close(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.close();
+    }
+
+    /**
+     * Answers {@code GET /puzzle} with a puzzle taken from the shared pool of the requested level.
+     *
+     * @param exchange the request.
+     * @param query    the query parameters.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void puzzle(HttpExchange exchange, Map<String, String> query) throws IOException {
+        BoardModel.DifficultyLevel level = BoardModel.DifficultyLevel.valueOf(required(query, "difficulty"));
+        sendBoard(exchange, PuzzlePool.forLevel(level).take());
+    }
+
+    /**
+     * Answers {@code POST /validate} by checking the move against the board in the body.
+     * The board is decoded into a bare engine, so the check costs only the decoding and a few mask reads.
+     *
+     * @param exchange the request.
+     * @param query    the query parameters.
+     * @throws IOException if the body is not a puzzle line or the response cannot be sent.
+     */
+    private void validate(HttpExchange exchange, Map<String, String> query) throws IOException {
+        int row = index(required(query, "row"));
+        int col = index(required(query, "col"));
+        String value = required(query, "value");
+        Board board = new BitBoard();
+        readBoard(exchange, board);
+        MoveCheck check = MoveCheck.of(board, row, col, value);
+        if (check == MoveCheck.BAD_VALUE) {
+            send(exchange, BAD_REQUEST, check.getMessage() + ": " + value);
+        } else if (!check.isValid()) {
+            send(exchange, CONFLICT, check.getMessage());
+        } else {
+            send(exchange, OK, "OK");
+        }
+    }
+
+    /**
+     * Answers {@code POST /solve} with the solution of the board in the body.
+     *
+     * @param exchange the request.
+     * @param query    the query parameters.
+     * @throws IOException if the body is not a puzzle line or the response cannot be sent.
+     */
+    private void solve(HttpExchange exchange, Map<String, String> query) throws IOException {
+        BoardModel boardModel = new BoardModel();
+        readBoard(exchange, boardModel.getEngine());
+        if (boardModel.hasConflicts() || !new BitmaskSolver().solve(boardModel)) {
+            send(exchange, UNPROCESSABLE, "No solution");
+            return;
+        }
+        sendBoard(exchange, boardModel);
+    }
+
+    /**
+     * Answers {@code POST /history} by appending a game record dated today.
+     *
+     * @param exchange the request.
+     * @param query    the query parameters.
+     * @throws IOException if the record cannot be appended or the response cannot be sent.
+     */
+    private void history(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String user = required(query, "user");
+        String difficulty = query.get("difficulty");
+        BoardModel.DifficultyLevel level = difficulty == null ? null : BoardModel.DifficultyLevel.valueOf(difficulty);
+        boolean solved = Boolean.parseBoolean(query.get("solved"));
+        gameHistory().append(new GameRecord(user, LocalDate.now(), level, solved));
+        exchange.sendResponseHeaders(NO_CONTENT, -1);
+        exchange.close();
+    }
+
+    /**
+     * Runs a handler for a request using the expected method and maps its failures to error responses.
+     *
+     * @param exchange the request.
+     * @param method   the HTTP method the endpoint accepts.
+     * @param handler  the endpoint handler.
+     */
+    private void handle(HttpExchange exchange, String method, Handler handler) {
+        try (exchange) {
+            try {
+                if (!method.equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    send(exchange, METHOD_NOT_ALLOWED, "Use " + method);
+                    return;
+                }
+                handler.handle(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException | MalformedRequestException e) {
+                send(exchange, BAD_REQUEST, e.getMessage());
+            } catch (IOException e) {
+                e.printStackTrace();
+                send(exchange, SERVER_ERROR, "Server error");
+            }
+        } catch (IOException e) {
+            // The client went away before the response was sent
+        }
+    }
+
+    /**
+     * Decodes the puzzle line in the request body into a board.
+     *
+     * @param exchange the request.
+     * @param board    the board receiving the puzzle.
+     * @throws IOException if the body cannot be read.
+     */
+    private static void readBoard(HttpExchange exchange, Board board) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(PuzzleCodec.LINE_SIZE);
+        }
+        try {
+            PuzzleCodec.decodeText(ByteBuffer.wrap(body), board);
+        } catch (IOException e) {
+            throw new MalformedRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a board as a puzzle line.
+     *
+     * @param exchange   the request.
+     * @param boardModel the board model to send.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void sendBoard(HttpExchange exchange, BoardModel boardModel) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate(PuzzleCodec.LINE_SIZE);
+        PuzzleCodec.encodeText(boardModel.getEngine(), line);
+        send(exchange, OK, line.array());
+    }
+
+    /**
+     * Sends a text response.
+     *
+     * @param exchange the request.
+     * @param status   the HTTP status.
+     * @param text     the response text.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        send(exchange, status, (text + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a response body.
+     *
+     * @param exchange the request.
+     * @param status   the HTTP status.
+     * @param body     the response body.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Splits a raw query string into decoded parameters.
+     *
+     * @param rawQuery the query string, or null if the request has none.
+     * @return the parameters by name.
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Returns the value of a required query parameter.
+     *
+     * @param query the query parameters.
+     * @param name  the name of the parameter.
+     * @return the value of the parameter.
+     * @throws IllegalArgumentException if the parameter is missing.
+     */
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Parses a row or column index.
+     *
+     * @param text the index as text.
+     * @return the index (0-8).
+     * @throws IllegalArgumentException if the text is not an index of the board.
+     */
+    private static int index(String text) {
+        int index = Integer.parseInt(text);
+        if (index < 0 || index >= Board.SIZE) {
+            throw new IllegalArgumentException("Index out of the board: " + index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the repository receiving the game records.
+     *
+     * @return the repository given to the constructor, or the shared default one.
+     * @throws IOException if the default repository cannot be opened.
+     */
+    private GameHistoryRepository gameHistory() throws IOException {
+        return gameHistory != null ? gameHistory : BinaryGameHistoryRepository.getDefault();
+    }
+
+    /**
+     * A handler of one endpoint.
+     */
+    @FunctionalInterface
+    private interface Handler {
+
+        /**
+         * Handles a request and sends its response.
+         *
+         * @param exchange the request.
+         * @param query    the query parameters.
+         * @throws IOException if the request cannot be handled.
+         */
+        void handle(HttpExchange exchange, Map<String, String> query) throws IOException;
+    }
+
+    /**
+     * Signals a request body that is not a puzzle line.
+     */
+    private static class MalformedRequestException extends IOException {
+
+        /**
+         * Constructor creating the exception with a message.
+         *
+         * @param message the description of the problem.
+         */
+        MalformedRequestException(String message) {
+            super(message);
+        }
+    }
+}
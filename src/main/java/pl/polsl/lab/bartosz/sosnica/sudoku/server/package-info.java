@@ -0,0 +1,16 @@
+/**
+ * This package contains the HTTP server of the Sudoku game.
+ * It lets web and mobile clients generate, validate and solve puzzles
+ * and record their games with the same engine as the desktop game.
+ *
+ * <h2>Server:</h2>
+ * <ul>
+ *     <li>GameServer: Serves the puzzle, validate, solve and history endpoints on virtual threads.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.server;
@@ -0,0 +1,363 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.metrics.Metrics;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * BitmaskSolver is a constraint-propagation solver working on candidate masks with one bit per digit,
+ * so it solves boards of every supported size, from 4x4 to 25x25.
+ * Before every branch it repeatedly places naked singles (cells with one candidate)
+ * and hidden singles (digits with one possible cell in a unit). When propagation stalls,
+ * it branches on the empty cell with the fewest candidates (minimum remaining values).
+ * </p>
+ * <p>
+ * All placements are recorded on a trail, so backtracking only undoes the cells
+ * placed since the branch point and the search allocates nothing.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class BitmaskSolver implements SudokuSolver {
+
+    /**
+     * The row of every cell index of the classic board.
+     */
+    static final int[] ROW_OF = Geometry.CLASSIC.rowOf;
+
+    /**
+     * The column of every cell index of the classic board.
+     */
+    static final int[] COL_OF = Geometry.CLASSIC.colOf;
+
+    /**
+     * The box of every cell index of the classic board.
+     */
+    static final int[] BOX_OF = Geometry.CLASSIC.boxOf;
+
+    /**
+     * The cell indexes of all 27 units of the classic board: nine rows, nine columns and nine boxes.
+     */
+    static final int[][] UNITS = Geometry.CLASSIC.units;
+
+    /**
+     * The row of every cell index of the loaded board.
+     */
+    private int[] rowOf = ROW_OF;
+
+    /**
+     * The column of every cell index of the loaded board.
+     */
+    private int[] colOf = COL_OF;
+
+    /**
+     * The box of every cell index of the loaded board.
+     */
+    private int[] boxOf = BOX_OF;
+
+    /**
+     * The cell indexes of all units of the loaded board.
+     */
+    private int[][] units = UNITS;
+
+    /**
+     * The number of cells of the loaded board.
+     */
+    private int cellCount = Board.CELLS;
+
+    /**
+     * The number of digits of the loaded board.
+     */
+    private int size = Board.SIZE;
+
+    /**
+     * The mask with a bit set for every digit of the loaded board.
+     */
+    private int allDigits = Board.ALL_DIGITS;
+
+    /**
+     * The working grid, 0 meaning an empty cell.
+     */
+    private final int[] cells = new int[Board.MAX_CELLS];
+
+    /**
+     * The masks of digits used in each row.
+     */
+    private final int[] rowUsed = new int[Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE];
+
+    /**
+     * The masks of digits used in each column.
+     */
+    private final int[] colUsed = new int[Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE];
+
+    /**
+     * The masks of digits used in each box.
+     */
+    private final int[] boxUsed = new int[Board.MAX_BOX_SIZE * Board.MAX_BOX_SIZE];
+
+    /**
+     * The cells placed during the search, in placement order.
+     */
+    private final int[] trail = new int[Board.MAX_CELLS];
+
+    /**
+     * The number of entries on the trail.
+     */
+    private int trailSize;
+
+    /**
+     * The first solution found by the current search.
+     */
+    private final int[] solution = new int[Board.MAX_CELLS];
+
+    /**
+     * The number of solutions found by the current search.
+     */
+    private int solutions;
+
+    /**
+     * The number of solutions after which the current search stops.
+     */
+    private int limit;
+
+    /**
+     * The number of dead ends reached by the current search.
+     */
+    private int backtracks;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean solve(BoardModel boardModel) {
+        Board board = boardModel.getEngine();
+        if (!load(board)) {
+            return false;
+        }
+        limit = 1;
+        solutions = 0;
+        backtracks = 0;
+        search();
+        Metrics.SOLVER_BACKTRACKS.add(backtracks);
+        if (solutions == 0) {
+            return false;
+        }
+        for (int i = 0; i < cellCount; i++) {
+            if (board.isEmpty(rowOf[i], colOf[i])) {
+                board.set(rowOf[i], colOf[i], solution[i]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countSolutions(BoardModel boardModel, int limit) {
+        if (limit < 1 || !load(boardModel.getEngine())) {
+            return 0;
+        }
+        this.limit = limit;
+        solutions = 0;
+        backtracks = 0;
+        search();
+        Metrics.SOLVER_BACKTRACKS.add(backtracks);
+        return solutions;
+    }
+
+    /**
+     * Selects the lookup tables of the board's size and copies its givens into the working arrays.
+     *
+     * @param board the board to read.
+     * @return false if two givens already conflict, true otherwise.
+     */
+    private boolean load(Board board) {
+        Geometry geometry = Geometry.of(board);
+        rowOf = geometry.rowOf;
+        colOf = geometry.colOf;
+        boxOf = geometry.boxOf;
+        units = geometry.units;
+        cellCount = geometry.cells;
+        size = geometry.size;
+        allDigits = geometry.allDigits;
+        Arrays.fill(rowUsed, 0);
+        Arrays.fill(colUsed, 0);
+        Arrays.fill(boxUsed, 0);
+        trailSize = 0;
+        for (int i = 0; i < cellCount; i++) {
+            int value = board.get(rowOf[i], colOf[i]);
+            cells[i] = 0;
+            if (value != 0) {
+                if ((candidates(i) & (1 << (value - 1))) == 0) {
+                    return false;
+                }
+                place(i, value);
+            }
+        }
+        trailSize = 0;
+        return true;
+    }
+
+    /**
+     * Runs propagation and branching from the current state.
+     * The state is restored before the method returns.
+     *
+     * @return true if the solution limit has been reached and the search should stop.
+     */
+    private boolean search() {
+        int mark = trailSize;
+        if (!propagate()) {
+            backtracks++;
+            undo(mark);
+            return false;
+        }
+
+        int best = -1;
+        int bestCandidates = 0;
+        int bestCount = size + 1;
+        for (int i = 0; i < cellCount; i++) {
+            if (cells[i] == 0) {
+                int candidates = candidates(i);
+                int count = Integer.bitCount(candidates);
+                if (count < bestCount) {
+                    best = i;
+                    bestCandidates = candidates;
+                    bestCount = count;
+                    if (count == 2) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (best < 0) {
+            if (++solutions == 1) {
+                System.arraycopy(cells, 0, solution, 0, cellCount);
+            }
+            undo(mark);
+            return solutions >= limit;
+        }
+
+        int branchMark = trailSize;
+        while (bestCandidates != 0) {
+            int bit = bestCandidates & -bestCandidates;
+            bestCandidates ^= bit;
+            place(best, Integer.numberOfTrailingZeros(bit) + 1);
+            boolean stop = search();
+            undo(branchMark);
+            if (stop) {
+                undo(mark);
+                return true;
+            }
+        }
+        undo(mark);
+        return false;
+    }
+
+    /**
+     * Places naked and hidden singles until no more can be found.
+     *
+     * @return false if a contradiction was reached, true otherwise.
+     */
+    private boolean propagate() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (int i = 0; i < cellCount; i++) {
+                if (cells[i] == 0) {
+                    int candidates = candidates(i);
+                    if (candidates == 0) {
+                        return false;
+                    }
+                    if ((candidates & (candidates - 1)) == 0) {
+                        place(i, Integer.numberOfTrailingZeros(candidates) + 1);
+                        changed = true;
+                    }
+                }
+            }
+
+            for (int[] unit : units) {
+                int once = 0;
+                int twice = 0;
+                int used = 0;
+                for (int cell : unit) {
+                    if (cells[cell] != 0) {
+                        used |= 1 << (cells[cell] - 1);
+                    } else {
+                        int candidates = candidates(cell);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    }
+                }
+                if ((once | used) != allDigits) {
+                    return false;
+                }
+                int hidden = once & ~twice & ~used;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    int target = -1;
+                    for (int cell : unit) {
+                        if (cells[cell] == 0 && (candidates(cell) & bit) != 0) {
+                            target = cell;
+                            break;
+                        }
+                    }
+                    if (target < 0) {
+                        return false;
+                    }
+                    place(target, Integer.numberOfTrailingZeros(bit) + 1);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the digits still allowed in a cell.
+     *
+     * @param cell the cell index.
+     * @return the candidate mask, one bit per digit.
+     */
+    private int candidates(int cell) {
+        return ~(rowUsed[rowOf[cell]] | colUsed[colOf[cell]] | boxUsed[boxOf[cell]]) & allDigits;
+    }
+
+    /**
+     * Places a digit in a cell and records it on the trail.
+     *
+     * @param cell  the cell index.
+     * @param value the digit to place.
+     */
+    private void place(int cell, int value) {
+        int bit = 1 << (value - 1);
+        cells[cell] = value;
+        rowUsed[rowOf[cell]] |= bit;
+        colUsed[colOf[cell]] |= bit;
+        boxUsed[boxOf[cell]] |= bit;
+        trail[trailSize++] = cell;
+    }
+
+    /**
+     * Removes every placement made after the given trail position.
+     *
+     * @param mark the trail size to return to.
+     */
+    private void undo(int mark) {
+        while (trailSize > mark) {
+            int cell = trail[--trailSize];
+            int bit = ~(1 << (cells[cell] - 1));
+            rowUsed[rowOf[cell]] &= bit;
+            colUsed[colOf[cell]] &= bit;
+            boxUsed[boxOf[cell]] &= bit;
+            cells[cell] = 0;
+        }
+    }
+}
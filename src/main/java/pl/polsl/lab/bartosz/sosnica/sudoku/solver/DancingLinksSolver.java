@@ -0,0 +1,350 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+/**
+ * <p>
+ * DancingLinksSolver solves Sudoku as an exact cover problem with Knuth's Algorithm X.
+ * The matrix has 729 rows (every digit in every cell) and 324 columns
+ * (cell, row-digit, column-digit and box-digit constraints).
+ * </p>
+ * <p>
+ * The toroidal linked list is stored in parallel {@code int} arrays and built once per
+ * instance. Givens are covered before the search and uncovered afterwards, so the
+ * matrix is reused between puzzles without being rebuilt.
+ * The matrix is built for the classic 9x9 board only.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class DancingLinksSolver implements SudokuSolver {
+
+    /**
+     * The number of constraint columns.
+     */
+    private static final int COLUMNS = 4 * Board.CELLS;
+
+    /**
+     * The number of candidate rows.
+     */
+    private static final int ROWS = Board.CELLS * Board.SIZE;
+
+    /**
+     * The total number of nodes: the root, the column headers and four nodes per row.
+     */
+    private static final int NODES = 1 + COLUMNS + 4 * ROWS;
+
+    /**
+     * The index of the root header node.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * Left links of the nodes.
+     */
+    private final int[] left = new int[NODES];
+
+    /**
+     * Right links of the nodes.
+     */
+    private final int[] right = new int[NODES];
+
+    /**
+     * Up links of the nodes.
+     */
+    private final int[] up = new int[NODES];
+
+    /**
+     * Down links of the nodes.
+     */
+    private final int[] down = new int[NODES];
+
+    /**
+     * The column header of every node.
+     */
+    private final int[] column = new int[NODES];
+
+    /**
+     * The matrix row of every node, encoded as {@code cell * 9 + digit - 1}.
+     */
+    private final int[] rowOf = new int[NODES];
+
+    /**
+     * The number of nodes remaining in each column.
+     */
+    private final int[] columnSize = new int[COLUMNS + 1];
+
+    /**
+     * The first node of every matrix row.
+     */
+    private final int[] rowStart = new int[ROWS];
+
+    /**
+     * The rows selected on the current search path.
+     */
+    private final int[] selected = new int[Board.CELLS];
+
+    /**
+     * The rows covered for the givens of the current puzzle.
+     */
+    private final int[] givens = new int[Board.CELLS];
+
+    /**
+     * The first solution found by the current search.
+     */
+    private final int[] solution = new int[Board.CELLS];
+
+    /**
+     * The number of solutions found by the current search.
+     */
+    private int solutions;
+
+    /**
+     * The number of solutions after which the current search stops.
+     */
+    private int limit;
+
+    /**
+     * Constructor building the exact cover matrix.
+     */
+    public DancingLinksSolver() {
+        for (int c = 0; c <= COLUMNS; c++) {
+            left[c] = c == 0 ? COLUMNS : c - 1;
+            right[c] = c == COLUMNS ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int node = COLUMNS + 1;
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            int row = cell / Board.SIZE;
+            int col = cell % Board.SIZE;
+            int box = Board.boxIndex(row, col);
+            for (int digit = 0; digit < Board.SIZE; digit++) {
+                int matrixRow = cell * Board.SIZE + digit;
+                int[] headers = {
+                        1 + cell,
+                        1 + Board.CELLS + row * Board.SIZE + digit,
+                        1 + 2 * Board.CELLS + col * Board.SIZE + digit,
+                        1 + 3 * Board.CELLS + box * Board.SIZE + digit
+                };
+                rowStart[matrixRow] = node;
+                for (int k = 0; k < headers.length; k++) {
+                    int header = headers[k];
+                    int current = node + k;
+                    column[current] = header;
+                    rowOf[current] = matrixRow;
+                    up[current] = up[header];
+                    down[current] = header;
+                    down[up[header]] = current;
+                    up[header] = current;
+                    columnSize[header]++;
+                    left[current] = k == 0 ? node + 3 : current - 1;
+                    right[current] = k == 3 ? node : current + 1;
+                }
+                node += 4;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean solve(BoardModel boardModel) {
+        Board board = boardModel.getEngine();
+        run(board, 1);
+        if (solutions == 0) {
+            return false;
+        }
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            int row = cell / Board.SIZE;
+            int col = cell % Board.SIZE;
+            if (board.isEmpty(row, col)) {
+                board.set(row, col, solution[cell]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countSolutions(BoardModel boardModel, int limit) {
+        if (limit < 1) {
+            return 0;
+        }
+        run(boardModel.getEngine(), limit);
+        return solutions;
+    }
+
+    /**
+     * Covers the givens of the board, runs the search and restores the matrix.
+     *
+     * @param board the board holding the puzzle.
+     * @param limit the number of solutions after which the search stops.
+     * @throws IllegalArgumentException if the board is not a classic 9x9 board.
+     */
+    private void run(Board board, int limit) {
+        if (board.size() != Board.SIZE) {
+            throw new IllegalArgumentException("Dancing links solves only 9x9 boards, not " + board.size() + "x" + board.size());
+        }
+        this.limit = limit;
+        solutions = 0;
+        int givenCount = 0;
+        boolean consistent = true;
+
+        for (int cell = 0; cell < Board.CELLS && consistent; cell++) {
+            int value = board.get(cell / Board.SIZE, cell % Board.SIZE);
+            if (value != 0) {
+                int matrixRow = cell * Board.SIZE + value - 1;
+                if (!isRowAvailable(matrixRow)) {
+                    consistent = false;
+                } else {
+                    coverRow(rowStart[matrixRow]);
+                    givens[givenCount++] = matrixRow;
+                }
+            }
+        }
+
+        if (consistent) {
+            search(0);
+        }
+
+        for (int i = givenCount - 1; i >= 0; i--) {
+            uncoverRow(rowStart[givens[i]]);
+        }
+    }
+
+    /**
+     * Checks whether every column of a matrix row is still uncovered.
+     *
+     * @param matrixRow the matrix row to check.
+     * @return true if the row can still be selected, false otherwise.
+     */
+    private boolean isRowAvailable(int matrixRow) {
+        int start = rowStart[matrixRow];
+        int node = start;
+        do {
+            int header = column[node];
+            if (right[left[header]] != header) {
+                return false;
+            }
+            node = right[node];
+        } while (node != start);
+        return true;
+    }
+
+    /**
+     * Recursive Algorithm X search choosing the column with the fewest remaining rows.
+     *
+     * @param depth the number of rows selected so far.
+     * @return true if the solution limit has been reached and the search should stop.
+     */
+    private boolean search(int depth) {
+        if (right[ROOT] == ROOT) {
+            if (++solutions == 1) {
+                for (int i = 0; i < depth; i++) {
+                    int matrixRow = rowOf[selected[i]];
+                    solution[matrixRow / Board.SIZE] = matrixRow % Board.SIZE + 1;
+                }
+            }
+            return solutions >= limit;
+        }
+
+        int chosen = right[ROOT];
+        for (int c = right[chosen]; c != ROOT; c = right[c]) {
+            if (columnSize[c] < columnSize[chosen]) {
+                chosen = c;
+                if (columnSize[c] <= 1) {
+                    break;
+                }
+            }
+        }
+        if (columnSize[chosen] == 0) {
+            return false;
+        }
+
+        cover(chosen);
+        for (int node = down[chosen]; node != chosen; node = down[node]) {
+            selected[depth] = node;
+            for (int j = right[node]; j != node; j = right[j]) {
+                cover(column[j]);
+            }
+            boolean stop = search(depth + 1);
+            for (int j = left[node]; j != node; j = left[j]) {
+                uncover(column[j]);
+            }
+            if (stop) {
+                uncover(chosen);
+                return true;
+            }
+        }
+        uncover(chosen);
+        return false;
+    }
+
+    /**
+     * Covers all columns of a matrix row.
+     *
+     * @param start the first node of the row.
+     */
+    private void coverRow(int start) {
+        int node = start;
+        do {
+            cover(column[node]);
+            node = right[node];
+        } while (node != start);
+    }
+
+    /**
+     * Uncovers all columns of a matrix row in reverse order.
+     *
+     * @param start the first node of the row.
+     */
+    private void uncoverRow(int start) {
+        int node = left[start];
+        do {
+            uncover(column[node]);
+            node = left[node];
+        } while (node != left[start]);
+    }
+
+    /**
+     * Removes a column header and every row intersecting it from the matrix.
+     *
+     * @param header the column header node.
+     */
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                columnSize[column[j]]--;
+            }
+        }
+    }
+
+    /**
+     * Restores a column header and every row intersecting it, undoing {@link #cover(int)}.
+     *
+     * @param header the column header node.
+     */
+    private void uncover(int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
@@ -0,0 +1,110 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+
+/**
+ * <p>
+ * Geometry holds the lookup tables of a board size: the row, column and box of every cell index
+ * and the cell indexes of every unit. The tables are built once per supported box size and shared
+ * by all solvers, so loading a board of another size allocates nothing.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+final class Geometry {
+
+    /**
+     * The tables of every supported box size, indexed by the box size.
+     */
+    private static final Geometry[] BY_BOX_SIZE = new Geometry[Board.MAX_BOX_SIZE + 1];
+
+    static {
+        for (int boxSize = Board.MIN_BOX_SIZE; boxSize <= Board.MAX_BOX_SIZE; boxSize++) {
+            BY_BOX_SIZE[boxSize] = new Geometry(boxSize);
+        }
+    }
+
+    /**
+     * The tables of the classic 9x9 board.
+     */
+    static final Geometry CLASSIC = BY_BOX_SIZE[Board.BOX_SIZE];
+
+    /**
+     * The width and height of a box.
+     */
+    final int boxSize;
+
+    /**
+     * The number of rows, columns and digits.
+     */
+    final int size;
+
+    /**
+     * The number of cells.
+     */
+    final int cells;
+
+    /**
+     * The mask with a bit set for every digit.
+     */
+    final int allDigits;
+
+    /**
+     * The row of every cell index.
+     */
+    final int[] rowOf;
+
+    /**
+     * The column of every cell index.
+     */
+    final int[] colOf;
+
+    /**
+     * The box of every cell index.
+     */
+    final int[] boxOf;
+
+    /**
+     * The cell indexes of all units: the rows, then the columns, then the boxes.
+     */
+    final int[][] units;
+
+    /**
+     * Constructor building the tables of a box size.
+     *
+     * @param boxSize the width and height of a box.
+     */
+    private Geometry(int boxSize) {
+        this.boxSize = boxSize;
+        this.size = boxSize * boxSize;
+        this.cells = size * size;
+        this.allDigits = (1 << size) - 1;
+        this.rowOf = new int[cells];
+        this.colOf = new int[cells];
+        this.boxOf = new int[cells];
+        this.units = new int[3 * size][size];
+        for (int i = 0; i < cells; i++) {
+            int row = i / size;
+            int col = i % size;
+            int box = (row / boxSize) * boxSize + col / boxSize;
+            int posInBox = (row % boxSize) * boxSize + col % boxSize;
+            rowOf[i] = row;
+            colOf[i] = col;
+            boxOf[i] = box;
+            units[row][col] = i;
+            units[size + col][row] = i;
+            units[2 * size + box][posInBox] = i;
+        }
+    }
+
+    /**
+     * Returns the tables of a board.
+     *
+     * @param board the board.
+     * @return the shared tables of the board's box size.
+     */
+    static Geometry of(Board board) {
+        return BY_BOX_SIZE[board.boxSize()];
+    }
+}
@@ -0,0 +1,25 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+/**
+ * <p>
+ * Record holding the result of grading a puzzle with the {@link TechniqueGrader}.
+ * </p>
+ *
+ * @param hardest the hardest technique needed, or null if no empty cell had to be filled.
+ * @param score   the sum of the scores of all technique applications.
+ * @param solved  true if the known techniques solve the puzzle, false if it needs guessing or has no solution.
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public record Grade(Technique hardest, int score, boolean solved) {
+
+    /**
+     * Checks whether the puzzle is solved without any technique harder than the given one.
+     *
+     * @param limit the hardest technique allowed.
+     * @return true if the puzzle was solved and its hardest technique does not exceed the limit.
+     */
+    public boolean solvedWithin(Technique limit) {
+        return solved && (hardest == null || hardest.compareTo(limit) <= 0);
+    }
+}
@@ -0,0 +1,49 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+/**
+ * <p>
+ * The SudokuSolver interface describes an engine able to complete a Sudoku board
+ * and to count the solutions of a puzzle.
+ * </p>
+ * <p>
+ * Implementations read the givens directly from the {@link BoardModel} engine.
+ * They keep their working arrays between calls, so a single instance must not be
+ * shared between threads.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public interface SudokuSolver {
+
+    /**
+     * Solves the puzzle stored in the board model and writes the solution into its empty cells.
+     * If the puzzle has no solution, the board model is left unchanged.
+     *
+     * @param boardModel the board model holding the puzzle.
+     * @return true if a solution was found and written, false otherwise.
+     */
+    boolean solve(BoardModel boardModel);
+
+    /**
+     * Counts the solutions of the puzzle stored in the board model, stopping as soon as
+     * the given limit is reached. The board model is not modified.
+     *
+     * @param boardModel the board model holding the puzzle.
+     * @param limit      the number of solutions after which the search stops.
+     * @return the number of solutions found, never greater than the limit.
+     */
+    int countSolutions(BoardModel boardModel, int limit);
+
+    /**
+     * Checks whether the puzzle stored in the board model has exactly one solution.
+     *
+     * @param boardModel the board model holding the puzzle.
+     * @return true if the puzzle has a unique solution, false otherwise.
+     */
+    default boolean hasUniqueSolution(BoardModel boardModel) {
+        return countSolutions(boardModel, 2) == 1;
+    }
+}
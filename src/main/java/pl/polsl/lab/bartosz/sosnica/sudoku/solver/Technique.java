@@ -0,0 +1,61 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+/**
+ * <p>
+ * Enum listing the solving techniques known to the {@link TechniqueGrader}, from the easiest to the hardest.
+ * Each technique carries the score added to a puzzle's grade every time the technique is needed.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public enum Technique {
+    /**
+     * A digit that fits only one cell of a row, column or box.
+     */
+    HIDDEN_SINGLE(1),
+    /**
+     * A cell that accepts only one digit.
+     */
+    NAKED_SINGLE(2),
+    /**
+     * A digit confined to one row or column of a box, removed from the rest of that line.
+     */
+    POINTING(5),
+    /**
+     * A digit confined to one box within a row or column, removed from the rest of that box.
+     */
+    BOX_LINE_REDUCTION(6),
+    /**
+     * Two cells of a unit sharing the same two candidates, removed from the other cells of the unit.
+     */
+    NAKED_PAIR(8),
+    /**
+     * Two digits fitting the same two cells of a unit, which lose all their other candidates.
+     */
+    HIDDEN_PAIR(10),
+    /**
+     * A digit confined to the same two columns in two rows, or the same two rows in two columns.
+     */
+    X_WING(15);
+
+    private final int score;
+
+    /**
+     * Constructor to initialize the technique with its score.
+     *
+     * @param score the score added each time the technique is applied.
+     */
+    Technique(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Gets the score added each time the technique is applied.
+     *
+     * @return the score of the technique.
+     */
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,511 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.util.Arrays;
+
+import static pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver.BOX_OF;
+import static pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver.COL_OF;
+import static pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver.ROW_OF;
+import static pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver.UNITS;
+
+/**
+ * <p>
+ * TechniqueGrader rates a puzzle by solving it the way a person would, without ever guessing.
+ * At every step it applies the easiest {@link Technique} that makes progress, either placing
+ * a digit or removing candidates, and then starts again from the easiest technique.
+ * The grade holds the hardest technique that was needed and the sum of the scores of all steps.
+ * </p>
+ * <p>
+ * The candidates are kept as 9-bit masks in primitive arrays reused between puzzles, so grading
+ * allocates only the resulting {@link Grade}. A grader instance is not thread-safe.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class TechniqueGrader {
+
+    /**
+     * The 20 peers of every cell: the other cells of its row, column and box.
+     */
+    private static final int[][] PEERS = new int[Board.CELLS][20];
+
+    /**
+     * The index of the first row unit in {@link BitmaskSolver#UNITS}.
+     */
+    private static final int ROWS = 0;
+
+    /**
+     * The index of the first column unit in {@link BitmaskSolver#UNITS}.
+     */
+    private static final int COLUMNS = Board.SIZE;
+
+    /**
+     * The index of the first box unit in {@link BitmaskSolver#UNITS}.
+     */
+    private static final int BOXES = 2 * Board.SIZE;
+
+    static {
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            int count = 0;
+            for (int other = 0; other < Board.CELLS; other++) {
+                if (other != cell && (ROW_OF[other] == ROW_OF[cell] || COL_OF[other] == COL_OF[cell]
+                        || BOX_OF[other] == BOX_OF[cell])) {
+                    PEERS[cell][count++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * The working grid, 0 meaning an empty cell.
+     */
+    private final int[] values = new int[Board.CELLS];
+
+    /**
+     * The candidate masks of the empty cells; 0 for filled cells.
+     */
+    private final int[] candidates = new int[Board.CELLS];
+
+    /**
+     * The positions within a unit, or the lines of a digit, reused by the pair and X-wing searches.
+     */
+    private final int[] positions = new int[Board.SIZE];
+
+    /**
+     * The number of empty cells.
+     */
+    private int empty;
+
+    /**
+     * Flag indicating that the puzzle has no solution: a cell or a digit of a unit ran out of places.
+     */
+    private boolean broken;
+
+    /**
+     * Grades the puzzle held by the board model.
+     *
+     * @param boardModel the board model holding the puzzle; it is not changed.
+     * @return the grade of the puzzle.
+     */
+    public Grade grade(BoardModel boardModel) {
+        return grade(boardModel.getEngine());
+    }
+
+    /**
+     * Grades the puzzle held by the board.
+     *
+     * @param board the board holding the puzzle; it is not changed.
+     * @return the grade of the puzzle.
+     * @throws IllegalArgumentException if the board is not a classic 9x9 board.
+     */
+    public Grade grade(Board board) {
+        if (board.size() != Board.SIZE) {
+            throw new IllegalArgumentException("Only 9x9 puzzles can be graded, not " + board.size() + "x" + board.size());
+        }
+        load(board);
+        Technique hardest = null;
+        int score = 0;
+        while (empty > 0 && !broken) {
+            Technique applied = step();
+            if (applied == null) {
+                break;
+            }
+            score += applied.getScore();
+            if (hardest == null || applied.compareTo(hardest) > 0) {
+                hardest = applied;
+            }
+        }
+        return new Grade(hardest, score, empty == 0 && !broken);
+    }
+
+    /**
+     * Applies the easiest technique that makes progress.
+     *
+     * @return the applied technique, or null if none applies or the puzzle turned out to be broken.
+     */
+    private Technique step() {
+        if (hiddenSingle()) {
+            return broken ? null : Technique.HIDDEN_SINGLE;
+        }
+        if (broken) {
+            return null;
+        }
+        if (nakedSingle()) {
+            return Technique.NAKED_SINGLE;
+        }
+        if (pointing()) {
+            return Technique.POINTING;
+        }
+        if (boxLineReduction()) {
+            return Technique.BOX_LINE_REDUCTION;
+        }
+        if (nakedPair()) {
+            return Technique.NAKED_PAIR;
+        }
+        if (hiddenPair()) {
+            return Technique.HIDDEN_PAIR;
+        }
+        if (xWing()) {
+            return Technique.X_WING;
+        }
+        return null;
+    }
+
+    /**
+     * Places a digit that fits only one cell of a unit. Marks the puzzle as broken
+     * if a digit has no place left in some unit.
+     *
+     * @return true if a digit was placed.
+     */
+    private boolean hiddenSingle() {
+        for (int[] unit : UNITS) {
+            int once = 0;
+            int twice = 0;
+            int placed = 0;
+            for (int cell : unit) {
+                int mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+                if (values[cell] != 0) {
+                    placed |= 1 << (values[cell] - 1);
+                }
+            }
+            if ((once | placed) != Board.ALL_DIGITS) {
+                broken = true;
+                return false;
+            }
+            int singles = once & ~twice;
+            if (singles != 0) {
+                int bit = singles & -singles;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Places the only candidate of a cell.
+     *
+     * @return true if a digit was placed.
+     */
+    private boolean nakedSingle() {
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            int mask = candidates[cell];
+            if (mask != 0 && (mask & (mask - 1)) == 0) {
+                place(cell, Integer.numberOfTrailingZeros(mask) + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a digit from a row or column outside a box when all its places in the box lie on that line.
+     *
+     * @return true if a candidate was removed.
+     */
+    private boolean pointing() {
+        for (int box = 0; box < Board.SIZE; box++) {
+            int[] unit = UNITS[BOXES + box];
+            int union = 0;
+            for (int cell : unit) {
+                union |= candidates[cell];
+            }
+            for (int digits = union; digits != 0; digits &= digits - 1) {
+                int bit = digits & -digits;
+                int row = -1;
+                int col = -1;
+                boolean sameRow = true;
+                boolean sameCol = true;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) == 0) {
+                        continue;
+                    }
+                    if (row < 0) {
+                        row = ROW_OF[cell];
+                        col = COL_OF[cell];
+                    } else {
+                        sameRow &= ROW_OF[cell] == row;
+                        sameCol &= COL_OF[cell] == col;
+                    }
+                }
+                if ((sameRow && eliminateOutsideBox(UNITS[ROWS + row], bit, box))
+                        || (sameCol && eliminateOutsideBox(UNITS[COLUMNS + col], bit, box))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a digit from a box outside a row or column when all its places on that line lie in the box.
+     *
+     * @return true if a candidate was removed.
+     */
+    private boolean boxLineReduction() {
+        for (int line = 0; line < BOXES; line++) {
+            int[] unit = UNITS[line];
+            int union = 0;
+            for (int cell : unit) {
+                union |= candidates[cell];
+            }
+            for (int digits = union; digits != 0; digits &= digits - 1) {
+                int bit = digits & -digits;
+                int box = -1;
+                boolean sameBox = true;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        if (box < 0) {
+                            box = BOX_OF[cell];
+                        } else {
+                            sameBox &= BOX_OF[cell] == box;
+                        }
+                    }
+                }
+                if (sameBox && eliminateOutsideLine(UNITS[BOXES + box], bit, line)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the two candidates shared by two cells of a unit from the unit's other cells.
+     *
+     * @return true if a candidate was removed.
+     */
+    private boolean nakedPair() {
+        for (int[] unit : UNITS) {
+            for (int i = 0; i < Board.SIZE; i++) {
+                int pair = candidates[unit[i]];
+                if (Integer.bitCount(pair) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < Board.SIZE; j++) {
+                    if (candidates[unit[j]] != pair) {
+                        continue;
+                    }
+                    boolean changed = false;
+                    for (int k = 0; k < Board.SIZE; k++) {
+                        int cell = unit[k];
+                        if (k != i && k != j && (candidates[cell] & pair) != 0) {
+                            removeCandidates(cell, pair);
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the other candidates of two cells that are the only places of two digits in a unit.
+     *
+     * @return true if a candidate was removed.
+     */
+    private boolean hiddenPair() {
+        for (int[] unit : UNITS) {
+            for (int digit = 0; digit < Board.SIZE; digit++) {
+                int bit = 1 << digit;
+                int places = 0;
+                for (int i = 0; i < Board.SIZE; i++) {
+                    if ((candidates[unit[i]] & bit) != 0) {
+                        places |= 1 << i;
+                    }
+                }
+                positions[digit] = places;
+            }
+            for (int first = 0; first < Board.SIZE; first++) {
+                int places = positions[first];
+                if (Integer.bitCount(places) != 2) {
+                    continue;
+                }
+                for (int second = first + 1; second < Board.SIZE; second++) {
+                    if (positions[second] != places) {
+                        continue;
+                    }
+                    int pair = (1 << first) | (1 << second);
+                    boolean changed = false;
+                    for (int p = places; p != 0; p &= p - 1) {
+                        int cell = unit[Integer.numberOfTrailingZeros(p)];
+                        if ((candidates[cell] & ~pair) != 0) {
+                            removeCandidates(cell, ~pair);
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a digit from two lines crossing two parallel lines in which the digit fits only those crossings.
+     *
+     * @return true if a candidate was removed.
+     */
+    private boolean xWing() {
+        for (int digit = 0; digit < Board.SIZE; digit++) {
+            int bit = 1 << digit;
+            if (xWing(bit, ROWS, COLUMNS) || xWing(bit, COLUMNS, ROWS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Looks for an X-wing of one digit with the base lines of one kind and the cover lines of the other.
+     *
+     * @param bit   the digit's candidate bit.
+     * @param base  the first unit index of the base lines (rows or columns).
+     * @param cover the first unit index of the cover lines (columns or rows).
+     * @return true if a candidate was removed.
+     */
+    private boolean xWing(int bit, int base, int cover) {
+        for (int line = 0; line < Board.SIZE; line++) {
+            int places = 0;
+            int[] unit = UNITS[base + line];
+            for (int i = 0; i < Board.SIZE; i++) {
+                if ((candidates[unit[i]] & bit) != 0) {
+                    places |= 1 << i;
+                }
+            }
+            positions[line] = places;
+        }
+        for (int first = 0; first < Board.SIZE; first++) {
+            int places = positions[first];
+            if (Integer.bitCount(places) != 2) {
+                continue;
+            }
+            for (int second = first + 1; second < Board.SIZE; second++) {
+                if (positions[second] != places) {
+                    continue;
+                }
+                boolean changed = false;
+                for (int p = places; p != 0; p &= p - 1) {
+                    int[] coverUnit = UNITS[cover + Integer.numberOfTrailingZeros(p)];
+                    for (int i = 0; i < Board.SIZE; i++) {
+                        if (i != first && i != second && (candidates[coverUnit[i]] & bit) != 0) {
+                            removeCandidates(coverUnit[i], bit);
+                            changed = true;
+                        }
+                    }
+                }
+                if (changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a digit from the cells of a line that lie outside a box.
+     *
+     * @param line the cells of the row or column.
+     * @param bit  the digit's candidate bit.
+     * @param box  the box whose cells keep the digit.
+     * @return true if a candidate was removed.
+     */
+    private boolean eliminateOutsideBox(int[] line, int bit, int box) {
+        boolean changed = false;
+        for (int cell : line) {
+            if (BOX_OF[cell] != box && (candidates[cell] & bit) != 0) {
+                removeCandidates(cell, bit);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes a digit from the cells of a box that lie outside a line.
+     *
+     * @param boxUnit the cells of the box.
+     * @param bit     the digit's candidate bit.
+     * @param line    the unit index of the row or column whose cells keep the digit.
+     * @return true if a candidate was removed.
+     */
+    private boolean eliminateOutsideLine(int[] boxUnit, int bit, int line) {
+        boolean changed = false;
+        for (int cell : boxUnit) {
+            boolean onLine = line < COLUMNS ? ROW_OF[cell] == line : COL_OF[cell] == line - COLUMNS;
+            if (!onLine && (candidates[cell] & bit) != 0) {
+                removeCandidates(cell, bit);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes candidates from a cell and marks the puzzle as broken if none is left.
+     *
+     * @param cell the cell index.
+     * @param mask the candidates to remove.
+     */
+    private void removeCandidates(int cell, int mask) {
+        candidates[cell] &= ~mask;
+        if (candidates[cell] == 0) {
+            broken = true;
+        }
+    }
+
+    /**
+     * Fills a cell and removes its digit from the candidates of its peers.
+     *
+     * @param cell  the cell index.
+     * @param digit the digit to place.
+     */
+    private void place(int cell, int digit) {
+        int bit = 1 << (digit - 1);
+        values[cell] = digit;
+        candidates[cell] = 0;
+        empty--;
+        for (int peer : PEERS[cell]) {
+            if (values[peer] == 0 && (candidates[peer] & bit) != 0) {
+                removeCandidates(peer, bit);
+            }
+        }
+    }
+
+    /**
+     * Copies the puzzle into the working arrays and computes the candidates of the empty cells.
+     *
+     * @param board the board holding the puzzle.
+     */
+    private void load(Board board) {
+        Arrays.fill(values, 0);
+        Arrays.fill(candidates, Board.ALL_DIGITS);
+        empty = Board.CELLS;
+        broken = false;
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            int digit = board.get(ROW_OF[cell], COL_OF[cell]);
+            if (digit == 0) {
+                continue;
+            }
+            if ((candidates[cell] & (1 << (digit - 1))) == 0) {
+                broken = true;
+            }
+            place(cell, digit);
+        }
+    }
+}
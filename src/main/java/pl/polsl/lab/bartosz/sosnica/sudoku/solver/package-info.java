@@ -0,0 +1,27 @@
+/**
+ * This package contains the solvers for the Sudoku game.
+ * The solvers complete a board and count puzzle solutions,
+ * which is used to verify generated puzzles, and grade puzzles by the
+ * human solving techniques they need.
+ *
+ * <h2>Solvers:</h2>
+ * <ul>
+ *     <li>SudokuSolver: Describes the operations shared by all solvers.</li>
+ *     <li>BitmaskSolver: Solves with naked and hidden singles and minimum-remaining-values branching.</li>
+ *     <li>DancingLinksSolver: Solves the board as an exact cover problem with Algorithm X.</li>
+ *     <li>Geometry: Holds the cell and unit lookup tables of every supported board size.</li>
+ * </ul>
+ *
+ * <h2>Grading:</h2>
+ * <ul>
+ *     <li>Technique: Lists the human solving techniques with their scores.</li>
+ *     <li>Grade: Holds the hardest technique and the score of a graded puzzle.</li>
+ *     <li>TechniqueGrader: Solves a puzzle with the easiest technique that makes progress, without guessing.</li>
+ * </ul>
+ *
+ * @since 3.0
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
@@ -0,0 +1,203 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.view;
+
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameRecord;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>
+ * The HistoryTableModel class shows the game history in a table without loading it up front.
+ * The number of rows is taken from the repository, and the records are read in pages
+ * only when the table asks for a row of a page that is not cached yet.
+ * </p>
+ * <p>
+ * Pages are read by {@link SwingWorker}s, so the event dispatch thread never waits for the disk.
+ * Until its page arrives a row shows empty cells; each finished page fires a single update event.
+ * The most recently used pages are kept in a small cache, all other records are dropped.
+ * All methods except the constructor must be called on the event dispatch thread.
+ * </p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+public class HistoryTableModel extends AbstractTableModel {
+
+    /**
+     * The number of records read at once.
+     */
+    static final int PAGE_SIZE = 256;
+
+    /**
+     * The maximum number of pages kept in memory.
+     */
+    private static final int CACHED_PAGES = 32;
+
+    /**
+     * The names of the table columns.
+     */
+    private static final String[] COLUMN_NAMES = {"Username", "Date", "Difficulty", "Status"};
+
+    /**
+     * The repository holding the records.
+     */
+    private final GameHistoryRepository history;
+
+    /**
+     * The loaded pages by page number, in least recently used order.
+     */
+    private final Map<Long, List<GameRecord>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<GameRecord>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    /**
+     * The numbers of the pages being read.
+     */
+    private final Set<Long> pendingPages = new HashSet<>();
+
+    /**
+     * The number of rows announced to the table.
+     */
+    private int rowCount;
+
+    /**
+     * Constructor creating a model for the given repository and starting to count its records.
+     *
+     * @param history the repository holding the records.
+     */
+    public HistoryTableModel(GameHistoryRepository history) {
+        this.history = history;
+        refresh();
+    }
+
+    /**
+     * Counts the records in the background and announces the new ones to the table in one event.
+     */
+    public void refresh() {
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() {
+                return history.size();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    int size = (int) Math.min(get(), Integer.MAX_VALUE);
+                    if (size > rowCount) {
+                        int first = rowCount;
+                        rowCount = size;
+                        pages.remove((long) (first - 1) / PAGE_SIZE);
+                        fireTableRowsInserted(first, size - 1);
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    /**
+     * Returns the text of a cell. If the page of the row is not loaded yet,
+     * its loading is started and an empty text is returned.
+     *
+     * @param row    the row index.
+     * @param column the column index.
+     * @return the text of the cell.
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        long page = row / PAGE_SIZE;
+        List<GameRecord> records = pages.get(page);
+        if (records == null) {
+            loadPage(page);
+            return "";
+        }
+        int offset = row % PAGE_SIZE;
+        if (offset >= records.size()) {
+            return "";
+        }
+        GameRecord record = records.get(offset);
+        return switch (column) {
+            case 0 -> record.username();
+            case 1 -> record.date().toString();
+            case 2 -> String.valueOf(record.difficultyLevel());
+            default -> record.status();
+        };
+    }
+
+    /**
+     * Starts reading a page in the background unless it is already being read.
+     *
+     * @param page the number of the page.
+     */
+    private void loadPage(long page) {
+        if (!pendingPages.add(page)) {
+            return;
+        }
+        new SwingWorker<List<GameRecord>, Void>() {
+            @Override
+            protected List<GameRecord> doInBackground() throws Exception {
+                return history.read(page * PAGE_SIZE, PAGE_SIZE);
+            }
+
+            @Override
+            protected void done() {
+                pendingPages.remove(page);
+                try {
+                    List<GameRecord> records = get();
+                    pages.put(page, records);
+                    int first = (int) (page * PAGE_SIZE);
+                    int last = Math.min(first + records.size(), rowCount) - 1;
+                    if (last >= first) {
+                        fireTableRowsUpdated(first, last);
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+}
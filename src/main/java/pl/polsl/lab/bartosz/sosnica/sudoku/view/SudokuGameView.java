@@ -4,6 +4,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowListener;
+import java.util.Arrays;
 
 /**
  * <p>
@@ -21,11 +22,26 @@ import java.awt.event.WindowListener;
 public class SudokuGameView extends JFrame {
 
     /**
-     * The main panel that displays the 9x9 Sudoku board in a grid layout.
-     * This panel contains nine 3x3 subgrids to represent each section of the board.
+     * The main panel that displays the Sudoku board in a grid layout.
+     * This panel contains one subgrid per box, nine 3x3 subgrids on the classic board.
      */
     private JPanel mainBoardPanel;
 
+    /**
+     * The width and height of a box, 3 on the classic board.
+     */
+    private final int boxSize;
+
+    /**
+     * The number of rows and columns of the board.
+     */
+    private final int size;
+
+    /**
+     * The cells of the board indexed by {@code row * size + col}, cached to avoid component lookups.
+     */
+    private final JTextField[] cells;
+
     /**
      * The button that starts a new game or sets up the Sudoku board.
      */
@@ -37,10 +53,33 @@ public class SudokuGameView extends JFrame {
     private JButton addValueButton;
 
     /**
-     * Constructor that initializes the Sudoku GUI, setting up the main components
+     * The button that reverts the last move.
+     */
+    private JButton undoButton;
+
+    /**
+     * The button that applies again the last reverted move.
+     */
+    private JButton redoButton;
+
+    /**
+     * Constructor that initializes the Sudoku GUI for the classic 9x9 board, setting up the main components
      * and displaying the window.
      */
     public SudokuGameView() {
+        this(3);
+    }
+
+    /**
+     * Constructor that initializes the Sudoku GUI for a board with boxes of the given size,
+     * setting up the main components and displaying the window.
+     *
+     * @param boxSize the width and height of a box, for example 4 for a 16x16 board.
+     */
+    public SudokuGameView(int boxSize) {
+        this.boxSize = boxSize;
+        this.size = boxSize * boxSize;
+        this.cells = new JTextField[size * size];
         initializeSudokuGUI();
     }
 
@@ -51,20 +90,24 @@ public class SudokuGameView extends JFrame {
      */
     private void initializeSudokuGUI() {
         setTitle("Sudoku Game");
-        setSize(600, 600);
+        setSize(Math.max(600, size * 45), Math.max(600, size * 40));
         setLocationRelativeTo(null);
         setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
 
         mainBoardPanel = new JPanel();
-        mainBoardPanel.setLayout(new GridLayout(3, 3, 5, 5)); // Main grid 3x3 with gaps
+        mainBoardPanel.setLayout(new GridLayout(boxSize, boxSize, 5, 5)); // One subgrid per box with gaps
 
         JPanel controlPanel = new JPanel();
 
         startButton = createButton("Set Board", "Set up the Sudoku board", 'S');
         addValueButton = createButton("Add Value", "Add a value to the Sudoku board", 'A');
+        undoButton = createButton("Undo", "Revert the last move", 'U');
+        redoButton = createButton("Redo", "Apply the reverted move again", 'R');
 
         controlPanel.add(startButton);
         controlPanel.add(addValueButton);
+        controlPanel.add(undoButton);
+        controlPanel.add(redoButton);
 
         createSudokuGrid();
 
@@ -74,21 +117,25 @@ public class SudokuGameView extends JFrame {
     }
 
     /**
-     * Creates the Sudoku grid layout consisting of 3x3 subgrids.
-     * Each subgrid contains 3x3 JTextFields to represent individual cells.
+     * Creates the Sudoku grid layout consisting of one subgrid per box.
+     * Each subgrid contains a JTextField for every cell of the box, 3x3 on the classic board.
      */
     private void createSudokuGrid() {
-        for (int blockRow = 0; blockRow < 3; blockRow++) {
-            for (int blockCol = 0; blockCol < 3; blockCol++) {
-                JPanel subGrid = new JPanel(new GridLayout(3, 3));
+        int fontSize = size <= 9 ? 20 : size <= 16 ? 16 : 12;
+        for (int blockRow = 0; blockRow < boxSize; blockRow++) {
+            for (int blockCol = 0; blockCol < boxSize; blockCol++) {
+                JPanel subGrid = new JPanel(new GridLayout(boxSize, boxSize));
                 subGrid.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1));
 
-                for (int i = 0; i < 9; i++) {
+                for (int i = 0; i < size; i++) {
+                    int row = blockRow * boxSize + i / boxSize;
+                    int col = blockCol * boxSize + i % boxSize;
                     JTextField cell = new JTextField();
                     cell.setHorizontalAlignment(JTextField.CENTER);
-                    cell.setFont(new Font("Arial", Font.PLAIN, 20));
-                    cell.setToolTipText("Row " + (blockRow * 3 + i / 3 + 1) + ", Column " + (blockCol * 3 + i % 3 + 1)); // Tooltip
+                    cell.setFont(new Font("Arial", Font.PLAIN, fontSize));
+                    cell.setToolTipText("Row " + (row + 1) + ", Column " + (col + 1)); // Tooltip
                     subGrid.add(cell);
+                    cells[row * size + col] = cell;
                 }
                 mainBoardPanel.add(subGrid);
             }
@@ -129,6 +176,24 @@ public class SudokuGameView extends JFrame {
         addValueButton.addActionListener(listener);
     }
 
+    /**
+     * Adds an ActionListener to the undo button, allowing it to respond to user clicks.
+     *
+     * @param listener the ActionListener to add to the undo button.
+     */
+    public void addUndoButtonListener(ActionListener listener) {
+        undoButton.addActionListener(listener);
+    }
+
+    /**
+     * Adds an ActionListener to the redo button, allowing it to respond to user clicks.
+     *
+     * @param listener the ActionListener to add to the redo button.
+     */
+    public void addRedoButtonListener(ActionListener listener) {
+        redoButton.addActionListener(listener);
+    }
+
     /**
      * Adds a WindowListener for handling window events, such as closing the window.
      *
@@ -141,26 +206,55 @@ public class SudokuGameView extends JFrame {
     /**
      * Retrieves the JTextField located at the specified row and column within the Sudoku grid.
      *
-     * @param row the row index of the desired cell (0-8).
-     * @param col the column index of the desired cell (0-8).
+     * @param row the row index of the desired cell (0-8 on the classic board).
+     * @param col the column index of the desired cell (0-8 on the classic board).
      * @return the JTextField at the specified location in the Sudoku grid.
      * @throws IndexOutOfBoundsException if the row or column index is out of bounds.
      */
     public JTextField getCellAt(int row, int col) {
-        if (row < 0 || row >= 9 || col < 0 || col >= 9) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
             throw new IndexOutOfBoundsException("Invalid cell index");
         }
 
-        int blockRow = row / 3;
-        int blockCol = col / 3;
-        int cellIndexInBlock = (row % 3) * 3 + (col % 3);
-        JPanel subGrid = (JPanel) mainBoardPanel.getComponent(blockRow * 3 + blockCol);
+        return cells[row * size + col];
+    }
+
+    /**
+     * Redraws the given cells in a single update on the event dispatch thread.
+     * A cell with empty text becomes editable, a cell with a value becomes read-only.
+     * When called from another thread, the arrays are copied and the update is queued.
+     *
+     * @param indexes the cell indexes ({@code row * size + col}) to redraw.
+     * @param texts   the texts of the cells, parallel to {@code indexes}.
+     * @param count   the number of entries to redraw.
+     */
+    public void updateCells(int[] indexes, String[] texts, int count) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyCells(indexes, texts, count);
+        } else {
+            int[] indexesCopy = Arrays.copyOf(indexes, count);
+            String[] textsCopy = Arrays.copyOf(texts, count);
+            SwingUtilities.invokeLater(() -> applyCells(indexesCopy, textsCopy, count));
+        }
+    }
 
-        return (JTextField) subGrid.getComponent(cellIndexInBlock);
+    /**
+     * Writes the texts into the cells; must run on the event dispatch thread.
+     *
+     * @param indexes the cell indexes to redraw.
+     * @param texts   the texts of the cells.
+     * @param count   the number of entries to redraw.
+     */
+    private void applyCells(int[] indexes, String[] texts, int count) {
+        for (int i = 0; i < count; i++) {
+            JTextField cell = cells[indexes[i]];
+            cell.setText(texts[i]);
+            cell.setEditable(texts[i].isEmpty());
+        }
     }
 
     /**
-     * Returns the main board panel containing the 9x9 Sudoku grid.
+     * Returns the main board panel containing the Sudoku grid.
      *
      * @return the main board panel with the Sudoku cells.
      */
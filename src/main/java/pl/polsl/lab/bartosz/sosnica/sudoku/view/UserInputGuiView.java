@@ -1,11 +1,16 @@
 package pl.polsl.lab.bartosz.sosnica.sudoku.view;
 
 import lombok.Getter;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.GameHistoryRepository;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.UserStats;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionListener;
-import javax.swing.table.DefaultTableModel;
+import java.util.Map;
 
 /**
  * <p>
@@ -43,15 +48,20 @@ public class UserInputGuiView extends JFrame {
     @Getter
     private JButton submitButton;
 
+    /**
+     * The label showing the statistics of the player typed in the username field.
+     */
+    private JLabel statsLabel;
+
     /**
      * The table that displays the game history records, including username, date, difficulty, and game status.
      */
     private JTable historyTable;
 
     /**
-     * The table model for managing the data in the history table.
+     * The table model reading the game history in pages, or null until a history is shown.
      */
-    private DefaultTableModel tableModel;
+    private HistoryTableModel tableModel;
 
     /**
      * Constructor that initializes the user input GUI.
@@ -105,13 +115,15 @@ public class UserInputGuiView extends JFrame {
         gbc.gridy = 2;
         mainPanel.add(submitPanel, gbc);
 
-        String[] columnNames = {"Username", "Date", "Difficulty", "Status"};
-        tableModel = new DefaultTableModel(columnNames, 0);
-        historyTable = new JTable(tableModel);
+        statsLabel = new JLabel(" ", SwingConstants.CENTER);
+        gbc.gridy = 3;
+        mainPanel.add(statsLabel, gbc);
+
+        historyTable = new JTable();
         JScrollPane scrollPane = new JScrollPane(historyTable);
         scrollPane.setPreferredSize(new Dimension(350, 75));
 
-        gbc.gridy = 3;
+        gbc.gridy = 4;
         gbc.weighty = 1.0;
         gbc.fill = GridBagConstraints.BOTH;
         mainPanel.add(scrollPane, gbc);
@@ -129,15 +141,60 @@ public class UserInputGuiView extends JFrame {
     }
 
     /**
-     * Adds a record to the history table displaying details of a game.
+     * Adds a listener called on the event dispatch thread whenever the username field changes.
+     *
+     * @param listener the listener to be called.
+     */
+    public void addUsernameListener(Runnable listener) {
+        usernameField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                listener.run();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                listener.run();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                listener.run();
+            }
+        });
+    }
+
+    /**
+     * Shows the statistics of a player, one entry per difficulty level on which they played.
+     *
+     * @param stats the statistics of the player by difficulty level.
+     */
+    public void showUserStats(Map<BoardModel.DifficultyLevel, UserStats> stats) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<BoardModel.DifficultyLevel, UserStats> entry : stats.entrySet()) {
+            UserStats levelStats = entry.getValue();
+            if (levelStats.played() == 0) {
+                continue;
+            }
+            if (!text.isEmpty()) {
+                text.append(" | ");
+            }
+            text.append(entry.getKey()).append(": ")
+                    .append(levelStats.solved()).append('/').append(levelStats.played())
+                    .append(" solved, best streak ").append(levelStats.bestStreak());
+        }
+        statsLabel.setText(text.isEmpty() ? " " : text.toString());
+    }
+
+    /**
+     * Shows the given game history in the history table.
+     * The records are read in pages in the background, only for the rows that become visible.
      *
-     * @param username   the username of the player.
-     * @param date       the date when the game was played.
-     * @param difficulty the difficulty level selected for the game.
-     * @param status     the outcome or status of the game (e.g., "Completed", "In Progress").
+     * @param history the repository holding the game records.
      */
-    public void addGameRecord(String username, String date, String difficulty, String status) {
-        tableModel.addRow(new Object[]{username, date, difficulty, status});
+    public void showGameHistory(GameHistoryRepository history) {
+        tableModel = new HistoryTableModel(history);
+        historyTable.setModel(tableModel);
     }
 
     /**
@@ -8,6 +8,7 @@
  *     <li>UserView: Handles text-based interaction with the user, including console input and output.</li>
  *     <li>SudokuGameView: Manages the graphical display of the Sudoku game board.</li>
  *     <li>UserInputGuiView: Provides a GUI-based interface for handling user inputs in the game.</li>
+ *     <li>HistoryTableModel: Shows the game history in a table, reading it in pages in the background.</li>
  * </ul>
  *
  * @since 1.0
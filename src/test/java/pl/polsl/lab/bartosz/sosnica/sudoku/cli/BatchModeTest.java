@@ -0,0 +1,196 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link BatchMode} to verify the generate, solve and grade commands.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class BatchModeTest {
+
+    private final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+
+    private final BatchMode batchMode = new BatchMode(new PrintStream(errors));
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests whether generated puzzles can be solved and are graded as unique puzzles of their level.
+     *
+     * @throws IOException if the result files cannot be read
+     */
+    @Test
+    void shouldGenerateSolveAndGradePuzzles() throws IOException {
+        // GIVEN: Five generated Hard puzzles
+        Path puzzles = directory.resolve("puzzles.txt");
+        Path solutions = directory.resolve("solutions.txt");
+        Path grades = directory.resolve("grades.txt");
+        assertEquals(BatchMode.EXIT_OK, batchMode.run(new String[]{"--batch", "generate",
+                "--difficulty", "Hard", "--count", "5", "--seed", "7", "--out", puzzles.toString()}));
+
+        // WHEN: The puzzles are solved and graded
+        assertEquals(BatchMode.EXIT_OK, batchMode.run(new String[]{"--batch", "solve",
+                "--in", puzzles.toString(), "--out", solutions.toString(), "--solver", "dlx"}));
+        assertEquals(BatchMode.EXIT_OK, batchMode.run(new String[]{"--batch", "grade",
+                "--in", puzzles.toString(), "--out", grades.toString()}));
+
+        // THEN: Every puzzle has a full solution matching its clues and a unique Hard grade
+        List<String> puzzleLines = Files.readAllLines(puzzles);
+        List<String> solutionLines = Files.readAllLines(solutions);
+        List<String> gradeLines = Files.readAllLines(grades);
+        assertEquals(5, puzzleLines.size());
+        for (int i = 0; i < puzzleLines.size(); i++) {
+            String puzzle = puzzleLines.get(i);
+            String solution = solutionLines.get(i);
+            assertFalse(solution.contains("."));
+            for (int cell = 0; cell < puzzle.length(); cell++) {
+                if (puzzle.charAt(cell) != '.') {
+                    assertEquals(puzzle.charAt(cell), solution.charAt(cell));
+                }
+            }
+            String[] grade = gradeLines.get(i).split(" ");
+            assertEquals(puzzle, grade[0]);
+            assertEquals("1", grade[2]);
+            assertEquals("Hard", grade[5]);
+        }
+    }
+
+    /**
+     * Tests whether generated puzzles written in the binary format are read back by the other commands.
+     *
+     * @throws IOException if the result files cannot be read
+     */
+    @Test
+    void shouldChooseBinaryFormatByExtension() throws IOException {
+        // GIVEN: Three Medium puzzles generated into a binary file
+        Path puzzles = directory.resolve("puzzles.bin");
+        Path grades = directory.resolve("grades.txt");
+        assertEquals(BatchMode.EXIT_OK, batchMode.run(new String[]{"--batch", "generate",
+                "--difficulty", "Medium", "--count", "3", "--out", puzzles.toString()}));
+
+        // WHEN: The puzzles are graded
+        assertEquals(BatchMode.EXIT_OK, batchMode.run(new String[]{"--batch", "grade",
+                "--in", puzzles.toString(), "--out", grades.toString()}));
+
+        // THEN: The file holds three packed puzzles, each graded as a unique Medium puzzle
+        assertEquals(3L * 41, Files.size(puzzles));
+        List<String> gradeLines = Files.readAllLines(grades);
+        assertEquals(3, gradeLines.size());
+        for (String grade : gradeLines) {
+            assertTrue(grade.matches("[.1-9]{81} \\d+ 1 [A-Z_]+ \\d+ Medium"), grade);
+        }
+    }
+
+    /**
+     * Tests whether a pack generated with an excluded file repeats none of its puzzles.
+     *
+     * @throws IOException if the result files cannot be read
+     */
+    @Test
+    void shouldExcludePuzzlesOfOlderPack() throws IOException {
+        // GIVEN: A pack of four Easy puzzles
+        Path older = directory.resolve("older.txt");
+        Path newer = directory.resolve("newer.txt");
+        assertEquals(BatchMode.EXIT_OK, batchMode.run(new String[]{"--batch", "generate",
+                "--difficulty", "Easy", "--count", "4", "--seed", "3", "--out", older.toString()}));
+
+        // WHEN: A pack is generated with the same seed, excluding the older one
+        assertEquals(BatchMode.EXIT_OK, batchMode.run(new String[]{"--batch", "generate",
+                "--difficulty", "Easy", "--count", "4", "--seed", "3", "--out", newer.toString(),
+                "--exclude", older.toString()}));
+
+        // THEN: The new pack is full and shares no puzzle with the older one
+        List<String> olderLines = Files.readAllLines(older);
+        List<String> newerLines = Files.readAllLines(newer);
+        assertEquals(4, newerLines.size());
+        assertEquals(4, newerLines.stream().distinct().count());
+        for (String puzzle : newerLines) {
+            assertFalse(olderLines.contains(puzzle), puzzle);
+        }
+        assertEquals("", errors.toString());
+    }
+
+    /**
+     * Tests whether a puzzle with conflicting clues is reported as unsolvable.
+     *
+     * @throws IOException if the files cannot be accessed
+     */
+    @Test
+    void shouldReportUnsolvablePuzzle() throws IOException {
+        // GIVEN: A puzzle with the same digit twice in the first row
+        Path puzzles = directory.resolve("puzzles.txt");
+        Path solutions = directory.resolve("solutions.txt");
+        Files.write(puzzles, List.of("55" + ".".repeat(79)));
+
+        // WHEN: The puzzle is solved
+        int exitCode = batchMode.run(new String[]{"--batch", "solve", "--in", puzzles.toString(), "--out", solutions.toString()});
+
+        // THEN: The solution line is an empty grid
+        assertEquals(BatchMode.EXIT_OK, exitCode);
+        assertEquals(List.of(".".repeat(81)), Files.readAllLines(solutions));
+    }
+
+    /**
+     * Tests whether invalid arguments end with the usage exit code and a message.
+     *
+     * @param arguments the arguments after {@code --batch}, separated by spaces
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "''",
+            "shuffle",
+            "generate --difficulty Hard --count 5",
+            "generate --difficulty Extreme --count 5 --out x.txt",
+            "solve --in a.txt --out b.txt --solver magic"
+    })
+    void shouldRejectInvalidArguments(String arguments) {
+        // GIVEN: Batch arguments missing or misusing a command or option
+        String[] args = ("--batch " + arguments).trim().split(" ");
+
+        // WHEN: The batch mode is run
+        int exitCode = batchMode.run(args);
+
+        // THEN: It fails with the usage exit code and prints the usage
+        assertEquals(BatchMode.EXIT_USAGE, exitCode);
+        assertTrue(errors.toString().contains("Usage:"));
+    }
+
+    /**
+     * Tests whether a puzzle that needs guessing is graded with its clues and solutions but without a technique or level.
+     *
+     * @throws IOException if the files cannot be accessed
+     */
+    @Test
+    void shouldGradePuzzleNeedingGuessWithoutLevel() throws IOException {
+        // GIVEN: A uniquely solvable puzzle that the known techniques cannot finish
+        String puzzle = "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+        Path puzzles = directory.resolve("puzzles.txt");
+        Path grades = directory.resolve("grades.txt");
+        Files.write(puzzles, List.of(puzzle));
+
+        // WHEN: The puzzle is graded
+        int exitCode = batchMode.run(new String[]{"--batch", "grade", "--in", puzzles.toString(), "--out", grades.toString()});
+
+        // THEN: The line has no technique and no level
+        assertEquals(BatchMode.EXIT_OK, exitCode);
+        String[] grade = Files.readAllLines(grades).get(0).split(" ");
+        assertEquals(List.of(puzzle, "21", "1", BatchMode.NO_GRADE),
+                List.of(grade[0], grade[1], grade[2], grade[3]));
+        assertEquals(BatchMode.NO_GRADE, grade[5]);
+    }
+}
@@ -0,0 +1,128 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.codec;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BitBoard;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link PuzzleCodec} to verify the text and binary puzzle formats.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class PuzzleCodecTest {
+
+    private static final String PUZZLE = "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+
+    private static final String SOLUTION = "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+    /**
+     * Tests whether puzzles written in a format are read back unchanged and in order.
+     *
+     * @param format the format of the puzzles
+     * @throws IOException if the puzzles cannot be encoded
+     */
+    @ParameterizedTest
+    @EnumSource(PuzzleCodec.Format.class)
+    void shouldReadBackWrittenPuzzles(PuzzleCodec.Format format) throws IOException {
+        // GIVEN: Two boards written through a channel
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PuzzleCodec.Writer writer = new PuzzleCodec.Writer(Channels.newChannel(bytes), format)) {
+            writer.write(board(PUZZLE));
+            writer.write(board(SOLUTION));
+        }
+
+        // WHEN: The bytes are read back into one reused board
+        Board target = new BitBoard();
+        try (PuzzleCodec.Reader reader = new PuzzleCodec.Reader(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), format)) {
+            // THEN: Both puzzles come back in order, followed by the end of the stream
+            assertTrue(reader.read(target));
+            assertEquals(PUZZLE, target.toString());
+            assertTrue(reader.read(target));
+            assertEquals(SOLUTION, target.toString());
+            assertFalse(reader.read(target));
+        }
+        int expectedSize = format == PuzzleCodec.Format.BINARY ? PuzzleCodec.PACKED_SIZE : PuzzleCodec.LINE_SIZE;
+        assertEquals(2 * expectedSize, bytes.size());
+    }
+
+    /**
+     * Tests whether the text reader accepts zeros, Windows line ends, blank lines and trailing text.
+     *
+     * @throws IOException if the text cannot be read
+     */
+    @Test
+    void shouldReadLenientTextLines() throws IOException {
+        // GIVEN: Text using '0' for empty cells, CRLF line ends, a blank line and a trailing comment
+        String text = PUZZLE.replace('.', '0') + " graded 1\r\n\r\n" + SOLUTION;
+
+        // WHEN / THEN: Both puzzles are read
+        Board target = new BitBoard();
+        try (PuzzleCodec.Reader reader = reader(text)) {
+            assertTrue(reader.read(target));
+            assertEquals(PUZZLE, target.toString());
+            assertTrue(reader.read(target));
+            assertEquals(SOLUTION, target.toString());
+            assertFalse(reader.read(target));
+        }
+    }
+
+    /**
+     * Tests whether malformed puzzle lines are rejected.
+     *
+     * @param line the malformed line
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "8....x....36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+            "8..........36......7..9.2...5...7.......457.....1..."
+    })
+    void shouldRejectMalformedLine(String line) {
+        // WHEN / THEN: Reading the line fails
+        assertThrows(IOException.class, () -> {
+            try (PuzzleCodec.Reader reader = reader(line)) {
+                reader.read(new BitBoard());
+            }
+        });
+    }
+
+    /**
+     * Creates a board holding the given 81-character puzzle.
+     *
+     * @param puzzle the puzzle
+     * @return the board
+     */
+    private static Board board(String puzzle) {
+        Board board = new BitBoard();
+        for (int index = 0; index < Board.CELLS; index++) {
+            char cell = puzzle.charAt(index);
+            if (cell != '.') {
+                board.set(index / Board.SIZE, index % Board.SIZE, cell - '0');
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Creates a text reader of the given string.
+     *
+     * @param text the text to read
+     * @return the reader
+     */
+    private static PuzzleCodec.Reader reader(String text) {
+        return new PuzzleCodec.Reader(Channels.newChannel(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII))), PuzzleCodec.Format.TEXT);
+    }
+}
@@ -1,9 +1,17 @@
 package pl.polsl.lab.bartosz.sosnica.sudoku.controller;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import pl.polsl.lab.bartosz.sosnica.sudoku.exception.InvalidSudokuMoveException;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.DancingLinksSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.TechniqueGrader;
 import pl.polsl.lab.bartosz.sosnica.sudoku.view.UserView;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 class BoardControllerTest {
 
 
@@ -29,4 +37,26 @@ class BoardControllerTest {
     @Test
     void fill() {
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests whether a generated puzzle has at least the requested number of blanks, a grade of its level and a single solution.
+     *
+     * @param level the difficulty level of the generated puzzle
+     */
+    @ParameterizedTest
+    @EnumSource(BoardModel.DifficultyLevel.class)
+    void settingUpSudokuShouldProduceUniquePuzzle(BoardModel.DifficultyLevel level) {
+        // GIVEN: A controller with a difficulty level
+        BoardController boardController = new BoardController();
+        boardController.getBoardModel().settingDifficultyLevel(level);
+
+        // WHEN: Setting up the puzzle
+        boardController.settingUpSudoku();
+
+        // THEN: The cells are removed, the grade matches the level and the puzzle remains uniquely solvable
+        BoardModel boardModel = boardController.getBoardModel();
+        assertTrue(boardModel.getEngine().filledCount() <= Board.CELLS - level.getCellsToRemove());
+        assertTrue(level.accepts(new TechniqueGrader().grade(boardModel)));
+        assertTrue(new DancingLinksSolver().hasUniqueSolution(boardModel));
+    }
+}
@@ -0,0 +1,89 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link FingerprintSet} to verify adding, looking up and growing.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class FingerprintSetTest {
+
+    /**
+     * Tests whether a fingerprint is added once and found afterwards, also when only one half differs.
+     */
+    @Test
+    void shouldRejectDuplicates() {
+        // GIVEN: An empty set
+        FingerprintSet set = new FingerprintSet(4);
+
+        // WHEN: Adding fingerprints sharing one half
+        boolean first = set.add(1, 3);
+        boolean again = set.add(1, 3);
+        boolean sameHigh = set.add(1, 5);
+        boolean sameLow = set.add(17, 3);
+
+        // THEN: Only the repeated fingerprint is rejected
+        assertTrue(first);
+        assertFalse(again);
+        assertTrue(sameHigh);
+        assertTrue(sameLow);
+        assertEquals(3, set.size());
+        assertTrue(set.contains(1, 5));
+        assertFalse(set.contains(17, 5));
+    }
+
+    /**
+     * Tests whether the set keeps every fingerprint when it grows far beyond its expected size.
+     *
+     * @param expectedSize the expected number of fingerprints given to the constructor
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 1000, 100_000})
+    void shouldGrowKeepingFingerprints(long expectedSize) {
+        // GIVEN: A set and random fingerprints with clustered high halves
+        FingerprintSet set = new FingerprintSet(expectedSize);
+        SplittableRandom random = new SplittableRandom(expectedSize);
+        long[] lows = new long[50_000];
+        for (int i = 0; i < lows.length; i++) {
+            lows[i] = random.nextLong() | 1;
+        }
+
+        // WHEN: Adding all of them
+        for (int i = 0; i < lows.length; i++) {
+            assertTrue(set.add(i / 4, lows[i]));
+        }
+
+        // THEN: All are found, none twice, and the set is at most three quarters full
+        assertEquals(lows.length, set.size());
+        for (int i = 0; i < lows.length; i++) {
+            assertTrue(set.contains(i / 4, lows[i]));
+            assertFalse(set.add(i / 4, lows[i]));
+        }
+        assertFalse(set.contains(lows.length, 1));
+        assertTrue(set.size() <= set.capacity() * 3 / 4);
+        assertEquals(1, Long.bitCount(set.capacity()));
+    }
+
+    /**
+     * Tests whether the reserved empty fingerprint and a negative size are rejected.
+     */
+    @Test
+    void shouldRejectInvalidArguments() {
+        // GIVEN: A set
+        FingerprintSet set = new FingerprintSet(16);
+
+        // WHEN: Adding the empty fingerprint or creating a set of negative size
+        // THEN: Both are rejected
+        assertThrows(IllegalArgumentException.class, () -> set.add(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FingerprintSet(-1));
+        assertEquals(0, set.size());
+    }
+}
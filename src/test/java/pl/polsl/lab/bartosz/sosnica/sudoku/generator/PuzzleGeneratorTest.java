@@ -0,0 +1,117 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.DancingLinksSolver;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.TechniqueGrader;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link PuzzleGenerator} to verify parallel batch generation.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class PuzzleGeneratorTest {
+
+    /**
+     * Tests whether every generated puzzle reaches the sink with its level and a unique solution.
+     *
+     * @param level the difficulty level of the generated puzzles
+     */
+    @ParameterizedTest
+    @EnumSource(BoardModel.DifficultyLevel.class)
+    void shouldStreamRequestedNumberOfUniquePuzzles(BoardModel.DifficultyLevel level) {
+        // GIVEN: A generator and a thread-safe sink
+        PuzzleGenerator generator = new PuzzleGenerator();
+        List<BoardModel> puzzles = new CopyOnWriteArrayList<>();
+
+        // WHEN: Generating a batch of puzzles
+        generator.generate(level, 40, 42L, puzzles::add);
+
+        // THEN: Every puzzle has the requested level, a grade within its band and exactly one solution
+        DancingLinksSolver solver = new DancingLinksSolver();
+        TechniqueGrader grader = new TechniqueGrader();
+        assertEquals(40, puzzles.size());
+        for (BoardModel puzzle : puzzles) {
+            assertEquals(level, puzzle.getDifficultyLevel());
+            assertTrue(puzzle.getEngine().filledCount() <= Board.CELLS - level.getCellsToRemove());
+            assertTrue(level.accepts(grader.grade(puzzle)));
+            assertTrue(solver.hasUniqueSolution(puzzle));
+        }
+    }
+
+    /**
+     * Tests whether the same seed produces the same set of puzzles regardless of scheduling.
+     */
+    @Test
+    void shouldProduceSamePuzzlesForSameSeed() {
+        // GIVEN: Two generators running on pools of different sizes
+        Set<String> first = ConcurrentHashMap.newKeySet();
+        Set<String> second = ConcurrentHashMap.newKeySet();
+
+        // WHEN: Generating with the same seed
+        new PuzzleGenerator(new ForkJoinPool(1)).generate(BoardModel.DifficultyLevel.Medium, 30, 7L,
+                puzzle -> first.add(puzzle.getEngine().toString()));
+        new PuzzleGenerator(new ForkJoinPool(4)).generate(BoardModel.DifficultyLevel.Medium, 30, 7L,
+                puzzle -> second.add(puzzle.getEngine().toString()));
+
+        // THEN: Both runs produce the same puzzles
+        assertEquals(first, second);
+    }
+
+    /**
+     * Tests whether generating for all levels covers every difficulty.
+     */
+    @Test
+    void shouldGeneratePuzzlesForEveryLevel() {
+        // GIVEN: A generator and a thread-safe sink
+        List<BoardModel> puzzles = new CopyOnWriteArrayList<>();
+
+        // WHEN: Generating puzzles for every level
+        new PuzzleGenerator().generateAll(5, 1L, puzzles::add);
+
+        // THEN: Each level received its puzzles
+        assertEquals(Set.of(BoardModel.DifficultyLevel.values()),
+                puzzles.stream().map(BoardModel::getDifficultyLevel).collect(Collectors.toSet()));
+        assertEquals(5 * BoardModel.DifficultyLevel.values().length, puzzles.size());
+    }
+
+    /**
+     * Tests whether the builder creates uniquely solvable puzzles on boards of every supported size.
+     *
+     * @param boxSize the width and height of a box
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 5})
+    void shouldBuildUniquePuzzlesOfEverySize(int boxSize) {
+        // GIVEN: A seeded builder
+        PuzzleBuilder builder = new PuzzleBuilder(new Random(boxSize));
+
+        // WHEN: Building a puzzle
+        BoardModel puzzle = builder.build(BoardModel.DifficultyLevel.Easy, boxSize);
+
+        // THEN: The puzzle has the requested size, its givens are marked and it has one solution
+        Board board = puzzle.getEngine();
+        assertEquals(boxSize * boxSize, board.size());
+        assertTrue(board.filledCount() < board.cellCount());
+        assertEquals(0, board.conflictCount());
+        assertTrue(puzzle.isGiven(board.size() - 1, board.size() - 1)
+                == !board.isEmpty(board.size() - 1, board.size() - 1));
+        assertTrue(new BitmaskSolver().hasUniqueSolution(puzzle));
+    }
+}
@@ -0,0 +1,76 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import org.junit.jupiter.api.Test;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.TechniqueGrader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link PuzzlePool} to verify taking and refilling puzzles.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class PuzzlePoolTest {
+
+    /**
+     * Tests whether the pool fills up in the background and hands out puzzles of its level.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    @Test
+    void shouldRefillInBackgroundAndHandOutPuzzles() throws InterruptedException {
+        // GIVEN: A small pool
+        try (PuzzlePool pool = new PuzzlePool(BoardModel.DifficultyLevel.Hard, 4, 2)) {
+            // WHEN: Waiting for the background worker
+            waitForSize(pool, 4);
+
+            // THEN: Taken puzzles have the pool's level and grade, and the pool refills afterwards
+            TechniqueGrader grader = new TechniqueGrader();
+            for (int i = 0; i < 3; i++) {
+                BoardModel puzzle = pool.take();
+                assertEquals(BoardModel.DifficultyLevel.Hard, puzzle.getDifficultyLevel());
+                assertTrue(puzzle.getEngine().filledCount() <= Board.CELLS - 35);
+                assertTrue(BoardModel.DifficultyLevel.Hard.accepts(grader.grade(puzzle)));
+            }
+            waitForSize(pool, 4);
+            assertEquals(4, pool.size());
+        }
+    }
+
+    /**
+     * Tests whether an empty pool still returns a puzzle by building it on the caller.
+     */
+    @Test
+    void shouldBuildPuzzleWhenPoolIsEmpty() {
+        // GIVEN: A pool whose worker is already stopped
+        PuzzlePool pool = new PuzzlePool(BoardModel.DifficultyLevel.Easy, 1, 0);
+        pool.close();
+        while (pool.size() > 0) {
+            pool.take();
+        }
+
+        // WHEN: Taking a puzzle from the empty pool
+        BoardModel puzzle = pool.take();
+
+        // THEN: A puzzle is still returned
+        assertEquals(BoardModel.DifficultyLevel.Easy, puzzle.getDifficultyLevel());
+        assertEquals(Board.CELLS - 3, puzzle.getEngine().filledCount());
+    }
+
+    /**
+     * Waits until the pool reaches the expected size.
+     *
+     * @param pool     the pool to observe
+     * @param expected the size to wait for
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    private static void waitForSize(PuzzlePool pool, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BitBoard;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+import pl.polsl.lab.bartosz.sosnica.sudoku.solver.BitmaskSolver;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link PuzzleTransformer} to verify derived puzzles and canonical forms.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class PuzzleTransformerTest {
+
+    /**
+     * Tests whether derived puzzles keep the level, the givens and the unique solution of their seed
+     * and share its canonical form.
+     *
+     * @param level the difficulty level of the seed puzzle
+     */
+    @ParameterizedTest
+    @EnumSource(BoardModel.DifficultyLevel.class)
+    void shouldDeriveEquivalentPuzzles(BoardModel.DifficultyLevel level) {
+        // GIVEN: A seed puzzle and its canonical form
+        BoardModel seed = new PuzzleBuilder(new SplittableRandom(11)).build(level);
+        PuzzleTransformer transformer = new PuzzleTransformer(new SplittableRandom(5));
+        Board canonical = new BitBoard();
+        transformer.canonicalize(seed.getEngine(), canonical);
+
+        for (int i = 0; i < 20; i++) {
+            // WHEN: Deriving a puzzle
+            BoardModel derived = transformer.transform(seed);
+
+            // THEN: It is an equivalent puzzle with the same level and one solution
+            Board form = new BitBoard();
+            transformer.canonicalize(derived.getEngine(), form);
+            assertEquals(canonical.toString(), form.toString());
+            assertEquals(level, derived.getDifficultyLevel());
+            assertEquals(seed.getEngine().filledCount(), derived.getEngine().filledCount());
+            assertEquals(0, derived.getEngine().conflictCount());
+            assertTrue(new BitmaskSolver().hasUniqueSolution(derived));
+        }
+    }
+
+    /**
+     * Tests whether a canonical form is its own canonical form and differs for unrelated puzzles.
+     */
+    @Test
+    void shouldTellUnrelatedPuzzlesApart() {
+        // GIVEN: Two puzzles built independently
+        PuzzleBuilder builder = new PuzzleBuilder(new SplittableRandom(3));
+        Board first = builder.build(BoardModel.DifficultyLevel.Hard).getEngine();
+        Board second = builder.build(BoardModel.DifficultyLevel.Hard).getEngine();
+        PuzzleTransformer transformer = new PuzzleTransformer(new SplittableRandom(1));
+
+        // WHEN: Canonicalizing both and the first canonical form again
+        Board firstForm = new BitBoard();
+        Board secondForm = new BitBoard();
+        Board again = new BitBoard();
+        transformer.canonicalize(first, firstForm);
+        transformer.canonicalize(second, secondForm);
+        transformer.canonicalize(firstForm, again);
+
+        // THEN: The forms differ and a canonical form is stable
+        assertNotEquals(firstForm.toString(), secondForm.toString());
+        assertEquals(firstForm.toString(), again.toString());
+        assertEquals(first.filledCount(), firstForm.filledCount());
+    }
+
+    /**
+     * Tests whether equivalent puzzles share a fingerprint and unrelated puzzles do not.
+     */
+    @Test
+    void shouldFingerprintCanonicalForms() {
+        // GIVEN: A puzzle, a puzzle derived from it and an unrelated puzzle
+        PuzzleBuilder builder = new PuzzleBuilder(new SplittableRandom(9));
+        BoardModel seed = builder.build(BoardModel.DifficultyLevel.Medium);
+        BoardModel unrelated = builder.build(BoardModel.DifficultyLevel.Medium);
+        PuzzleTransformer transformer = new PuzzleTransformer(new SplittableRandom(7));
+        BoardModel derived = transformer.transform(seed);
+
+        // WHEN: Fingerprinting all three
+        long[] seedPrint = new long[2];
+        long[] derivedPrint = new long[2];
+        long[] unrelatedPrint = new long[2];
+        transformer.fingerprint(seed.getEngine(), seedPrint);
+        transformer.fingerprint(derived.getEngine(), derivedPrint);
+        transformer.fingerprint(unrelated.getEngine(), unrelatedPrint);
+
+        // THEN: Only the equivalent puzzles match and no fingerprint is the empty one
+        assertEquals(seedPrint[0], derivedPrint[0]);
+        assertEquals(seedPrint[1], derivedPrint[1]);
+        assertFalse(seedPrint[0] == unrelatedPrint[0] && seedPrint[1] == unrelatedPrint[1]);
+        assertEquals(1, seedPrint[1] & 1);
+        assertEquals(1, unrelatedPrint[1] & 1);
+    }
+
+    /**
+     * Tests whether multiplying seeds delivers the requested number of distinct puzzles.
+     */
+    @Test
+    void shouldMultiplySeedsIntoDistinctPuzzles() {
+        // GIVEN: Two seed puzzles
+        PuzzleBuilder builder = new PuzzleBuilder(new SplittableRandom(8));
+        List<BoardModel> seeds = List.of(builder.build(BoardModel.DifficultyLevel.Medium),
+                builder.build(BoardModel.DifficultyLevel.Easy));
+        List<BoardModel> derived = new ArrayList<>();
+
+        // WHEN: Deriving puzzles from them
+        new PuzzleTransformer(new SplittableRandom(2)).multiply(seeds, 100, derived::add);
+
+        // THEN: The seeds are used in turn and the puzzles differ
+        assertEquals(100, derived.size());
+        assertEquals(BoardModel.DifficultyLevel.Medium, derived.get(0).getDifficultyLevel());
+        assertEquals(BoardModel.DifficultyLevel.Easy, derived.get(1).getDifficultyLevel());
+        Set<String> distinct = new HashSet<>();
+        derived.forEach(puzzle -> distinct.add(puzzle.getEngine().toString()));
+        assertEquals(100, distinct.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> new PuzzleTransformer(new SplittableRandom(2)).multiply(List.of(), 1, derived::add));
+    }
+
+    /**
+     * Tests whether larger boards are transformed but only 9x9 puzzles are canonicalized.
+     */
+    @Test
+    void shouldTransformLargerBoards() {
+        // GIVEN: A 16x16 puzzle
+        BoardModel seed = new PuzzleBuilder(new SplittableRandom(4)).build(BoardModel.DifficultyLevel.Easy, 4);
+        PuzzleTransformer transformer = new PuzzleTransformer(new SplittableRandom(6));
+
+        // WHEN: Deriving a puzzle
+        BoardModel derived = transformer.transform(seed);
+
+        // THEN: It keeps its size and its unique solution, and canonicalizing it is rejected
+        assertEquals(16, derived.getEngine().size());
+        assertEquals(seed.getEngine().filledCount(), derived.getEngine().filledCount());
+        assertTrue(new BitmaskSolver().hasUniqueSolution(derived));
+        assertThrows(IllegalArgumentException.class, () -> transformer.canonicalize(derived.getEngine(), new BitBoard()));
+        assertThrows(IllegalArgumentException.class, () -> transformer.transform(seed.getEngine(), new BitBoard()));
+    }
+}
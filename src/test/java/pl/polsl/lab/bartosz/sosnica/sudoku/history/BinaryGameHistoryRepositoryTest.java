@@ -0,0 +1,200 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link BinaryGameHistoryRepository} to verify storing, reading and migrating records.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class BinaryGameHistoryRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 11, 3);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests whether appended records are read back in order and survive reopening the history.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldReadAppendedRecordsAfterReopening() throws IOException {
+        // GIVEN: Three records appended to a new history
+        GameRecord first = new GameRecord("Anita", DATE, BoardModel.DifficultyLevel.Hard, true);
+        GameRecord second = new GameRecord("Tomek", DATE.plusDays(1), null, false);
+        GameRecord third = new GameRecord("Anita", DATE.plusDays(2), BoardModel.DifficultyLevel.Easy, false);
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            repository.append(first);
+            repository.append(second);
+            repository.append(third);
+        }
+
+        // WHEN: The history is opened again
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            // THEN: All records are present and ranges are clipped to the end of the history
+            assertEquals(3, repository.size());
+            assertEquals(List.of(first, second, third), repository.read(0, 3));
+            assertEquals(List.of(second, third), repository.read(1, 10));
+            assertTrue(repository.read(3, 5).isEmpty());
+        }
+    }
+
+    /**
+     * Tests whether the text history is migrated once, keeping usernames that contain spaces.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldMigrateTextHistoryOnce() throws IOException {
+        // GIVEN: A text history with a username containing a space and a malformed line
+        Path textFile = directory.resolve("gamehistory.txt");
+        Files.write(textFile, List.of(
+                "Jan Kowalski 2024-11-03 Easy Solved",
+                "broken line",
+                "Artur 2024-11-04 null Unsolved"));
+
+        // WHEN: The history is opened twice with the same text file
+        Path dataDirectory = directory.resolve("data");
+        BinaryGameHistoryRepository.open(dataDirectory, textFile).close();
+        try (BinaryGameHistoryRepository repository = BinaryGameHistoryRepository.open(dataDirectory, textFile)) {
+            // THEN: The valid lines are migrated exactly once
+            assertEquals(List.of(
+                    new GameRecord("Jan Kowalski", DATE, BoardModel.DifficultyLevel.Easy, true),
+                    new GameRecord("Artur", DATE.plusDays(1), null, false)), repository.read(0, 10));
+        }
+    }
+
+    /**
+     * Tests whether a migration interrupted by a crash is started over instead of leaving a partial history.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldRestartInterruptedMigration() throws IOException {
+        // GIVEN: A text history and the leftovers of a migration that stopped after one record
+        Path textFile = directory.resolve("gamehistory.txt");
+        Files.write(textFile, List.of("Anita 2024-11-03 Hard Solved", "Tomek 2024-11-04 Easy Unsolved"));
+        Path dataDirectory = directory.resolve("data");
+        try (BinaryGameHistoryRepository partial = new BinaryGameHistoryRepository(
+                dataDirectory.resolve(BinaryGameHistoryRepository.MIGRATION_DIRECTORY))) {
+            partial.append(new GameRecord("Anita", DATE, BoardModel.DifficultyLevel.Hard, true));
+        }
+
+        // WHEN: The history is opened
+        try (BinaryGameHistoryRepository repository = BinaryGameHistoryRepository.open(dataDirectory, textFile)) {
+            // THEN: Every text record is migrated exactly once and the leftovers are gone
+            assertEquals(List.of(
+                    new GameRecord("Anita", DATE, BoardModel.DifficultyLevel.Hard, true),
+                    new GameRecord("Tomek", DATE.plusDays(1), BoardModel.DifficultyLevel.Easy, false)),
+                    repository.read(0, 10));
+            assertFalse(Files.exists(dataDirectory.resolve(BinaryGameHistoryRepository.MIGRATION_DIRECTORY)));
+        }
+    }
+
+    /**
+     * Tests whether a record torn by a crash is dropped and the next record replaces it.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldDropTornRecord() throws IOException {
+        // GIVEN: A history whose last record was only partly written
+        GameRecord record = new GameRecord("bartek", DATE, BoardModel.DifficultyLevel.Medium, true);
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            repository.append(record);
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(BinaryGameHistoryRepository.HISTORY_FILE),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), channel.size());
+        }
+
+        // WHEN: The history is reopened and a record is appended
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            repository.append(record);
+
+            // THEN: Only the complete records are present
+            assertEquals(List.of(record, record), repository.read(0, 10));
+        }
+    }
+
+    /**
+     * Tests whether a username length torn by a crash is dropped, so names interned later keep their ids.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldDropTornUsernameLength() throws IOException {
+        // GIVEN: A history whose username file ends with one byte of a length prefix
+        GameRecord first = new GameRecord("Anita", DATE, BoardModel.DifficultyLevel.Easy, true);
+        GameRecord second = new GameRecord("Tomek", DATE, BoardModel.DifficultyLevel.Hard, false);
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            repository.append(first);
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(BinaryGameHistoryRepository.USERS_FILE),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(1), channel.size());
+        }
+
+        // WHEN: A record of a new player is appended and the history is opened again
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            repository.append(second);
+        }
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            // THEN: Both records keep their usernames
+            assertEquals(List.of(first, second), repository.read(0, 10));
+        }
+    }
+
+    /**
+     * Tests whether a record with an unknown difficulty level is read without a level instead of failing.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldReadUnknownDifficultyAsNone() throws IOException {
+        // GIVEN: A history whose only record has a damaged difficulty byte
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            repository.append(new GameRecord("Anita", DATE, BoardModel.DifficultyLevel.Medium, true));
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(BinaryGameHistoryRepository.HISTORY_FILE),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), BinaryGameHistoryRepository.HEADER_SIZE + 2L * Integer.BYTES);
+        }
+
+        // WHEN: The history is read
+        try (BinaryGameHistoryRepository repository = new BinaryGameHistoryRepository(directory)) {
+            // THEN: The record keeps its other fields and has no level
+            assertEquals(List.of(new GameRecord("Anita", DATE, null, true)), repository.read(0, 10));
+        }
+    }
+
+    /**
+     * Tests whether a file that is not a game history is rejected.
+     *
+     * @throws IOException if the test file cannot be written
+     */
+    @Test
+    void shouldRejectForeignFile() throws IOException {
+        // GIVEN: A history file with a wrong header
+        Files.write(directory.resolve(BinaryGameHistoryRepository.HISTORY_FILE), "not a history".getBytes());
+
+        // WHEN / THEN: Opening it fails
+        assertThrows(IOException.class, () -> new BinaryGameHistoryRepository(directory));
+    }
+}
@@ -0,0 +1,143 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link UserStatsIndex} to verify incremental statistics and snapshots.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class UserStatsIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 11, 3);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests whether appended games update the counters and streaks of their player and level only.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldAggregateAppendedGames() throws IOException {
+        try (BinaryGameHistoryRepository history = new BinaryGameHistoryRepository(directory)) {
+            // GIVEN: An index subscribed to an empty history
+            UserStatsIndex index = new UserStatsIndex(history, null);
+
+            // WHEN: Games are appended: solved, solved, unsolved, solved on Medium and one Easy game
+            appendGames(history, "Justyn", BoardModel.DifficultyLevel.Medium, true, true, false, true);
+            appendGames(history, "Justyn", BoardModel.DifficultyLevel.Easy, false);
+
+            // THEN: Each level has its own counters and streaks
+            assertEquals(new UserStats(4, 3, 1, 2), index.get("Justyn", BoardModel.DifficultyLevel.Medium));
+            assertEquals(new UserStats(1, 0, 0, 0), index.get("Justyn", BoardModel.DifficultyLevel.Easy));
+            assertEquals(UserStats.EMPTY, index.get("Justyn", BoardModel.DifficultyLevel.Hard));
+            assertEquals(UserStats.EMPTY, index.get("Anita", BoardModel.DifficultyLevel.Medium));
+            assertEquals(0.75, index.get("Justyn", BoardModel.DifficultyLevel.Medium).winRate());
+        }
+    }
+
+    /**
+     * Tests whether a reopened index starts from its snapshot and replays only the newer records.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldResumeFromSnapshot() throws IOException {
+        Path snapshot = directory.resolve(UserStatsIndex.SNAPSHOT_FILE);
+        try (BinaryGameHistoryRepository history = new BinaryGameHistoryRepository(directory)) {
+            // GIVEN: A snapshot covering two games, followed by a game not yet in any snapshot
+            UserStatsIndex index = new UserStatsIndex(history, snapshot);
+            appendGames(history, "Anita", BoardModel.DifficultyLevel.Hard, true, true);
+            index.save();
+            appendGames(history, "Anita", BoardModel.DifficultyLevel.Hard, false);
+        }
+
+        // WHEN: The history and index are opened again
+        try (BinaryGameHistoryRepository history = new BinaryGameHistoryRepository(directory)) {
+            UserStatsIndex index = new UserStatsIndex(history, snapshot);
+
+            // THEN: The statistics cover all three games
+            assertEquals(3, index.recordCount());
+            assertEquals(new UserStats(3, 2, 0, 2), index.get("Anita", BoardModel.DifficultyLevel.Hard));
+        }
+    }
+
+    /**
+     * Tests whether a snapshot covering more records than the history is ignored.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldRebuildWhenSnapshotDoesNotMatchHistory() throws IOException {
+        // GIVEN: A snapshot of a history with two games, and a new history with a single game
+        Path snapshot = directory.resolve(UserStatsIndex.SNAPSHOT_FILE);
+        try (BinaryGameHistoryRepository history = new BinaryGameHistoryRepository(directory.resolve("old"))) {
+            appendGames(history, "Tomek", BoardModel.DifficultyLevel.Easy, true, true);
+            new UserStatsIndex(history, snapshot).save();
+        }
+        try (BinaryGameHistoryRepository history = new BinaryGameHistoryRepository(directory.resolve("new"))) {
+            appendGames(history, "Tomek", BoardModel.DifficultyLevel.Easy, false);
+
+            // WHEN: The index is built with the old snapshot
+            UserStatsIndex index = new UserStatsIndex(history, snapshot);
+
+            // THEN: The statistics come from the new history only
+            assertTrue(Files.exists(snapshot));
+            assertEquals(new UserStats(1, 0, 0, 0), index.get("Tomek", BoardModel.DifficultyLevel.Easy));
+        }
+    }
+
+    /**
+     * Tests whether a snapshot with a damaged username length is ignored instead of failing the start.
+     *
+     * @throws IOException if the history cannot be accessed
+     */
+    @Test
+    void shouldRebuildWhenSnapshotIsDamaged() throws IOException {
+        Path snapshot = directory.resolve(UserStatsIndex.SNAPSHOT_FILE);
+        try (BinaryGameHistoryRepository history = new BinaryGameHistoryRepository(directory)) {
+            // GIVEN: A snapshot whose first username length has all bits set
+            appendGames(history, "Anita", BoardModel.DifficultyLevel.Medium, true, false);
+            new UserStatsIndex(history, snapshot).save();
+            byte[] bytes = Files.readAllBytes(snapshot);
+            bytes[20] = (byte) 0xFF;
+            bytes[21] = (byte) 0xFF;
+            Files.write(snapshot, bytes);
+
+            // WHEN: The index is built with the damaged snapshot
+            UserStatsIndex index = new UserStatsIndex(history, snapshot);
+
+            // THEN: The statistics are rebuilt from the history
+            assertEquals(2, index.recordCount());
+            assertEquals(new UserStats(2, 1, 0, 1), index.get("Anita", BoardModel.DifficultyLevel.Medium));
+        }
+    }
+
+    /**
+     * Appends games of one player and level to the history.
+     *
+     * @param history  the history receiving the games
+     * @param username the name of the player
+     * @param level    the difficulty level of the games
+     * @param results  the solved flag of each game, in order
+     * @throws IOException if the games cannot be written
+     */
+    private static void appendGames(GameHistoryRepository history, String username,
+                                    BoardModel.DifficultyLevel level, boolean... results) throws IOException {
+        for (boolean solved : results) {
+            history.append(new GameRecord(username, DATE, level, solved));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link LatencyHistogram} to verify the bucketing and the reported statistics.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Tests whether every duration falls into a bucket whose highest value is within the precision of the histogram.
+     *
+     * @param value the recorded duration
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 15, 16, 17, 31, 32, 1_000, 65_535, 1_000_000_007L, Long.MAX_VALUE})
+    void shouldBucketWithinPrecision(long value) {
+        // GIVEN: A duration
+        // WHEN: Its bucket is looked up
+        int bucket = LatencyHistogram.bucketOf(value);
+        long highest = LatencyHistogram.highestInBucket(bucket);
+
+        // THEN: The bucket holds the duration and its width is below 1/16 of it
+        assertTrue(bucket >= 0 && bucket < LatencyHistogram.BUCKETS);
+        assertTrue(highest >= value);
+        assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKETS);
+        assertTrue(bucket == 0 || LatencyHistogram.highestInBucket(bucket - 1) < value);
+    }
+
+    /**
+     * Tests whether the count, mean, percentiles and maximum describe the recorded durations.
+     */
+    @Test
+    void shouldReportStatistics() {
+        // GIVEN: Durations of 1 to 1000 microseconds
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        // WHEN: The statistics are read
+        long median = histogram.getMedianNanos();
+        long p99 = histogram.getP99Nanos();
+
+        // THEN: They match the durations within the precision of the histogram
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMeanNanos(), 0.001);
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertTrue(median >= 500_000 && median <= 500_000 * 17 / 16, "median " + median);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+        assertEquals(1_000_000, histogram.percentile(100));
+    }
+
+    /**
+     * Tests whether a reset histogram reports no durations.
+     */
+    @Test
+    void shouldForgetDurationsOnReset() {
+        // GIVEN: A histogram with recorded durations
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(42);
+        histogram.record(-5);
+
+        // WHEN: It is reset
+        histogram.reset();
+
+        // THEN: It is empty again
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos(), 0);
+        assertEquals(0, histogram.getMedianNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+}
@@ -0,0 +1,82 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link Metrics} to verify the registry, the JMX publication and the text report.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class MetricsTest {
+
+    /**
+     * Tests whether metrics are disabled unless the system property enables them,
+     * so timing costs nothing in the tests.
+     */
+    @Test
+    void shouldBeDisabledByDefault() {
+        // GIVEN: Tests run without the metrics property
+        // WHEN: A timed operation is recorded through the disabled path
+        long start = Metrics.startTime();
+        Metrics.histogram("test.disabled").recordSince(start);
+        Metrics.counter("test.disabled").increment();
+
+        // THEN: Nothing is recorded
+        assertFalse(Metrics.ENABLED);
+        assertEquals(0, start);
+        assertEquals(0, Metrics.histogram("test.disabled").getCount());
+        assertEquals(0, Metrics.counter("test.disabled").getCount());
+    }
+
+    /**
+     * Tests whether a name always returns the same metric.
+     */
+    @Test
+    void shouldReturnRegisteredMetric() {
+        // GIVEN: A registered histogram and counter
+        LatencyHistogram histogram = Metrics.histogram("test.same");
+        Counter counter = Metrics.counter("test.same");
+
+        // WHEN: They are looked up again by name
+        // THEN: The same instances are returned
+        assertSame(histogram, Metrics.histogram("test.same"));
+        assertSame(counter, Metrics.counter("test.same"));
+        assertSame(Metrics.FILL, Metrics.histogram("generator.fill"));
+    }
+
+    /**
+     * Tests whether the metrics are published as MBeans and listed in the text report.
+     *
+     * @throws JMException if the MBeans cannot be registered or read
+     */
+    @Test
+    void shouldPublishMetrics() throws JMException {
+        // GIVEN: A histogram with one recorded duration
+        LatencyHistogram histogram = Metrics.histogram("test.published");
+        histogram.record(2_000);
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+
+        // WHEN: The metrics are registered twice and reported
+        Metrics.registerMBeans(server);
+        Metrics.registerMBeans(server);
+        String report = Metrics.report();
+
+        // THEN: The histogram is readable through JMX and its line is in the report
+        ObjectName name = new ObjectName(Metrics.JMX_DOMAIN + ":type=LatencyHistogram,name=test.published");
+        assertEquals(1L, server.getAttribute(name, "Count"));
+        assertEquals(2_000L, server.getAttribute(name, "MaxNanos"));
+        assertTrue(server.isRegistered(
+                new ObjectName(Metrics.JMX_DOMAIN + ":type=Counter,name=generator.fill.backtracks")));
+        assertTrue(report.contains("test.published"));
+        assertTrue(report.contains("max=2.0us"));
+        assertTrue(report.contains("solver.backtracks"));
+    }
+}
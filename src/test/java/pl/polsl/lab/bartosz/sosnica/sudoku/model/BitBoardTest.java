@@ -0,0 +1,164 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link BitBoard} to verify the grid and unit masks.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class BitBoardTest {
+
+    private BitBoard board;
+
+    /**
+     * Creates an empty board before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        board = new BitBoard();
+    }
+
+    /**
+     * Tests whether placing a digit marks it in the row, column and box masks.
+     *
+     * @param row the row of the placed digit
+     * @param col the column of the placed digit
+     * @param box the expected box index
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0, 0",
+            "4, 7, 5",
+            "8, 8, 8"
+    })
+    void shouldUpdateMasksWhenValueIsPlaced(int row, int col, int box) {
+        // GIVEN: A digit placed in a cell
+        board.set(row, col, 5);
+
+        // THEN: The digit is stored and marked in all three units
+        assertEquals(5, board.get(row, col));
+        assertEquals(1 << 4, board.rowMask(row));
+        assertEquals(1 << 4, board.colMask(col));
+        assertEquals(1 << 4, board.boxMask(box));
+        assertEquals(1, board.filledCount());
+    }
+
+    /**
+     * Tests whether the candidates of a cell exclude digits from its row, column and box.
+     */
+    @Test
+    void shouldExcludeUsedDigitsFromCandidates() {
+        // GIVEN: Digits placed in the row, column and box of (0, 0)
+        board.set(0, 5, 1);
+        board.set(5, 0, 2);
+        board.set(1, 1, 3);
+
+        // WHEN: Reading the candidates of (0, 0)
+        int candidates = board.candidates(0, 0);
+
+        // THEN: Only the unused digits remain
+        assertEquals(Board.ALL_DIGITS & ~0b111, candidates);
+    }
+
+    /**
+     * Tests whether removing one of two duplicates keeps the digit in the unit mask.
+     */
+    @Test
+    void shouldKeepMaskBitWhileDuplicateRemains() {
+        // GIVEN: The same digit stored twice in one row
+        board.set(0, 0, 7);
+        board.set(0, 1, 7);
+
+        // WHEN: One copy is removed
+        board.clear(0, 0);
+
+        // THEN: The row still reports the digit and the other copy's column does not lose it
+        assertEquals(1 << 6, board.rowMask(0));
+        assertEquals(0, board.colMask(0));
+        assertEquals(1 << 6, board.colMask(1));
+        assertEquals(1, board.filledCount());
+    }
+
+    /**
+     * Tests whether resetting the board empties every cell and mask.
+     */
+    @Test
+    void shouldEmptyBoardOnReset() {
+        // GIVEN: A board with a digit
+        board.set(3, 3, 9);
+
+        // WHEN: The board is reset
+        board.reset();
+
+        // THEN: The board is empty
+        assertTrue(board.isEmpty(3, 3));
+        assertEquals(0, board.boxMask(4));
+        assertEquals(0, board.filledCount());
+    }
+
+    /**
+     * Tests whether only the cells changed since the previous drain are reported.
+     */
+    @Test
+    void shouldReportChangedCellsOnce() {
+        // GIVEN: A new board reports every cell once
+        int[] changed = new int[Board.CELLS];
+        assertEquals(Board.CELLS, board.drainChangedCells(changed));
+
+        // WHEN: Two cells change and one is marked
+        board.set(0, 3, 4);
+        board.set(8, 8, 1);
+        board.markChanged(2, 2);
+
+        // THEN: Exactly those cells are reported, in index order, and then forgotten
+        assertEquals(3, board.drainChangedCells(changed));
+        assertEquals(3, changed[0]);
+        assertEquals(20, changed[1]);
+        assertEquals(80, changed[2]);
+        assertEquals(0, board.drainChangedCells(changed));
+    }
+
+    /**
+     * Tests whether a 16x16 board keeps a 16-bit mask per unit and boxes of four rows and columns.
+     */
+    @Test
+    void shouldTrackMasksOfLargerBoard() {
+        // GIVEN: An empty 16x16 board
+        BitBoard large = new BitBoard(4);
+
+        // WHEN: The highest digit is placed in the last cell
+        large.set(15, 15, 16);
+
+        // THEN: The dimensions, the masks and the candidates follow the board size
+        assertEquals(16, large.size());
+        assertEquals(256, large.cellCount());
+        assertEquals(0xFFFF, large.allDigits());
+        assertEquals(15, large.boxOf(15, 15));
+        assertEquals(1 << 15, large.rowMask(15));
+        assertEquals(1 << 15, large.colMask(15));
+        assertEquals(1 << 15, large.boxMask(15));
+        assertEquals(0x7FFF, large.candidates(15, 0));
+        assertEquals(0xFFFF, large.candidates(0, 0));
+        assertEquals(256, large.drainChangedCells(new int[Board.MAX_CELLS]));
+    }
+
+    /**
+     * Tests whether a box size outside the supported range is rejected.
+     *
+     * @param boxSize the unsupported box size
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 6})
+    void shouldRejectUnsupportedBoxSize(int boxSize) {
+        // WHEN / THEN: Creating the board fails
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard(boxSize));
+    }
+}
@@ -94,10 +94,113 @@ class BoardModelTest {
     static Stream<Arguments> provideInvalidMoves() {
         return Stream.of(
                 Arguments.of(0, 0, "5", 1, 0), // Same column
-                Arguments.of(0, 0, "5", 0, 1)  // Same row
+                Arguments.of(0, 0, "5", 0, 1), // Same row
+                Arguments.of(0, 0, "5", 1, 1)  // Same block
         );
     }
 
+    /**
+     * Tests if the reported conflict names the unit that already contains the value.
+     *
+     * @param newRow          the row of the duplicate value
+     * @param newCol          the column of the duplicate value
+     * @param expectedMessage the expected exception message
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "4, 4, Value already present in row",
+            "0, 3, Value already present in column",
+            "3, 5, Value already present in box"
+    })
+    void shouldReportConflictingUnit(int newRow, int newCol, String expectedMessage) {
+        // GIVEN: A board with a value placed in the center box
+        boardModel.placeValue(4, 3, "7");
+
+        // WHEN: Validating the same value in a conflicting cell
+        InvalidSudokuMoveException exception = assertThrows(InvalidSudokuMoveException.class,
+                () -> boardModel.validateValueUniqueness(newRow, newCol, "7"));
+
+        // THEN: The message names the conflicting unit
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    /**
+     * Tests if checking a move returns the result code of the first rule it breaks without throwing.
+     *
+     * @param newRow   the row of the checked move
+     * @param newCol   the column of the checked move
+     * @param value    the value of the checked move
+     * @param expected the expected result
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "4, 4, 7, ROW_CONFLICT",
+            "0, 3, 7, COL_CONFLICT",
+            "3, 5, 7, BOX_CONFLICT",
+            "0, 0, 7, OK",
+            "0, 0, 0, BAD_VALUE",
+            "0, 0, 10, BAD_VALUE",
+            "0, 0, x, BAD_VALUE"
+    })
+    void shouldCheckMoveWithoutThrowing(int newRow, int newCol, String value, MoveCheck expected) {
+        // GIVEN: A board with a value placed in the center box
+        boardModel.placeValue(4, 3, "7");
+
+        // WHEN: Checking a move
+        MoveCheck check = boardModel.checkMove(newRow, newCol, value);
+
+        // THEN: The result names the broken rule, if any
+        assertEquals(expected, check);
+        assertEquals(expected == MoveCheck.OK, check.isValid());
+    }
+
+    /**
+     * Tests whether moves on a 16x16 board accept the digits 10-16 as numbers or letters.
+     *
+     * @param newRow   the row of the checked move
+     * @param newCol   the column of the checked move
+     * @param value    the value of the checked move
+     * @param expected the expected result
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "0, 9, 16, ROW_CONFLICT",
+            "12, 0, g, COL_CONFLICT",
+            "3, 3, G, BOX_CONFLICT",
+            "8, 8, 16, OK",
+            "8, 8, A, OK",
+            "8, 8, 17, BAD_VALUE",
+            "8, 8, H, BAD_VALUE",
+            "8, 8, 016, BAD_VALUE"
+    })
+    void shouldCheckMoveOnLargerBoard(int newRow, int newCol, String value, MoveCheck expected) {
+        // GIVEN: A 16x16 board with the highest digit in the first cell
+        BoardModel large = new BoardModel(4);
+        large.settingUpBoard();
+        large.placeValue(0, 0, "16");
+
+        // WHEN: Checking a move
+        MoveCheck check = large.checkMove(newRow, newCol, value);
+
+        // THEN: The result follows the size of the board
+        assertEquals(expected, check);
+        assertEquals("16", large.getBoard().get(0).get(0).value());
+        assertEquals(16, large.getBoard().size());
+    }
+
+    /**
+     * Tests if a value is accepted once the conflicting value has been removed.
+     */
+    @Test
+    void shouldAcceptValueAfterConflictIsRemoved() {
+        // GIVEN: A value that was placed and then removed
+        boardModel.placeValue(0, 0, "5");
+        boardModel.removeValue(0, 0);
+
+        // THEN: The same value can be placed in the same box again
+        assertDoesNotThrow(() -> boardModel.validateValueUniqueness(1, 1, "5"));
+    }
+
     /**
      * Tests if multiple valid single-digit values pass validation without throwing an exception.
      *
@@ -145,7 +248,8 @@ class BoardModelTest {
     static Stream<Arguments> provideInvalidValues() {
         return Stream.of(
                 Arguments.of((Object) new String[]{"1", "10", "3"}), // Two-digit value
-                Arguments.of((Object) new String[]{"1", "a", "3"})   // Non-numeric value
+                Arguments.of((Object) new String[]{"1", "a", "3"}),  // Non-numeric value
+                Arguments.of((Object) new String[]{"0"})             // Zero is not a cell value
         );
     }
 
@@ -164,4 +268,93 @@ class BoardModelTest {
         String resultValue = boardModel.getBoard().get(0).get(0).value();
         assertEquals("", resultValue);
     }
+
+    /**
+     * Tests whether conflicts are counted when duplicates are placed and removed.
+     */
+    @Test
+    void shouldTrackConflictsIncrementally() {
+        // GIVEN: Two equal values in the same row and box
+        boardModel.placeValue(0, 0, "5");
+        boardModel.placeValue(0, 1, "5");
+
+        // THEN: The board reports a conflict until one value is removed
+        assertTrue(boardModel.hasConflicts());
+        boardModel.removeValue(0, 1);
+        assertFalse(boardModel.hasConflicts());
+    }
+
+    /**
+     * Tests whether the solved listener is notified once the last correct value is placed.
+     */
+    @Test
+    void shouldNotifySolvedListenerWhenBoardIsCompleted() {
+        // GIVEN: A complete grid with its last cell removed and a registered listener
+        String solution = "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+        for (int i = 0; i < Board.CELLS - 1; i++) {
+            boardModel.getEngine().set(i / Board.SIZE, i % Board.SIZE, solution.charAt(i) - '0');
+        }
+        int[] notifications = new int[1];
+        boardModel.addSolvedListener(() -> notifications[0]++);
+        assertFalse(boardModel.isCompleted());
+
+        // WHEN: The player places the missing value
+        boardModel.placeValue(8, 8, "2");
+
+        // THEN: The board is completed and the listener was notified once
+        assertTrue(boardModel.isCompleted());
+        assertEquals(1, notifications[0]);
+    }
+
+    /**
+     * Tests whether loading a puzzle marks exactly its filled cells as givens.
+     */
+    @Test
+    void shouldMarkFilledCellsOfLoadedPuzzleAsGivens() {
+        // GIVEN: A puzzle with two filled cells, one of them past the 64th cell
+        BoardModel puzzle = new BoardModel();
+        puzzle.settingUpBoard();
+        puzzle.getEngine().set(0, 2, 4);
+        puzzle.getEngine().set(8, 0, 7);
+
+        // WHEN: The puzzle is loaded and the player fills another cell
+        boardModel.loadPuzzle(puzzle);
+        boardModel.placeValue(4, 4, "1");
+
+        // THEN: Only the puzzle's cells are givens
+        assertTrue(boardModel.isGiven(0, 2));
+        assertTrue(boardModel.isGiven(8, 0));
+        assertFalse(boardModel.isGiven(4, 4));
+        assertFalse(boardModel.isGiven(0, 0));
+    }
+
+    /**
+     * Tests whether moves made during a game are undone and redone in order, and a new move drops the redo history.
+     */
+    @Test
+    void shouldUndoAndRedoMoves() {
+        // GIVEN: A loaded puzzle with one given and two moves of the player
+        BoardModel puzzle = new BoardModel();
+        puzzle.settingUpBoard();
+        puzzle.getEngine().set(0, 0, 9);
+        boardModel.loadPuzzle(puzzle);
+        boardModel.placeValue(1, 1, "3");
+        boardModel.placeValue(1, 1, "4");
+
+        // WHEN / THEN: Undo restores the previous values and stops at the givens
+        assertTrue(boardModel.undo());
+        assertEquals(3, boardModel.getEngine().get(1, 1));
+        assertTrue(boardModel.undo());
+        assertTrue(boardModel.getEngine().isEmpty(1, 1));
+        assertFalse(boardModel.undo());
+        assertEquals(9, boardModel.getEngine().get(0, 0));
+
+        // WHEN / THEN: Redo applies the moves again until a new move is made
+        assertTrue(boardModel.redo());
+        assertEquals(3, boardModel.getEngine().get(1, 1));
+        boardModel.removeValue(1, 1);
+        assertFalse(boardModel.redo());
+        assertTrue(boardModel.undo());
+        assertEquals(3, boardModel.getEngine().get(1, 1));
+    }
 }
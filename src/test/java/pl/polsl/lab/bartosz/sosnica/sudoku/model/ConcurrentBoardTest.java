@@ -0,0 +1,156 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link ConcurrentBoard} to verify atomic placements by concurrent players.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class ConcurrentBoardTest {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Tests whether placements into occupied cells and conflicting units are rejected and leave the masks unchanged.
+     */
+    @Test
+    void shouldRejectOccupiedCellAndConflictingDigit() {
+        // GIVEN: A board with a 5 in the top-left cell
+        ConcurrentBoard board = new ConcurrentBoard();
+        assertEquals(ConcurrentBoard.Placement.PLACED, board.tryPlace(0, 0, 5));
+
+        // WHEN / THEN: The cell is occupied, and a 5 in its row, column or box conflicts
+        assertEquals(ConcurrentBoard.Placement.OCCUPIED, board.tryPlace(0, 0, 6));
+        assertEquals(ConcurrentBoard.Placement.CONFLICT, board.tryPlace(0, 8, 5));
+        assertEquals(ConcurrentBoard.Placement.CONFLICT, board.tryPlace(8, 0, 5));
+        assertEquals(ConcurrentBoard.Placement.CONFLICT, board.tryPlace(2, 2, 5));
+        assertThrows(IllegalArgumentException.class, () -> board.set(1, 1, 5));
+        assertEquals(1 << 4, board.rowMask(0));
+        assertEquals(0, board.rowMask(8) | board.colMask(8) | board.boxMask(8));
+        assertEquals(1, board.filledCount());
+
+        // WHEN / THEN: Clearing needs the expected digit and frees the units
+        assertFalse(board.tryClear(0, 0, 6));
+        assertTrue(board.tryClear(0, 0, 5));
+        assertEquals(0, board.rowMask(0) | board.colMask(0) | board.boxMask(0));
+        assertEquals(ConcurrentBoard.Placement.PLACED, board.tryPlace(2, 2, 5));
+        assertEquals(0, board.conflictCount());
+    }
+
+    /**
+     * Tests whether only one of many players placing the same digit into one row succeeds.
+     *
+     * @throws Exception if a player fails or the test is interrupted
+     */
+    @Test
+    void shouldLetOnlyOnePlayerPlaceSameDigitInUnit() throws Exception {
+        // GIVEN: Players racing to put a 7 into different cells of the first row
+        ConcurrentBoard board = new ConcurrentBoard();
+        AtomicInteger placed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] players = new Future<?>[THREADS];
+            for (int i = 0; i < THREADS; i++) {
+                int col = i;
+                players[i] = executor.submit(() -> {
+                    start.await();
+                    if (board.tryPlace(0, col, 7) == ConcurrentBoard.Placement.PLACED) {
+                        placed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+
+            // WHEN: All players start at once
+            start.countDown();
+            for (Future<?> player : players) {
+                player.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // THEN: Exactly one 7 is on the board
+        assertEquals(1, placed.get());
+        assertEquals(1, board.filledCount());
+        assertEquals(1 << 6, board.rowMask(0));
+    }
+
+    /**
+     * Tests whether random concurrent placements and removals keep the masks consistent with the cells.
+     *
+     * @throws Exception if a player fails or the test is interrupted
+     */
+    @Test
+    void shouldKeepMasksConsistentUnderConcurrentWrites() throws Exception {
+        // GIVEN: Players placing and clearing random digits
+        ConcurrentBoard board = new ConcurrentBoard();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] players = new Future<?>[THREADS];
+            for (int i = 0; i < THREADS; i++) {
+                long seed = i;
+                players[i] = executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int move = 0; move < 50_000; move++) {
+                        int row = random.nextInt(Board.SIZE);
+                        int col = random.nextInt(Board.SIZE);
+                        int value = random.nextInt(1, Board.SIZE + 1);
+                        if (random.nextInt(4) == 0) {
+                            board.tryClear(row, col, value);
+                        } else {
+                            board.tryPlace(row, col, value);
+                        }
+                    }
+                });
+            }
+
+            // WHEN: All players finish
+            for (Future<?> player : players) {
+                player.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // THEN: No unit repeats a digit and every mask and the filled count match the cells
+        int[] rowMasks = new int[Board.SIZE];
+        int[] colMasks = new int[Board.SIZE];
+        int[] boxMasks = new int[Board.SIZE];
+        int filled = 0;
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                int value = board.get(row, col);
+                if (value == 0) {
+                    continue;
+                }
+                int bit = 1 << (value - 1);
+                int box = Board.boxIndex(row, col);
+                assertEquals(0, (rowMasks[row] | colMasks[col] | boxMasks[box]) & bit);
+                rowMasks[row] |= bit;
+                colMasks[col] |= bit;
+                boxMasks[box] |= bit;
+                filled++;
+            }
+        }
+        for (int i = 0; i < Board.SIZE; i++) {
+            assertEquals(rowMasks[i], board.rowMask(i));
+            assertEquals(colMasks[i], board.colMask(i));
+            assertEquals(boxMasks[i], board.boxMask(i));
+        }
+        assertEquals(filled, board.filledCount());
+    }
+}
@@ -0,0 +1,189 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link MoveLog} to verify packing, undo, redo, the ring buffer and replay.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class MoveLogTest {
+
+    /**
+     * Tests whether a packed move gives back its cell and values.
+     *
+     * @param cell     the cell index
+     * @param oldValue the value before the move
+     * @param newValue the value after the move
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0, 1",
+            "80, 9, 0",
+            "40, 5, 9",
+            "255, 16, 15",
+            "624, 25, 16"
+    })
+    void shouldUnpackPackedMove(int cell, int oldValue, int newValue) {
+        // WHEN: Packing the move
+        int move = MoveLog.pack(cell, oldValue, newValue);
+
+        // THEN: Every field is read back
+        assertEquals(cell, MoveLog.cell(move));
+        assertEquals(oldValue, MoveLog.oldValue(move));
+        assertEquals(newValue, MoveLog.newValue(move));
+    }
+
+    /**
+     * Tests whether a move of the classic board keeps the layout of the move files written before larger boards.
+     */
+    @Test
+    void shouldPackClassicMoveInFifteenBits() {
+        // WHEN: Packing a move of the last cell of a 9x9 board
+        int move = MoveLog.pack(80, 9, 7);
+
+        // THEN: The cell and both values fill the low bits only
+        assertEquals(80 | 9 << 7 | 7 << 11, move);
+    }
+
+    /**
+     * Tests whether the log grows past its initial capacity and keeps every move for undo.
+     */
+    @Test
+    void shouldGrowAndUndoAllMoves() {
+        // GIVEN: A log with more moves than its initial capacity
+        MoveLog moveLog = new MoveLog();
+        for (int i = 0; i < 200; i++) {
+            moveLog.record(MoveLog.pack(i % Board.CELLS, 0, 1));
+        }
+
+        // WHEN / THEN: All moves are undone newest first
+        assertEquals(200, moveLog.size());
+        for (int i = 199; i >= 0; i--) {
+            assertEquals(i % Board.CELLS, MoveLog.cell(moveLog.undo()));
+        }
+        assertFalse(moveLog.canUndo());
+        assertThrows(IllegalStateException.class, moveLog::undo);
+    }
+
+    /**
+     * Tests whether a full log at its maximum capacity drops the oldest moves.
+     */
+    @Test
+    void shouldOverwriteOldestMoveWhenFull() {
+        // GIVEN: A log of four moves that receives six
+        MoveLog moveLog = new MoveLog(4);
+        for (int cell = 0; cell < 6; cell++) {
+            moveLog.record(MoveLog.pack(cell, 0, 1));
+        }
+
+        // WHEN / THEN: Only the four newest moves can be undone
+        assertEquals(4, moveLog.size());
+        for (int cell = 5; cell >= 2; cell--) {
+            assertEquals(cell, MoveLog.cell(moveLog.undo()));
+        }
+        assertFalse(moveLog.canUndo());
+    }
+
+    /**
+     * Tests whether recording a move after an undo discards the moves that could be redone.
+     */
+    @Test
+    void shouldDiscardRedoOnNewMove() {
+        // GIVEN: Two moves, one of them undone
+        MoveLog moveLog = new MoveLog();
+        moveLog.record(MoveLog.pack(1, 0, 1));
+        moveLog.record(MoveLog.pack(2, 0, 2));
+        moveLog.undo();
+        assertTrue(moveLog.canRedo());
+
+        // WHEN: A new move is recorded
+        moveLog.record(MoveLog.pack(3, 0, 3));
+
+        // THEN: Nothing can be redone and the new move is undone first
+        assertFalse(moveLog.canRedo());
+        assertEquals(2, moveLog.size());
+        assertEquals(3, MoveLog.cell(moveLog.undo()));
+    }
+
+    /**
+     * Tests whether appended events, including an undo and a redo, rebuild the board when replayed.
+     *
+     * @throws IOException if the events cannot be written or read
+     */
+    @Test
+    void shouldReplayAppendedEvents() throws IOException {
+        // GIVEN: Moves appended in two parts, with an undo and a redo in between
+        MoveLog moveLog = new MoveLog();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        moveLog.record(MoveLog.pack(0, 0, 5));
+        moveLog.record(MoveLog.pack(0, 5, 6));
+        moveLog.appendTo(Channels.newChannel(bytes));
+        moveLog.undo();
+        moveLog.record(MoveLog.pack(10, 0, 3));
+        moveLog.undo();
+        moveLog.redo();
+        assertEquals(4, moveLog.pendingEvents());
+        moveLog.appendTo(Channels.newChannel(bytes));
+
+        // WHEN: The events are replayed onto an empty board
+        Board board = new BitBoard();
+        int count = MoveLog.replay(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), board);
+
+        // THEN: The board holds the final values
+        assertEquals(6, count);
+        assertEquals(0, moveLog.pendingEvents());
+        assertEquals(5, board.get(0, 0));
+        assertEquals(3, board.get(1, 1));
+        assertEquals(2, board.filledCount());
+    }
+
+    /**
+     * Tests whether a partial event at the end of the file is ignored and a corrupt event is rejected.
+     *
+     * @throws IOException if the events cannot be read
+     */
+    @Test
+    void shouldIgnoreTornEventAndRejectCorruptOne() throws IOException {
+        // GIVEN: One complete event followed by two bytes of another
+        MoveLog moveLog = new MoveLog();
+        moveLog.record(MoveLog.pack(80, 0, 9));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        moveLog.appendTo(Channels.newChannel(bytes));
+        byte[] torn = Arrays.copyOf(bytes.toByteArray(), Integer.BYTES + 2);
+
+        // WHEN / THEN: Only the complete event is applied
+        Board board = new BitBoard();
+        assertEquals(1, MoveLog.replay(Channels.newChannel(new ByteArrayInputStream(torn)), board));
+        assertEquals(9, board.get(8, 8));
+
+        // WHEN / THEN: An event pointing past the last cell is rejected
+        byte[] corrupt = {0, 0, 0, 100};
+        assertThrows(IOException.class,
+                () -> MoveLog.replay(Channels.newChannel(new ByteArrayInputStream(corrupt)), new BitBoard()));
+    }
+
+    /**
+     * Tests whether a capacity that is not a power of two is rejected.
+     *
+     * @param capacity the invalid capacity
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, -4, 3, 100})
+    void shouldRejectInvalidCapacity(int capacity) {
+        // WHEN / THEN: Creating the log fails
+        assertThrows(IllegalArgumentException.class, () -> new MoveLog(capacity));
+    }
+}
@@ -0,0 +1,141 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.save;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.polsl.lab.bartosz.sosnica.sudoku.generator.PuzzleBuilder;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link GameSaveStore} to verify saving and resuming unfinished games.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class GameSaveStoreTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests whether a resumed game has the saved grid, givens, difficulty level and playing time.
+     *
+     * @throws IOException if the save cannot be accessed
+     */
+    @Test
+    void shouldResumeSavedGame() throws IOException {
+        // GIVEN: A Hard puzzle with one move made by the player, saved to a slot
+        GameSaveStore store = new GameSaveStore(directory);
+        BoardModel game = new BoardModel();
+        game.loadPuzzle(new PuzzleBuilder(new SplittableRandom(3)).build(BoardModel.DifficultyLevel.Hard));
+        game.settingDifficultyLevel(BoardModel.DifficultyLevel.Hard);
+        int emptyCell = firstEmptyCell(game);
+        game.placeValue(emptyCell / Board.SIZE, emptyCell % Board.SIZE, "5");
+        store.save("Jan Kowalski", game);
+
+        // WHEN: The save is loaded into a fresh board model
+        BoardModel resumed = new BoardModel();
+        boolean loaded = store.load("Jan Kowalski", resumed);
+
+        // THEN: The game continues where it was left
+        assertTrue(loaded);
+        assertEquals(game.getEngine().toString(), resumed.getEngine().toString());
+        assertEquals(BoardModel.DifficultyLevel.Hard, resumed.getDifficultyLevel());
+        assertEquals(game.getGivensLow(), resumed.getGivensLow());
+        assertEquals(game.getGivensHigh(), resumed.getGivensHigh());
+        assertFalse(resumed.isGiven(emptyCell / Board.SIZE, emptyCell % Board.SIZE));
+        assertEquals("Unsolved", resumed.getStatus());
+        assertTrue(resumed.getElapsedMillis() >= 0);
+        assertEquals(GameSaveStore.SNAPSHOT_SIZE, Files.size(store.slot("Jan Kowalski")));
+    }
+
+    /**
+     * Tests whether a game saved twice is rebuilt from its givens by replaying the appended moves, including an undo.
+     *
+     * @throws IOException if the save cannot be accessed
+     */
+    @Test
+    void shouldReplaySavedMoves() throws IOException {
+        // GIVEN: A game saved after two moves, then after undoing one of them and making a third
+        GameSaveStore store = new GameSaveStore(directory);
+        BoardModel game = new BoardModel();
+        game.loadPuzzle(new PuzzleBuilder(new SplittableRandom(5)).build(BoardModel.DifficultyLevel.Medium));
+        int first = firstEmptyCell(game);
+        game.placeValue(first / Board.SIZE, first % Board.SIZE, "1");
+        int second = firstEmptyCell(game);
+        game.placeValue(second / Board.SIZE, second % Board.SIZE, "2");
+        store.save("ola", game);
+        game.undo();
+        game.placeValue(first / Board.SIZE, first % Board.SIZE, "7");
+        store.save("ola", game);
+
+        // WHEN: The game is replayed into a fresh board model
+        BoardModel replayed = new BoardModel();
+        boolean loaded = store.replay("ola", replayed);
+
+        // THEN: The replayed board matches the game, and the move file holds all four changes
+        assertTrue(loaded);
+        assertEquals(game.getEngine().toString(), replayed.getEngine().toString());
+        assertEquals(4L * Integer.BYTES, Files.size(store.movesFile("ola")));
+        store.delete("ola");
+        assertFalse(Files.exists(store.movesFile("ola")));
+    }
+
+    /**
+     * Tests whether players have separate slots and a deleted save cannot be loaded.
+     *
+     * @throws IOException if the save cannot be accessed
+     */
+    @Test
+    void shouldKeepSeparateSlotsPerPlayer() throws IOException {
+        // GIVEN: A saved game of one player
+        GameSaveStore store = new GameSaveStore(directory);
+        BoardModel game = new BoardModel();
+        game.settingUpBoard();
+        game.getEngine().set(0, 0, 9);
+        store.save("anita", game);
+
+        // WHEN / THEN: Another player has no save, and the save is gone after deleting it
+        assertTrue(store.hasSave("anita"));
+        assertFalse(store.hasSave("Anita"));
+        assertFalse(store.load("Anita", new BoardModel()));
+        store.delete("anita");
+        assertFalse(store.load("anita", new BoardModel()));
+    }
+
+    /**
+     * Tests whether a damaged save is rejected instead of being loaded.
+     *
+     * @throws IOException if the test file cannot be written
+     */
+    @Test
+    void shouldRejectDamagedSave() throws IOException {
+        // GIVEN: A slot holding a truncated file
+        GameSaveStore store = new GameSaveStore(directory);
+        Files.write(store.slot("tomek"), new byte[]{0x53, 0x44});
+
+        // WHEN / THEN: Loading it fails
+        assertThrows(IOException.class, () -> store.load("tomek", new BoardModel()));
+    }
+
+    /**
+     * Returns the index of the first empty cell of a board.
+     *
+     * @param boardModel the board model to search
+     * @return the flat index of the first empty cell
+     */
+    private static int firstEmptyCell(BoardModel boardModel) {
+        int index = 0;
+        while (!boardModel.getEngine().isEmpty(index / Board.SIZE, index % Board.SIZE)) {
+            index++;
+        }
+        return index;
+    }
+}
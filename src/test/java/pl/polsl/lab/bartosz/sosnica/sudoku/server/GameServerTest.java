@@ -0,0 +1,182 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import pl.polsl.lab.bartosz.sosnica.sudoku.history.BinaryGameHistoryRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link GameServer} to verify its endpoints over real HTTP requests.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class GameServerTest {
+
+    private static final String PUZZLE = "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+
+    private static final String SOLUTION = "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+    @TempDir
+    Path directory;
+
+    private BinaryGameHistoryRepository repository;
+
+    private GameServer gameServer;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = BinaryGameHistoryRepository.open(directory, null);
+        gameServer = new GameServer(0, repository);
+        gameServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        gameServer.close(0);
+        repository.close();
+    }
+
+    /**
+     * Tests whether a requested puzzle is returned as a puzzle line.
+     *
+     * @throws Exception if the request fails
+     */
+    @Test
+    void shouldServePuzzle() throws Exception {
+        // GIVEN: A running server
+        // WHEN: An Easy puzzle is requested
+        HttpResponse<String> response = send("GET", "/puzzle?difficulty=Easy", null);
+
+        // THEN: The body is a puzzle line with empty cells
+        assertEquals(200, response.statusCode());
+        String line = response.body().strip();
+        assertEquals(81, line.length());
+        assertTrue(line.contains("."));
+    }
+
+    /**
+     * Tests whether moves are checked against the board sent with the request.
+     *
+     * @param row    the row of the move
+     * @param col    the column of the move
+     * @param value  the value of the move
+     * @param status the expected HTTP status
+     * @throws Exception if the request fails
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "0, 1, 1, 200",
+            "0, 1, 8, 409",
+            "1, 0, 3, 409",
+            "2, 0, 7, 409",
+            "0, 1, 0, 400"
+    })
+    void shouldValidateMove(int row, int col, int value, int status) throws Exception {
+        // GIVEN: A puzzle with 8 in the first cell, 3 in the second row and 7 in the first box
+        String path = "/validate?row=" + row + "&col=" + col + "&value=" + value;
+
+        // WHEN: The move is validated
+        HttpResponse<String> response = send("POST", path, PUZZLE);
+
+        // THEN: Only the move breaking no rule is accepted and a value outside 1-9 is malformed
+        assertEquals(status, response.statusCode());
+    }
+
+    /**
+     * Tests whether a puzzle is solved and an impossible one is rejected.
+     *
+     * @throws Exception if the request fails
+     */
+    @Test
+    void shouldSolvePuzzle() throws Exception {
+        // GIVEN: A solvable puzzle and a puzzle with two 5s in the first row
+        String impossible = "55" + PUZZLE.substring(2);
+
+        // WHEN: Both are sent to be solved
+        HttpResponse<String> solved = send("POST", "/solve", PUZZLE);
+        HttpResponse<String> rejected = send("POST", "/solve", impossible);
+
+        // THEN: The solution is returned for the first one only
+        assertEquals(200, solved.statusCode());
+        assertEquals(SOLUTION, solved.body().strip());
+        assertEquals(422, rejected.statusCode());
+    }
+
+    /**
+     * Tests whether a finished game is appended to the game history.
+     *
+     * @throws Exception if the request fails
+     */
+    @Test
+    void shouldAppendHistory() throws Exception {
+        // GIVEN: An empty game history
+        // WHEN: A solved Hard game is reported
+        HttpResponse<String> response = send("POST", "/history?user=Jan%20Kowalski&difficulty=Hard&solved=true", "");
+
+        // THEN: The record is stored
+        assertEquals(204, response.statusCode());
+        assertEquals(1, repository.size());
+    }
+
+    /**
+     * Tests whether malformed requests are rejected without reaching the engine.
+     *
+     * @param method the HTTP method
+     * @param path   the request path
+     * @param body   the request body
+     * @param status the expected HTTP status
+     * @throws Exception if the request fails
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "GET, /puzzle?difficulty=Expert, '', 400",
+            "GET, /puzzle, '', 400",
+            "POST, /validate?row=9&col=0&value=1, '', 400",
+            "POST, /validate?row=0&col=1&value=1, 123, 400",
+            "POST, /solve, 8x........, 400",
+            "GET, /solve, '', 405",
+            "POST, /puzzle?difficulty=Easy, '', 405"
+    })
+    void shouldRejectMalformedRequest(String method, String path, String body, int status) throws Exception {
+        // GIVEN: A running server
+        // WHEN: A malformed request is sent
+        HttpResponse<String> response = send(method, path, body.isEmpty() ? null : body);
+
+        // THEN: It is rejected with the expected status
+        assertEquals(status, response.statusCode());
+    }
+
+    /**
+     * Sends a request to the server under test.
+     *
+     * @param method the HTTP method
+     * @param path   the path with the query
+     * @param body   the request body, or null to send none
+     * @return the response
+     * @throws Exception if the request fails
+     */
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + gameServer.getPort() + path))
+                .method(method, publisher)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
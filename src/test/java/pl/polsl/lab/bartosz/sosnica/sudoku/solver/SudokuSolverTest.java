@@ -0,0 +1,164 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import pl.polsl.lab.bartosz.sosnica.sudoku.codec.PuzzleCodec;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BoardModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for the {@link SudokuSolver} implementations.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class SudokuSolverTest {
+
+    /**
+     * A hard puzzle with a single solution.
+     */
+    private static final String HARD_PUZZLE =
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+
+    /**
+     * The solution of {@link #HARD_PUZZLE}.
+     */
+    private static final String HARD_SOLUTION =
+            "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+    /**
+     * Tests whether a hard puzzle is solved to its known solution.
+     *
+     * @param solver the solver under test
+     * @throws IOException if the puzzle cannot be read
+     */
+    @ParameterizedTest
+    @MethodSource("provideSolvers")
+    void shouldSolveHardPuzzle(SudokuSolver solver) throws IOException {
+        // GIVEN: A hard puzzle
+        BoardModel boardModel = load(HARD_PUZZLE);
+
+        // WHEN: Solving the puzzle
+        boolean solved = solver.solve(boardModel);
+
+        // THEN: The board holds the known solution
+        assertTrue(solved);
+        assertEquals(HARD_SOLUTION, boardModel.getEngine().toString());
+    }
+
+    /**
+     * Tests whether the solution count stops at the limit for an empty board.
+     *
+     * @param solver the solver under test
+     */
+    @ParameterizedTest
+    @MethodSource("provideSolvers")
+    void shouldStopCountingAtLimit(SudokuSolver solver) {
+        // GIVEN: An empty board with many solutions
+        BoardModel boardModel = new BoardModel();
+        boardModel.settingUpBoard();
+
+        // THEN: Counting stops at the limit and the board is left empty
+        assertEquals(2, solver.countSolutions(boardModel, 2));
+        assertFalse(solver.hasUniqueSolution(boardModel));
+        assertEquals(0, boardModel.getEngine().filledCount());
+    }
+
+    /**
+     * Tests whether a puzzle with a unique solution is recognised and left unchanged.
+     *
+     * @param solver the solver under test
+     * @throws IOException if the puzzle cannot be read
+     */
+    @ParameterizedTest
+    @MethodSource("provideSolvers")
+    void shouldRecogniseUniqueSolution(SudokuSolver solver) throws IOException {
+        // GIVEN: A puzzle with one solution
+        BoardModel boardModel = load(HARD_PUZZLE);
+
+        // THEN: The puzzle has exactly one solution and is not modified
+        assertTrue(solver.hasUniqueSolution(boardModel));
+        assertEquals(HARD_PUZZLE, boardModel.getEngine().toString());
+    }
+
+    /**
+     * Tests whether a puzzle with conflicting givens is reported as unsolvable.
+     *
+     * @param solver the solver under test
+     * @throws IOException if the puzzle cannot be read
+     */
+    @ParameterizedTest
+    @MethodSource("provideSolvers")
+    void shouldRejectConflictingGivens(SudokuSolver solver) throws IOException {
+        // GIVEN: A puzzle with the same digit twice in the first row
+        BoardModel boardModel = load("55" + ".".repeat(Board.CELLS - 2));
+
+        // THEN: No solution is found and the board is unchanged
+        assertFalse(solver.solve(boardModel));
+        assertEquals(0, solver.countSolutions(boardModel, 1));
+        assertEquals(2, boardModel.getEngine().filledCount());
+    }
+
+    /**
+     * Tests whether the bitmask solver works on boards of other sizes.
+     */
+    @Test
+    void shouldSolveBoardsOfOtherSizes() {
+        // GIVEN: An empty 4x4 board and a 4x4 puzzle missing one cell per row
+        BitmaskSolver solver = new BitmaskSolver();
+        BoardModel empty = new BoardModel(2);
+        empty.settingUpBoard();
+        BoardModel puzzle = new BoardModel(2);
+        puzzle.settingUpBoard();
+        String grid = ".234" + "34.2" + "2.43" + "43.1";
+        for (int i = 0; i < grid.length(); i++) {
+            if (grid.charAt(i) != '.') {
+                puzzle.getEngine().set(i / 4, i % 4, grid.charAt(i) - '0');
+            }
+        }
+
+        // THEN: All 288 grids are counted and the puzzle is completed
+        assertEquals(288, solver.countSolutions(empty, 1000));
+        assertTrue(solver.hasUniqueSolution(puzzle));
+        assertTrue(solver.solve(puzzle));
+        assertTrue(puzzle.getEngine().isSolved());
+
+        // WHEN / THEN: The classic-only solver rejects the board
+        assertThrows(IllegalArgumentException.class, () -> new DancingLinksSolver().countSolutions(empty, 1));
+    }
+
+    /**
+     * Provides the solver implementations under test.
+     *
+     * @return a stream of arguments with fresh solver instances
+     */
+    static Stream<Arguments> provideSolvers() {
+        return Stream.of(
+                Arguments.of(new BitmaskSolver()),
+                Arguments.of(new DancingLinksSolver())
+        );
+    }
+
+    /**
+     * Creates a board model holding the given puzzle.
+     *
+     * @param puzzle the puzzle as 81 characters, '.' for empty cells
+     * @return the board model with the puzzle loaded
+     * @throws IOException if the puzzle is not a valid line of the text format
+     */
+    private static BoardModel load(String puzzle) throws IOException {
+        BoardModel boardModel = new BoardModel();
+        boardModel.settingUpBoard();
+        PuzzleCodec.decodeText(ByteBuffer.wrap(puzzle.getBytes(StandardCharsets.US_ASCII)), boardModel.getEngine());
+        return boardModel;
+    }
+}
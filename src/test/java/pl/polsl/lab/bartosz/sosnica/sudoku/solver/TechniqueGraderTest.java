@@ -0,0 +1,113 @@
+package pl.polsl.lab.bartosz.sosnica.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import pl.polsl.lab.bartosz.sosnica.sudoku.codec.PuzzleCodec;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.BitBoard;
+import pl.polsl.lab.bartosz.sosnica.sudoku.model.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Test class for {@link TechniqueGrader} to verify the hardest technique and score of known puzzles.</p>
+ *
+ * @author Bartosz Sośnica
+ * @version 1.0
+ */
+class TechniqueGraderTest {
+
+    /**
+     * A complete grid.
+     */
+    private static final String SOLUTION =
+            "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+    private final TechniqueGrader grader = new TechniqueGrader();
+
+    /**
+     * Tests whether puzzles are graded with the hardest technique they need and their score.
+     *
+     * @param puzzle  the puzzle as 81 characters, '.' for empty cells
+     * @param hardest the hardest technique the puzzle needs
+     * @param score   the expected score
+     * @throws IOException if the puzzle cannot be read
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "..2753649943682175675491283154237896369845721287169534521974368438526917796318452, HIDDEN_SINGLE, 2",
+            ".6....3....4......87..6...9......5.7...91....3.18.5..64892..........1.35......9.., NAKED_PAIR, 82",
+            "1.6..9.4........9.82.4.........5.4....7....1...18.49.6.4...2....12....87...6.8..., HIDDEN_PAIR, 100",
+            "513..8.6.64.2.................9.7.3...9.5.74....6..81.93...6.8...5......2...89..., X_WING, 87"
+    })
+    void shouldGradeByHardestTechnique(String puzzle, Technique hardest, int score) throws IOException {
+        // WHEN: Grading the puzzle
+        Grade grade = grader.grade(board(puzzle));
+
+        // THEN: The puzzle is solved with the expected hardest technique and score
+        assertTrue(grade.solved());
+        assertEquals(hardest, grade.hardest());
+        assertEquals(score, grade.score());
+        assertTrue(grade.solvedWithin(hardest));
+        assertFalse(hardest.ordinal() > 0 && grade.solvedWithin(Technique.values()[hardest.ordinal() - 1]));
+    }
+
+    /**
+     * Tests whether a puzzle that cannot be finished without guessing, or has no solution, is not solved.
+     *
+     * @param puzzle the puzzle as 81 characters, '.' for empty cells
+     * @throws IOException if the puzzle cannot be read
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+            "55...............................................................................",
+            "12345678.........9..............................................................."
+    })
+    void shouldNotSolvePuzzleNeedingGuessOrWithoutSolution(String puzzle) throws IOException {
+        // WHEN: Grading the puzzle
+        Grade grade = grader.grade(board(puzzle));
+
+        // THEN: It is not solved by the known techniques
+        assertFalse(grade.solved());
+        assertFalse(grade.solvedWithin(Technique.X_WING));
+    }
+
+    /**
+     * Tests whether a complete grid needs no technique and that grading leaves the board unchanged.
+     *
+     * @throws IOException if the grid cannot be read
+     */
+    @Test
+    void shouldGradeCompleteGridWithoutTechnique() throws IOException {
+        // GIVEN: A complete grid
+        Board board = board(SOLUTION);
+
+        // WHEN: Grading it twice with the same grader
+        Grade first = grader.grade(board);
+        Grade second = grader.grade(board);
+
+        // THEN: No technique is needed and the board is not modified
+        assertEquals(new Grade(null, 0, true), first);
+        assertEquals(first, second);
+        assertEquals(SOLUTION, board.toString());
+    }
+
+    /**
+     * Creates a board holding the given puzzle.
+     *
+     * @param puzzle the puzzle as 81 characters, '.' for empty cells
+     * @return the board
+     * @throws IOException if the puzzle is not a valid line of the text format
+     */
+    private static Board board(String puzzle) throws IOException {
+        Board board = new BitBoard();
+        PuzzleCodec.decodeText(ByteBuffer.wrap(puzzle.getBytes(StandardCharsets.US_ASCII)), board);
+        return board;
+    }
+}